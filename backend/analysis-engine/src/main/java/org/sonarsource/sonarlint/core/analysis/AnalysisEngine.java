@@ -19,14 +19,19 @@
  */
 package org.sonarsource.sonarlint.core.analysis;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonarsource.sonarlint.core.analysis.api.AnalysisEngineConfiguration;
+import org.sonarsource.sonarlint.core.analysis.command.AnalysisSupersededException;
+import org.sonarsource.sonarlint.core.analysis.command.AnalyzeCommand;
 import org.sonarsource.sonarlint.core.analysis.command.Command;
 import org.sonarsource.sonarlint.core.analysis.container.global.GlobalAnalysisContainer;
 import org.sonarsource.sonarlint.core.analysis.container.global.ModuleRegistry;
@@ -37,46 +42,76 @@ import org.sonarsource.sonarlint.core.plugin.commons.LoadedPlugins;
 
 public class AnalysisEngine {
   private static final SonarLintLogger LOG = SonarLintLogger.get();
+  private static final String THREAD_NAME = "sonarlint-analysis-engine";
   private static final Runnable CANCELING_TERMINATION = () -> {
   };
 
   private final GlobalAnalysisContainer globalAnalysisContainer;
-  private final BlockingQueue<AsyncCommand<?>> commandQueue = new LinkedBlockingQueue<>();
-  private final Thread analysisThread = new Thread(this::executeQueuedCommands, "sonarlint-analysis-engine");
+  private final CommandQueue commandQueue;
+  private final List<Thread> workers;
+  private final AtomicInteger runningWorkers = new AtomicInteger();
   private final LogOutput logOutput;
   private final AtomicReference<Runnable> termination = new AtomicReference<>();
-  private final AtomicReference<AsyncCommand<?>> executingCommand = new AtomicReference<>();
+  private final Set<AsyncCommand<?>> executingCommands = ConcurrentHashMap.newKeySet();
 
   public AnalysisEngine(AnalysisEngineConfiguration analysisGlobalConfig, LoadedPlugins loadedPlugins, @Nullable LogOutput logOutput) {
     globalAnalysisContainer = new GlobalAnalysisContainer(analysisGlobalConfig, loadedPlugins);
+    commandQueue = new CommandQueue(analysisGlobalConfig.getWorkerCount(), analysisGlobalConfig.getMaxConcurrentAnalyses(), analysisGlobalConfig.isCoalesceAnalyses());
+    workers = createWorkers(analysisGlobalConfig.getWorkerCount());
     this.logOutput = logOutput;
     start();
   }
 
+  private List<Thread> createWorkers(int workerCount) {
+    if (workerCount == 1) {
+      return List.of(new Thread(this::executeQueuedCommands, THREAD_NAME));
+    }
+    return IntStream.rangeClosed(1, workerCount)
+      .mapToObj(i -> new Thread(this::executeQueuedCommands, THREAD_NAME + "-" + i))
+      .collect(Collectors.toList());
+  }
+
   private void start() {
-    // if the container cannot be started, the thread won't be started
+    // if the container cannot be started, the threads won't be started
     globalAnalysisContainer.startComponents();
-    analysisThread.start();
+    runningWorkers.set(workers.size());
+    workers.forEach(Thread::start);
   }
 
   private void executeQueuedCommands() {
-    while (termination.get() == null) {
+    while (termination.get() != CANCELING_TERMINATION) {
       SonarLintLogger.setTarget(logOutput);
       try {
-        executingCommand.set(commandQueue.take());
-        if (termination.get() == CANCELING_TERMINATION) {
-          executingCommand.get().cancel();
+        var nextCommand = commandQueue.take();
+        if (nextCommand.isEmpty()) {
+          // gracefully finishing, and nothing left to execute
           break;
         }
-        executingCommand.get().execute(getModuleRegistry());
-        executingCommand.set(null);
+        execute(nextCommand.get());
       } catch (InterruptedException e) {
         if (termination.get() != CANCELING_TERMINATION) {
           LOG.error("Analysis engine interrupted", e);
         }
       }
     }
-    termination.get().run();
+    if (runningWorkers.decrementAndGet() == 0) {
+      termination.get().run();
+    }
+  }
+
+  private void execute(AsyncCommand<?> command) {
+    try {
+      if (termination.get() == CANCELING_TERMINATION) {
+        command.cancel();
+        command.future.cancel(false);
+        return;
+      }
+      executingCommands.add(command);
+      command.execute(getModuleRegistry());
+    } finally {
+      executingCommands.remove(command);
+      commandQueue.done(command);
+    }
   }
 
   public <T> CompletableFuture<T> post(Command<T> command, ProgressMonitor progressMonitor) {
@@ -84,47 +119,37 @@ public class AnalysisEngine {
       LOG.error("Analysis engine stopping, ignoring command");
       return CompletableFuture.completedFuture(null);
     }
-    if (!analysisThread.isAlive()) {
+    if (workers.stream().noneMatch(Thread::isAlive)) {
       LOG.error("Analysis engine not started, ignoring command");
       return CompletableFuture.completedFuture(null);
     }
 
     var asyncCommand = new AsyncCommand<>(command, progressMonitor);
-    try {
-      commandQueue.put(asyncCommand);
-    } catch (InterruptedException e) {
-      asyncCommand.future.completeExceptionally(e);
-    }
+    commandQueue.put(asyncCommand);
     return asyncCommand.future;
   }
 
+  /**
+   * Pending commands will still be executed, the global container is stopped once the last one is done.
+   */
   public void finishGracefully() {
-    termination.compareAndSet(null, this::honorPendingCommands);
-  }
-
-  private void honorPendingCommands() {
-    List<AsyncCommand<?>> pendingCommands = new ArrayList<>();
-    commandQueue.drainTo(pendingCommands);
-    pendingCommands.forEach(c -> c.execute(getModuleRegistry()));
-    globalAnalysisContainer.stopComponents();
+    if (termination.compareAndSet(null, globalAnalysisContainer::stopComponents)) {
+      commandQueue.close();
+    }
   }
 
   public void stop() {
-    if (!analysisThread.isAlive()) {
+    if (workers.stream().noneMatch(Thread::isAlive)) {
       return;
     }
     if (!termination.compareAndSet(null, CANCELING_TERMINATION)) {
       // already terminating
       return;
     }
-    var command = executingCommand.get();
-    if (command != null) {
-      command.cancel();
-    }
-    analysisThread.interrupt();
-    List<AsyncCommand<?>> pendingCommands = new ArrayList<>();
-    commandQueue.drainTo(pendingCommands);
-    pendingCommands.forEach(c -> c.future.cancel(false));
+    executingCommands.forEach(AsyncCommand::cancel);
+    commandQueue.close();
+    workers.forEach(Thread::interrupt);
+    commandQueue.drainPending().forEach(c -> c.future.cancel(false));
     globalAnalysisContainer.stopComponents();
   }
 
@@ -160,5 +185,32 @@ public class AnalysisEngine {
     public void cancel() {
       progressMonitor.cancel();
     }
+
+    @CheckForNull
+    Object getModuleKey() {
+      return command.getModuleKey();
+    }
+
+    boolean isAnalysis() {
+      return command instanceof AnalyzeCommand;
+    }
+
+    boolean supersedes(AsyncCommand<?> older) {
+      return isAnalysis() && older.isAnalysis() && ((AnalyzeCommand) command).supersedes((AnalyzeCommand) older.command);
+    }
+
+    /**
+     * Completes the future before canceling the progress monitor, so that a command already executing does not complete it with a plain
+     * {@link org.sonarsource.sonarlint.core.commons.api.progress.CanceledException} once it notices the cancellation.
+     */
+    void supersede() {
+      future.completeExceptionally(new AnalysisSupersededException());
+      cancel();
+    }
+
+    // Visible for testing
+    CompletableFuture<T> getFuture() {
+      return future;
+    }
   }
 }
@@ -0,0 +1,230 @@
+/*
+ * SonarLint Core - Analysis Engine
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonarsource.sonarlint.core.analysis.AnalysisEngine.AsyncCommand;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
+
+/**
+ * Queue of commands waiting for execution, organized in one lane per module.
+ * <ul>
+ *   <li>commands of a lane are taken in order, and at most one command per lane is executing at any time</li>
+ *   <li>lanes are served in a round-robin fashion, so that a busy module does not starve the other ones</li>
+ *   <li>the number of analyses executing at the same time is bounded</li>
+ *   <li>optionally, an analysis supersedes the older analyses of the same files in its lane</li>
+ * </ul>
+ * With a single worker, all the commands go to the same lane, so that they are executed in the order they were submitted.
+ */
+class CommandQueue {
+  private static final SonarLintLogger LOG = SonarLintLogger.get();
+  // commands not tied to a module all go to the same lane
+  private static final Object NO_MODULE_LANE_KEY = new Object();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition commandAvailable = lock.newCondition();
+  private final Map<Object, Lane> lanesByKey = new HashMap<>();
+  // lanes having pending commands and no command executing, in the order they should be served
+  private final Deque<Lane> readyLanes = new ArrayDeque<>();
+  private final boolean singleLane;
+  private final int maxConcurrentAnalyses;
+  private final boolean coalesceAnalyses;
+  private int executingAnalyses;
+  private int executingCommands;
+  private boolean closed;
+
+  CommandQueue(int workerCount, int maxConcurrentAnalyses, boolean coalesceAnalyses) {
+    this.singleLane = workerCount == 1;
+    this.maxConcurrentAnalyses = maxConcurrentAnalyses;
+    this.coalesceAnalyses = coalesceAnalyses;
+  }
+
+  void put(AsyncCommand<?> command) {
+    List<AsyncCommand<?>> supersededCommands = List.of();
+    lock.lock();
+    try {
+      var lane = lanesByKey.computeIfAbsent(laneKey(command), Lane::new);
+      var wasReady = lane.executing == null && !lane.pending.isEmpty();
+      if (coalesceAnalyses && command.isAnalysis()) {
+        supersededCommands = supersedeOlderAnalyses(lane, command);
+      }
+      lane.pending.add(command);
+      if (lane.executing == null && !wasReady) {
+        readyLanes.add(lane);
+      }
+      commandAvailable.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    // completing the futures runs their callbacks, which must not happen while holding the lock
+    supersededCommands.forEach(AsyncCommand::supersede);
+  }
+
+  /**
+   * Removes the pending analyses superseded by the new command from the lane
+   *
+   * @return the pending and executing analyses that are superseded
+   */
+  private static List<AsyncCommand<?>> supersedeOlderAnalyses(Lane lane, AsyncCommand<?> newCommand) {
+    List<AsyncCommand<?>> supersededCommands = new ArrayList<>();
+    var iterator = lane.pending.iterator();
+    while (iterator.hasNext()) {
+      var pendingCommand = iterator.next();
+      if (newCommand.supersedes(pendingCommand)) {
+        LOG.debug("Dropping a pending analysis superseded by a more recent one");
+        iterator.remove();
+        supersededCommands.add(pendingCommand);
+      }
+    }
+    var executingCommand = lane.executing;
+    if (executingCommand != null && newCommand.supersedes(executingCommand)) {
+      LOG.debug("Canceling the running analysis superseded by a more recent one");
+      supersededCommands.add(executingCommand);
+    }
+    return supersededCommands;
+  }
+
+  /**
+   * Blocks until a command can be executed, and returns it. The caller must call {@link #done(AsyncCommand)} once the command executed.
+   * Returns empty if the queue has been closed and there is nothing left to execute.
+   */
+  Optional<AsyncCommand<?>> take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (true) {
+        var command = pollExecutable();
+        if (command != null) {
+          return Optional.of(command);
+        }
+        if (closed && isIdle()) {
+          return Optional.empty();
+        }
+        commandAvailable.await();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @CheckForNull
+  private AsyncCommand<?> pollExecutable() {
+    var iterator = readyLanes.iterator();
+    while (iterator.hasNext()) {
+      var lane = iterator.next();
+      var command = lane.pending.peek();
+      if (command != null && (!command.isAnalysis() || executingAnalyses < maxConcurrentAnalyses)) {
+        iterator.remove();
+        lane.pending.poll();
+        lane.executing = command;
+        executingCommands++;
+        if (command.isAnalysis()) {
+          executingAnalyses++;
+        }
+        return command;
+      }
+    }
+    return null;
+  }
+
+  void done(AsyncCommand<?> command) {
+    lock.lock();
+    try {
+      var lane = lanesByKey.get(laneKey(command));
+      lane.executing = null;
+      executingCommands--;
+      if (command.isAnalysis()) {
+        executingAnalyses--;
+      }
+      if (lane.pending.isEmpty()) {
+        lanesByKey.remove(lane.key);
+      } else {
+        // serve the other lanes first
+        readyLanes.add(lane);
+      }
+      commandAvailable.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Once closed, {@link #take()} stops blocking when no command is pending or executing.
+   */
+  void close() {
+    lock.lock();
+    try {
+      closed = true;
+      commandAvailable.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  List<AsyncCommand<?>> drainPending() {
+    lock.lock();
+    try {
+      List<AsyncCommand<?>> pendingCommands = new ArrayList<>();
+      Iterator<Lane> iterator = lanesByKey.values().iterator();
+      while (iterator.hasNext()) {
+        var lane = iterator.next();
+        pendingCommands.addAll(lane.pending);
+        lane.pending.clear();
+        if (lane.executing == null) {
+          iterator.remove();
+        }
+      }
+      readyLanes.clear();
+      return pendingCommands;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean isIdle() {
+    return readyLanes.isEmpty() && executingCommands == 0;
+  }
+
+  private Object laneKey(AsyncCommand<?> command) {
+    var moduleKey = singleLane ? null : command.getModuleKey();
+    return moduleKey != null ? moduleKey : NO_MODULE_LANE_KEY;
+  }
+
+  private static class Lane {
+    private final Object key;
+    private final Deque<AsyncCommand<?>> pending = new ArrayDeque<>();
+    @Nullable
+    private AsyncCommand<?> executing;
+
+    private Lane(Object key) {
+      this.key = key;
+    }
+  }
+}
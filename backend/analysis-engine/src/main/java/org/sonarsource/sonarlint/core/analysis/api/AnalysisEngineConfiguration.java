@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
@@ -31,12 +32,19 @@ import javax.annotation.concurrent.Immutable;
 public class AnalysisEngineConfiguration {
 
   private static final String NODE_EXECUTABLE_PROPERTY = "sonar.nodejs.executable";
+  private static final int DEFAULT_WORKER_COUNT = 1;
 
   private final Path workDir;
   private final Map<String, String> extraProperties;
   private final Path nodeJsPath;
   private final long clientPid;
   private final ClientModulesProvider modulesProvider;
+  private final int workerCount;
+  private final int maxConcurrentAnalyses;
+  private final boolean coalesceAnalyses;
+  private final int indexingParallelism;
+  private final int sensorsParallelism;
+  private final Set<String> threadSafeSensorPluginKeys;
 
   private AnalysisEngineConfiguration(Builder builder) {
     this.workDir = builder.workDir;
@@ -44,6 +52,12 @@ public class AnalysisEngineConfiguration {
     this.nodeJsPath = builder.nodeJsPath;
     this.clientPid = builder.clientPid;
     this.modulesProvider = builder.modulesProvider;
+    this.workerCount = builder.workerCount;
+    this.maxConcurrentAnalyses = builder.maxConcurrentAnalyses > 0 ? builder.maxConcurrentAnalyses : builder.workerCount;
+    this.coalesceAnalyses = builder.coalesceAnalyses;
+    this.indexingParallelism = builder.indexingParallelism;
+    this.sensorsParallelism = builder.sensorsParallelism;
+    this.threadSafeSensorPluginKeys = Set.copyOf(builder.threadSafeSensorPluginKeys);
   }
 
   public static Builder builder() {
@@ -62,6 +76,30 @@ public class AnalysisEngineConfiguration {
     return modulesProvider;
   }
 
+  public int getWorkerCount() {
+    return workerCount;
+  }
+
+  public int getMaxConcurrentAnalyses() {
+    return maxConcurrentAnalyses;
+  }
+
+  public boolean isCoalesceAnalyses() {
+    return coalesceAnalyses;
+  }
+
+  public int getIndexingParallelism() {
+    return indexingParallelism;
+  }
+
+  public int getSensorsParallelism() {
+    return sensorsParallelism;
+  }
+
+  public Set<String> getThreadSafeSensorPluginKeys() {
+    return threadSafeSensorPluginKeys;
+  }
+
   public Map<String, String> getEffectiveSettings() {
     Map<String, String> props = new HashMap<>(extraProperties);
     if (nodeJsPath != null) {
@@ -76,6 +114,12 @@ public class AnalysisEngineConfiguration {
     private Path nodeJsPath;
     private long clientPid;
     private ClientModulesProvider modulesProvider;
+    private int workerCount = DEFAULT_WORKER_COUNT;
+    private int maxConcurrentAnalyses;
+    private boolean coalesceAnalyses;
+    private int indexingParallelism = 1;
+    private int sensorsParallelism = 1;
+    private Set<String> threadSafeSensorPluginKeys = Set.of();
 
     private Builder() {
 
@@ -115,6 +159,71 @@ public class AnalysisEngineConfiguration {
       return this;
     }
 
+    /**
+     * Number of threads executing commands. Commands targeting the same module are always executed sequentially,
+     * commands targeting different modules are executed concurrently when more than one worker is configured. Default is 1.
+     */
+    public Builder setWorkerCount(int workerCount) {
+      if (workerCount < 1) {
+        throw new IllegalArgumentException("Worker count must be strictly positive");
+      }
+      this.workerCount = workerCount;
+      return this;
+    }
+
+    /**
+     * Maximum number of analyses (and so of analysis containers) running at the same time. Defaults to the worker count.
+     */
+    public Builder setMaxConcurrentAnalyses(int maxConcurrentAnalyses) {
+      if (maxConcurrentAnalyses < 1) {
+        throw new IllegalArgumentException("Max concurrent analyses must be strictly positive");
+      }
+      this.maxConcurrentAnalyses = maxConcurrentAnalyses;
+      return this;
+    }
+
+    /**
+     * When enabled, posting an analysis of some files of a module drops the older analyses of the same files still waiting for execution,
+     * and cancels the one being executed. Their futures are completed with an {@link org.sonarsource.sonarlint.core.analysis.command.AnalysisSupersededException}.
+     */
+    public Builder setCoalesceAnalyses(boolean coalesceAnalyses) {
+      this.coalesceAnalyses = coalesceAnalyses;
+      return this;
+    }
+
+    /**
+     * Number of threads used to create, filter and detect the language of the files to analyze. Default is 1, files are indexed on the analysis thread.
+     * Files are always indexed in the order they were provided, whatever the parallelism.
+     */
+    public Builder setIndexingParallelism(int indexingParallelism) {
+      if (indexingParallelism < 1) {
+        throw new IllegalArgumentException("Indexing parallelism must be strictly positive");
+      }
+      this.indexingParallelism = indexingParallelism;
+      return this;
+    }
+
+    /**
+     * Maximum number of sensors executed at the same time during an analysis. Default is 1, sensors are executed one after the other.
+     * Only sensors of the plugins declared with {@link #setThreadSafeSensorPluginKeys(Set)}, and not declaring dependencies on other extensions,
+     * are executed concurrently.
+     */
+    public Builder setSensorsParallelism(int sensorsParallelism) {
+      if (sensorsParallelism < 1) {
+        throw new IllegalArgumentException("Sensors parallelism must be strictly positive");
+      }
+      this.sensorsParallelism = sensorsParallelism;
+      return this;
+    }
+
+    /**
+     * Keys of the plugins whose sensors can be executed concurrently with other sensors.
+     */
+    public Builder setThreadSafeSensorPluginKeys(Set<String> threadSafeSensorPluginKeys) {
+      this.threadSafeSensorPluginKeys = threadSafeSensorPluginKeys;
+      return this;
+    }
+
     public AnalysisEngineConfiguration build() {
       return new AnalysisEngineConfiguration(this);
     }
@@ -37,7 +37,7 @@ public class AnalysisResults {
     return this;
   }
 
-  public void addFailedAnalysisFile(ClientInputFile inputFile) {
+  public synchronized void addFailedAnalysisFile(ClientInputFile inputFile) {
     failedAnalysisFiles.add(inputFile);
   }
 
@@ -65,7 +65,7 @@ public class AnalysisResults {
    * Input files for which there were analysis errors. The analyzers failed to correctly handle these files, and therefore there might be issues
    * missing or no issues at all for these files.
    */
-  public Collection<ClientInputFile> failedAnalysisFiles() {
+  public synchronized Collection<ClientInputFile> failedAnalysisFiles() {
     return failedAnalysisFiles;
   }
 
@@ -19,10 +19,17 @@
  */
 package org.sonarsource.sonarlint.core.analysis.command;
 
+import java.net.URI;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonarsource.sonarlint.core.analysis.api.AnalysisConfiguration;
 import org.sonarsource.sonarlint.core.analysis.api.AnalysisResults;
+import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
 import org.sonarsource.sonarlint.core.analysis.api.Issue;
 import org.sonarsource.sonarlint.core.analysis.container.global.ModuleRegistry;
 import org.sonarsource.sonarlint.core.commons.log.LogOutput;
@@ -73,7 +80,26 @@ public class AnalyzeCommand implements Command<AnalysisResults> {
     }
   }
 
+  /**
+   * An analysis supersedes an older one when it targets the same module and the same set of files.
+   */
+  public boolean supersedes(AnalyzeCommand older) {
+    return Objects.equals(moduleKey, older.moduleKey) && fileUris().equals(older.fileUris());
+  }
+
+  private Set<URI> fileUris() {
+    return StreamSupport.stream(configuration.inputFiles().spliterator(), false)
+      .map(ClientInputFile::uri)
+      .collect(Collectors.toSet());
+  }
+
   public Consumer<Issue> getIssueListener() {
     return issueListener;
   }
+
+  @Override
+  @CheckForNull
+  public Object getModuleKey() {
+    return moduleKey;
+  }
 }
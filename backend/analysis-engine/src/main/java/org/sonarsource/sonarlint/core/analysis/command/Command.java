@@ -19,9 +19,19 @@
  */
 package org.sonarsource.sonarlint.core.analysis.command;
 
+import javax.annotation.CheckForNull;
 import org.sonarsource.sonarlint.core.analysis.container.global.ModuleRegistry;
 import org.sonarsource.sonarlint.core.commons.progress.ProgressMonitor;
 
 public interface Command<R> {
   R execute(ModuleRegistry moduleRegistry, ProgressMonitor progressMonitor);
+
+  /**
+   * Commands targeting the same module are executed sequentially, in the order they were posted. Commands targeting different modules
+   * can be executed concurrently, depending on the analysis engine configuration. Commands that are not tied to a module return null.
+   */
+  @CheckForNull
+  default Object getModuleKey() {
+    return null;
+  }
 }
@@ -41,4 +41,9 @@ public class NotifyModuleEventCommand implements Command<Void> {
     }
     return null;
   }
+
+  @Override
+  public Object getModuleKey() {
+    return moduleKey;
+  }
 }
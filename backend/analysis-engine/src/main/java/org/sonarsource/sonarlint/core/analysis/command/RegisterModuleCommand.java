@@ -35,4 +35,9 @@ public class RegisterModuleCommand implements Command<Void> {
     moduleRegistry.registerModule(module);
     return null;
   }
+
+  @Override
+  public Object getModuleKey() {
+    return module.key();
+  }
 }
@@ -34,4 +34,9 @@ public class UnregisterModuleCommand implements Command<Void> {
     moduleRegistry.unregisterModule(moduleKey);
     return null;
   }
+
+  @Override
+  public Object getModuleKey() {
+    return moduleKey;
+  }
 }
@@ -27,7 +27,7 @@ import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.Fil
 import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.FileMetadata;
 import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.InputFileBuilder;
 import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.InputFileIndex;
-import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.LanguageDetection;
+import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.LanguageDetectionProvider;
 import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.SonarLintFileSystem;
 import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.SonarLintInputProject;
 import org.sonarsource.sonarlint.core.analysis.container.analysis.issue.IssueFilters;
@@ -85,7 +85,7 @@ public class AnalysisContainer extends SpringComponentContainer {
       InputFileIndex.class,
       InputFileBuilder.class,
       FileMetadata.class,
-      LanguageDetection.class,
+      new LanguageDetectionProvider(),
       FileIndexer.class,
       SonarLintFileSystem.class,
 
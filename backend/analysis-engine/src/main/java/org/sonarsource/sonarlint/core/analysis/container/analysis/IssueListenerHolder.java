@@ -33,7 +33,10 @@ public class IssueListenerHolder {
     this.wrapped = issueListener;
   }
 
-  public void handle(Issue issue) {
+  /**
+   * Sensors may be executed concurrently, the wrapped listener still receives issues one at a time.
+   */
+  public synchronized void handle(Issue issue) {
     wrapped.accept(issue);
   }
 }
@@ -0,0 +1,123 @@
+/*
+ * SonarLint Core - Analysis Engine
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.annotation.CheckForNull;
+import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.FileMetadata.Metadata;
+
+/**
+ * Computes the same {@link Metadata} as the {@link FileMetadata.CharHandler} chain, but in a single pass over the raw bytes,
+ * without decoding them. Only usable for charsets where end of lines are single bytes, and where the number of decoded chars can be
+ * deduced from the bytes.
+ * Offsets are expressed in chars (UTF-16 code units), like the decoded content seen by analyzers.
+ */
+class ByteScanner {
+
+  private static final byte LINE_FEED = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+  private static final int INITIAL_LINE_CAPACITY = 64;
+
+  private ByteScanner() {
+    // static only
+  }
+
+  static boolean supports(Charset encoding) {
+    return StandardCharsets.UTF_8.equals(encoding) || StandardCharsets.ISO_8859_1.equals(encoding) || StandardCharsets.US_ASCII.equals(encoding);
+  }
+
+  /**
+   * @return null when the content contains malformed sequences or replacement characters, in which case the caller should decode the content
+   * to get the same replacements and warnings as the decoder
+   */
+  @CheckForNull
+  static Metadata scan(byte[] bytes, Charset encoding) {
+    var utf8 = StandardCharsets.UTF_8.equals(encoding);
+    var ascii = StandardCharsets.US_ASCII.equals(encoding);
+    var lineOffsets = new int[INITIAL_LINE_CAPACITY];
+    var lines = 1;
+    var charOffset = 0;
+    var i = 0;
+    while (i < bytes.length) {
+      var b = bytes[i];
+      if (b >= 0) {
+        charOffset++;
+        i++;
+        if (b == LINE_FEED || (b == CARRIAGE_RETURN && (i == bytes.length || bytes[i] != LINE_FEED))) {
+          if (lines == lineOffsets.length) {
+            lineOffsets = Arrays.copyOf(lineOffsets, lines * 2);
+          }
+          lineOffsets[lines++] = charOffset;
+        }
+      } else if (utf8) {
+        var sequenceLength = utf8SequenceLength(bytes, i);
+        if (sequenceLength < 0) {
+          return null;
+        }
+        // 4 bytes sequences are decoded as surrogate pairs
+        charOffset += sequenceLength == 4 ? 2 : 1;
+        i += sequenceLength;
+      } else if (ascii) {
+        return null;
+      } else {
+        // ISO-8859-1
+        charOffset++;
+        i++;
+      }
+    }
+    return new Metadata(lines, Arrays.copyOf(lineOffsets, lines), charOffset);
+  }
+
+  /**
+   * @return the length of the well-formed UTF-8 sequence starting at index, or -1 if malformed or if it encodes the replacement character
+   */
+  private static int utf8SequenceLength(byte[] bytes, int index) {
+    var lead = bytes[index] & 0xFF;
+    if (lead >= 0xC2 && lead <= 0xDF) {
+      return isContinuation(bytes, index + 1, 0x80, 0xBF) ? 2 : -1;
+    }
+    if (lead >= 0xE0 && lead <= 0xEF) {
+      var min = lead == 0xE0 ? 0xA0 : 0x80;
+      var max = lead == 0xED ? 0x9F : 0xBF;
+      if (!isContinuation(bytes, index + 1, min, max) || !isContinuation(bytes, index + 2, 0x80, 0xBF)) {
+        return -1;
+      }
+      var isReplacementChar = lead == 0xEF && (bytes[index + 1] & 0xFF) == 0xBF && (bytes[index + 2] & 0xFF) == 0xBD;
+      return isReplacementChar ? -1 : 3;
+    }
+    if (lead >= 0xF0 && lead <= 0xF4) {
+      var min = lead == 0xF0 ? 0x90 : 0x80;
+      var max = lead == 0xF4 ? 0x8F : 0xBF;
+      var wellFormed = isContinuation(bytes, index + 1, min, max) && isContinuation(bytes, index + 2, 0x80, 0xBF) && isContinuation(bytes, index + 3, 0x80, 0xBF);
+      return wellFormed ? 4 : -1;
+    }
+    return -1;
+  }
+
+  private static boolean isContinuation(byte[] bytes, int index, int min, int max) {
+    if (index >= bytes.length) {
+      return false;
+    }
+    var b = bytes[index] & 0xFF;
+    return b >= min && b <= max;
+  }
+}
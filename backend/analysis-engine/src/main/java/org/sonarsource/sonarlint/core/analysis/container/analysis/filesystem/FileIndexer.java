@@ -25,6 +25,9 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.fs.InputFileFilter;
 import org.sonar.api.utils.MessageException;
@@ -42,6 +45,7 @@ import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
 public class FileIndexer {
 
   private static final SonarLintLogger LOG = SonarLintLogger.get();
+  private static final int MIN_FILES_FOR_PARALLEL_INDEXING = 100;
 
   private final InputFileBuilder inputFileBuilder;
   private final AnalysisConfiguration analysisConfiguration;
@@ -49,18 +53,20 @@ public class FileIndexer {
   private final List<InputFileFilter> filters;
   private final IssueExclusionsLoader issueExclusionsLoader;
   private final InputFileIndex inputFileCache;
+  private final FileIndexingPool fileIndexingPool;
 
   private ProgressReport progressReport;
 
   public FileIndexer(InputFileIndex inputFileCache, InputFileBuilder inputFileBuilder, AnalysisConfiguration analysisConfiguration,
     AnalysisResults analysisResult, IssueExclusionsLoader issueExclusionsLoader,
-    Optional<List<InputFileFilter>> filters) {
+    Optional<List<InputFileFilter>> filters, FileIndexingPool fileIndexingPool) {
     this.inputFileCache = inputFileCache;
     this.inputFileBuilder = inputFileBuilder;
     this.analysisConfiguration = analysisConfiguration;
     this.analysisResult = analysisResult;
     this.issueExclusionsLoader = issueExclusionsLoader;
     this.filters = filters.orElse(List.of());
+    this.fileIndexingPool = fileIndexingPool;
   }
 
   public void index() {
@@ -85,23 +91,40 @@ public class FileIndexer {
   }
 
   private void indexFiles(InputFileIndex inputFileCache, Progress progress, Iterable<ClientInputFile> inputFiles) {
-    for (ClientInputFile file : inputFiles) {
-      indexFile(inputFileCache, progress, file);
+    var files = StreamSupport.stream(inputFiles.spliterator(), false).collect(Collectors.toList());
+    if (fileIndexingPool.isEnabled() && files.size() >= MIN_FILES_FOR_PARALLEL_INDEXING) {
+      // only the core work (input file creation, language detection) is done concurrently. Plugin filters are not known to be thread-safe, so
+      // they are applied sequentially, in order
+      for (var inputFile : createInputFilesInParallel(files)) {
+        if (accept(inputFile)) {
+          indexFile(inputFileCache, progress, inputFile);
+        }
+      }
+    } else {
+      for (ClientInputFile file : files) {
+        var inputFile = inputFileBuilder.create(file);
+        if (accept(inputFile)) {
+          indexFile(inputFileCache, progress, inputFile);
+        }
+      }
     }
   }
 
-  private void indexFile(InputFileIndex inputFileCache, Progress progress, ClientInputFile file) {
-    var inputFile = inputFileBuilder.create(file);
-    if (accept(inputFile)) {
-      analysisResult.setLanguageForFile(file, inputFile.getLanguage());
-      indexFile(inputFileCache, progress, inputFile);
-      issueExclusionsLoader.addMulticriteriaPatterns(inputFile);
-    }
+  private List<SonarLintInputFile> createInputFilesInParallel(List<ClientInputFile> files) {
+    var created = new AtomicInteger();
+    progressReport.message(() -> created.get() + "/" + files.size() + " files prepared for indexing...");
+    return fileIndexingPool.map(files, file -> {
+      var inputFile = inputFileBuilder.create(file);
+      created.incrementAndGet();
+      return inputFile;
+    });
   }
 
-  private void indexFile(final InputFileIndex inputFileCache, final Progress status, final SonarLintInputFile inputFile) {
+  private void indexFile(InputFileIndex inputFileCache, Progress progress, SonarLintInputFile inputFile) {
+    analysisResult.setLanguageForFile(inputFile.getClientInputFile(), inputFile.getLanguage());
     inputFileCache.doAdd(inputFile);
-    status.markAsIndexed(inputFile);
+    progress.markAsIndexed(inputFile);
+    issueExclusionsLoader.addMulticriteriaPatterns(inputFile);
   }
 
   private boolean accept(InputFile indexedFile) {
@@ -0,0 +1,90 @@
+/*
+ * SonarLint Core - Analysis Engine
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.sonar.api.Startable;
+import org.sonarsource.sonarlint.core.analysis.api.AnalysisEngineConfiguration;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
+
+/**
+ * Threads of the engine used to prepare input files concurrently, shared by all the analyses. Only created when the indexing parallelism is
+ * greater than 1.
+ */
+public class FileIndexingPool implements Startable {
+
+  private final int parallelism;
+  @Nullable
+  private ForkJoinPool pool;
+
+  public FileIndexingPool(AnalysisEngineConfiguration analysisEngineConfiguration) {
+    this.parallelism = analysisEngineConfiguration.getIndexingParallelism();
+  }
+
+  @Override
+  public void start() {
+    if (parallelism > 1) {
+      pool = new ForkJoinPool(parallelism);
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (pool != null) {
+      pool.shutdownNow();
+    }
+  }
+
+  boolean isEnabled() {
+    return pool != null;
+  }
+
+  /**
+   * Applies the mapper to each item concurrently, and returns the results in the order of the items
+   */
+  <T, R> List<R> map(List<T> items, Function<T, R> mapper) {
+    if (pool == null) {
+      return items.stream().map(mapper).collect(Collectors.toList());
+    }
+    var logOutput = SonarLintLogger.getTargetForCopy();
+    try {
+      return pool.submit(() -> items.parallelStream()
+        .map(item -> {
+          SonarLintLogger.setTarget(logOutput);
+          return mapper.apply(item);
+        })
+        .collect(Collectors.toList()))
+        .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while indexing files", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Unable to index files", e.getCause());
+    }
+  }
+}
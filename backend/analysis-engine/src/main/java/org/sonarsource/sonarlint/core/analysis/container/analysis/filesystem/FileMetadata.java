@@ -20,6 +20,7 @@
 package org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -143,6 +144,24 @@ public class FileMetadata {
    * Maximum performance is needed.
    */
   public Metadata readMetadata(InputStream stream, Charset encoding, URI fileUri, @Nullable CharHandler otherHandler) {
+    if (otherHandler == null && ByteScanner.supports(encoding)) {
+      byte[] bytes;
+      try (stream) {
+        bytes = stream.readAllBytes();
+      } catch (IOException e) {
+        throw new IllegalStateException(String.format("Fail to read file '%s' with encoding '%s'", fileUri, encoding), e);
+      }
+      var metadata = ByteScanner.scan(bytes, encoding);
+      if (metadata != null) {
+        return metadata;
+      }
+      // malformed or replacement characters, let the decoder deal with them
+      return readMetadataWithHandlers(new ByteArrayInputStream(bytes), encoding, fileUri, null);
+    }
+    return readMetadataWithHandlers(stream, encoding, fileUri, otherHandler);
+  }
+
+  private static Metadata readMetadataWithHandlers(InputStream stream, Charset encoding, URI fileUri, @Nullable CharHandler otherHandler) {
     var lineCounter = new LineCounter(fileUri, encoding);
     var lineOffsetCounter = new LineOffsetCounter();
     try (Reader reader = new BufferedReader(new InputStreamReader(stream, encoding))) {
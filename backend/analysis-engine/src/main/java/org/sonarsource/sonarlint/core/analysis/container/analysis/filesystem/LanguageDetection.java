@@ -21,10 +21,13 @@ package org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem;
 
 import java.text.MessageFormat;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.Locale;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
 import org.apache.commons.lang3.StringUtils;
 import org.sonar.api.batch.fs.InputFile;
@@ -33,45 +36,57 @@ import org.sonar.api.utils.MessageException;
 import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
 
-import static java.util.stream.Collectors.joining;
-
 /**
  * Detect language of a source file based on its suffix and configured patterns.
+ * Suffixes are compiled once into a reversed trie, so that detection walks the file name only once, from the end.
  */
 public class LanguageDetection {
 
   private static final SonarLintLogger LOG = SonarLintLogger.get();
 
   /**
-   * Lower-case extension -> languages
+   * Language -> lower-case extensions
    */
-  private final Map<SonarLanguage, String[]> extensionsByLanguage = new LinkedHashMap<>();
+  private final Map<SonarLanguage, List<String>> extensionsByLanguage;
+  private final SuffixNode reversedSuffixes = new SuffixNode();
 
   public LanguageDetection(Configuration config) {
+    this(resolveExtensions(config));
+  }
+
+  LanguageDetection(Map<SonarLanguage, List<String>> extensionsByLanguage) {
+    this.extensionsByLanguage = extensionsByLanguage;
+    extensionsByLanguage.forEach((language, extensions) -> extensions.forEach(extension -> reversedSuffixes.add(extension, language)));
+  }
+
+  static Map<SonarLanguage, List<String>> resolveExtensions(Configuration config) {
+    Map<SonarLanguage, List<String>> extensionsByLanguage = new EnumMap<>(SonarLanguage.class);
     for (SonarLanguage language : SonarLanguage.values()) {
       var extensions = config.get(language.getFileSuffixesPropKey()).isPresent() ? config.getStringArray(language.getFileSuffixesPropKey())
         : language.getDefaultFileSuffixes();
-      for (var i = 0; i < extensions.length; i++) {
-        var suffix = extensions[i];
-        extensions[i] = sanitizeExtension(suffix);
-      }
-      extensionsByLanguage.put(language, extensions);
+      extensionsByLanguage.put(language, Arrays.stream(extensions).map(LanguageDetection::sanitizeExtension).collect(Collectors.toUnmodifiableList()));
     }
+    return extensionsByLanguage;
   }
 
   @CheckForNull
   public SonarLanguage language(InputFile inputFile) {
+    var filename = inputFile.filename();
     SonarLanguage detectedLanguage = null;
-    for (Entry<SonarLanguage, String[]> languagePatterns : extensionsByLanguage.entrySet()) {
-      if (isCandidateForLanguage(inputFile, languagePatterns.getValue())) {
-        if (detectedLanguage == null) {
-          detectedLanguage = languagePatterns.getKey();
-        } else {
-          // Language was already forced by another pattern
-          throw MessageException.of(MessageFormat.format("Language of file \"{0}\" can not be decided as the file extension matches both {1} and {2}",
-            inputFile.uri(), getDetails(detectedLanguage), getDetails(languagePatterns.getKey())));
+    var node = reversedSuffixes;
+    for (var i = filename.length() - 1; i >= 0 && node != null; i--) {
+      var c = Character.toLowerCase(filename.charAt(i));
+      if (c == '.') {
+        // the node matches the part of the name after this dot
+        for (SonarLanguage language : node.languages) {
+          if (detectedLanguage == null) {
+            detectedLanguage = language;
+          } else if (detectedLanguage != language) {
+            throw conflictingLanguages(inputFile, detectedLanguage, language);
+          }
         }
       }
+      node = node.children.get(c);
     }
     if (detectedLanguage != null) {
       LOG.debug("Language of file \"{}\" is detected to be \"{}\"", inputFile.uri(), detectedLanguage);
@@ -80,22 +95,31 @@ public class LanguageDetection {
     return null;
   }
 
-  private static boolean isCandidateForLanguage(InputFile inputFile, String[] extensions) {
-    for (String extension : extensions) {
-      if (inputFile.filename().toLowerCase(Locale.ENGLISH).endsWith("." + extension)) {
-        return true;
-      }
-    }
-    return false;
+  private MessageException conflictingLanguages(InputFile inputFile, SonarLanguage language1, SonarLanguage language2) {
+    var first = language1.ordinal() < language2.ordinal() ? language1 : language2;
+    var second = first == language1 ? language2 : language1;
+    return MessageException.of(MessageFormat.format("Language of file \"{0}\" can not be decided as the file extension matches both {1} and {2}",
+      inputFile.uri(), getDetails(first), getDetails(second)));
   }
 
   private String getDetails(SonarLanguage detectedLanguage) {
-    return detectedLanguage + ": "
-      + Arrays.stream(extensionsByLanguage.get(detectedLanguage))
-        .collect(joining(","));
+    return detectedLanguage + ": " + String.join(",", extensionsByLanguage.get(detectedLanguage));
   }
 
   public static String sanitizeExtension(String suffix) {
     return StringUtils.lowerCase(StringUtils.removeStart(suffix, "."));
   }
+
+  private static class SuffixNode {
+    private final Map<Character, SuffixNode> children = new HashMap<>();
+    private final Set<SonarLanguage> languages = EnumSet.noneOf(SonarLanguage.class);
+
+    private void add(String extension, SonarLanguage language) {
+      var node = this;
+      for (var i = extension.length() - 1; i >= 0; i--) {
+        node = node.children.computeIfAbsent(extension.charAt(i), c -> new SuffixNode());
+      }
+      node.languages.add(language);
+    }
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * SonarLint Core - Analysis Engine
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.sonar.api.config.Configuration;
+import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
+
+/**
+ * Shares {@link LanguageDetection} instances between modules and analyses having the same file suffixes settings.
+ */
+public class LanguageDetectionCache {
+  private static final int MAX_ENTRIES = 8;
+
+  private final Map<Map<SonarLanguage, List<String>>, LanguageDetection> detectionsBySuffixes = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Map<SonarLanguage, List<String>>, LanguageDetection> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  public synchronized LanguageDetection get(Configuration config) {
+    return detectionsBySuffixes.computeIfAbsent(LanguageDetection.resolveExtensions(config), LanguageDetection::new);
+  }
+}
@@ -60,7 +60,7 @@ public class SonarLintInputFile implements InputFile {
     this.relativePath = PathUtils.sanitize(clientInputFile.relativePath());
   }
 
-  public void checkMetadata() {
+  public synchronized void checkMetadata() {
     if (metadata == null) {
       this.metadata = metadataGenerator.apply(this);
     }
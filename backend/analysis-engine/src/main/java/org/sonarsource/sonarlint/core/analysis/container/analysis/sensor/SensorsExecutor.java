@@ -19,23 +19,18 @@
  */
 package org.sonarsource.sonarlint.core.analysis.container.analysis.sensor;
 
-import java.lang.annotation.Annotation;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import org.sonar.api.batch.DependedUpon;
-import org.sonar.api.batch.DependsUpon;
-import org.sonar.api.batch.Phase;
-import org.sonar.api.batch.sensor.Sensor;
-import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.scanner.sensor.ProjectSensor;
-import org.sonar.api.utils.AnnotationUtils;
-import org.sonar.api.utils.dag.DirectAcyclicGraph;
+import org.sonarsource.sonarlint.core.analysis.container.analysis.sensor.SensorsPlan.PlannedSensor;
 import org.sonarsource.sonarlint.core.analysis.sonarapi.DefaultSensorContext;
-import org.sonarsource.sonarlint.core.analysis.sonarapi.DefaultSensorDescriptor;
+import org.sonarsource.sonarlint.core.commons.api.progress.CanceledException;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
 import org.sonarsource.sonarlint.core.commons.progress.ProgressMonitor;
 
@@ -50,51 +45,83 @@ public class SensorsExecutor {
   private final ProgressMonitor progress;
   private final List<ProjectSensor> sensors;
   private final DefaultSensorContext context;
+  private final SensorsPlanCache sensorsPlanCache;
 
-  public SensorsExecutor(DefaultSensorContext context, SensorOptimizer sensorOptimizer, ProgressMonitor progress, Optional<List<ProjectSensor>> sensors) {
+  public SensorsExecutor(DefaultSensorContext context, SensorOptimizer sensorOptimizer, ProgressMonitor progress, Optional<List<ProjectSensor>> sensors,
+    SensorsPlanCache sensorsPlanCache) {
     this.context = context;
     this.sensors = sensors.orElse(List.of());
     this.sensorOptimizer = sensorOptimizer;
     this.progress = progress;
+    this.sensorsPlanCache = sensorsPlanCache;
   }
 
   public void execute() {
-    var sensorGroups = sensors.stream().collect(Collectors.partitioningBy(s -> {
-      var isModernGlobalSensor = !(s instanceof Sensor);
-      if (isModernGlobalSensor) {
-        return true;
-      } else {
-        var descriptor = new DefaultSensorDescriptor();
-        s.describe(descriptor);
-        return descriptor.isGlobal();
+    var plan = sensorsPlanCache.get(sensors);
+    ExecutorService pool = null;
+    try {
+      for (var step : plan.getSteps()) {
+        progress.checkCancel();
+        var sensorsToExecute = step.stream().filter(s -> sensorOptimizer.shouldExecute(s.getDescriptor())).collect(Collectors.toList());
+        if (sensorsToExecute.size() > 1) {
+          if (pool == null) {
+            pool = newSensorsPool(sensorsPlanCache.getSensorsParallelism());
+          }
+          executeConcurrently(pool, sensorsToExecute);
+        } else {
+          sensorsToExecute.forEach(this::executeSensor);
+        }
       }
-    }));
-
-    var moduleSensors = sensorGroups.get(false);
-    var globalSensors = sensorGroups.get(true);
-
-    executeSensors(moduleSensors);
-    executeSensors(globalSensors);
+    } finally {
+      if (pool != null) {
+        pool.shutdownNow();
+      }
+    }
   }
 
-  private void executeSensors(List<ProjectSensor> sensors) {
-    for (var sensor : sort(sensors)) {
-      progress.checkCancel();
-      var descriptor = new DefaultSensorDescriptor();
-      sensor.describe(descriptor);
-      if (sensorOptimizer.shouldExecute(descriptor)) {
-        executeSensor(context, sensor, descriptor);
+  private void executeConcurrently(ExecutorService pool, List<PlannedSensor> plannedSensors) {
+    var logOutput = SonarLintLogger.getTargetForCopy();
+    var futures = plannedSensors.stream()
+      .map(plannedSensor -> pool.submit(() -> {
+        SonarLintLogger.setTarget(logOutput);
+        executeSensor(plannedSensor);
+      }))
+      .collect(Collectors.toList());
+    try {
+      for (var future : futures) {
+        future.get();
       }
+    } catch (InterruptedException e) {
+      futures.forEach(f -> f.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new CanceledException();
+    } catch (ExecutionException e) {
+      // executeSensor already catches everything thrown by sensors
+      throw new IllegalStateException(e.getCause());
     }
   }
 
-  private static void executeSensor(SensorContext context, ProjectSensor sensor, DefaultSensorDescriptor descriptor) {
+  private static ExecutorService newSensorsPool(int parallelism) {
+    var threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(parallelism, r -> {
+      var thread = new Thread(r, "sonarlint-sensor-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private void executeSensor(PlannedSensor plannedSensor) {
+    var sensor = sensors.get(plannedSensor.getPosition());
+    var descriptor = plannedSensor.getDescriptor();
     var sensorName = descriptor.name() != null ? descriptor.name() : describe(sensor);
     LOG.debug("Execute Sensor: {}", sensorName);
+    var start = System.nanoTime();
     try {
       sensor.execute(context);
     } catch (Throwable t) {
       LOG.error("Error executing sensor: '{}'", sensorName, t);
+    } finally {
+      LOG.debug("Sensor '{}' executed in {} ms", sensorName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
   }
 
@@ -112,86 +139,4 @@ public class SensorsExecutor {
 
     return o.getClass().getName();
   }
-
-  private static <T> Collection<T> sort(Collection<T> extensions) {
-    var dag = new DirectAcyclicGraph();
-
-    for (T extension : extensions) {
-      dag.add(extension);
-      for (Object dependency : getDependencies(extension)) {
-        dag.add(extension, dependency);
-      }
-      for (Object generates : getDependents(extension)) {
-        dag.add(generates, extension);
-      }
-      completePhaseDependencies(dag, extension);
-    }
-    List<?> sortedList = dag.sort();
-
-    return (Collection<T>) sortedList.stream()
-      .filter(extensions::contains)
-      .collect(Collectors.toList());
-  }
-
-  /**
-   * Extension dependencies
-   */
-  private static <T> List<Object> getDependencies(T extension) {
-    return new ArrayList<>(evaluateAnnotatedClasses(extension, DependsUpon.class));
-  }
-
-  /**
-   * Objects that depend upon this extension.
-   */
-  private static <T> List<Object> getDependents(T extension) {
-    return new ArrayList<>(evaluateAnnotatedClasses(extension, DependedUpon.class));
-  }
-
-  private static void completePhaseDependencies(DirectAcyclicGraph dag, Object extension) {
-    var phase = evaluatePhase(extension);
-    dag.add(extension, phase);
-    for (Phase.Name name : Phase.Name.values()) {
-      if (phase.compareTo(name) < 0) {
-        dag.add(name, extension);
-      } else if (phase.compareTo(name) > 0) {
-        dag.add(extension, name);
-      }
-    }
-  }
-
-  private static Phase.Name evaluatePhase(Object extension) {
-    var phaseAnnotation = AnnotationUtils.getAnnotation(extension, Phase.class);
-    if (phaseAnnotation != null) {
-      return phaseAnnotation.name();
-    }
-    return Phase.Name.DEFAULT;
-  }
-
-  static List<Object> evaluateAnnotatedClasses(Object extension, Class<? extends Annotation> annotation) {
-    List<Object> results = new ArrayList<>();
-    Class<?> aClass = extension.getClass();
-    while (aClass != null) {
-      evaluateClass(aClass, annotation, results);
-      aClass = aClass.getSuperclass();
-    }
-
-    return results;
-  }
-
-  private static void evaluateClass(Class<?> extensionClass, Class<? extends Annotation> annotationClass, List<Object> results) {
-    Annotation annotation = extensionClass.getAnnotation(annotationClass);
-    if (annotation != null) {
-      if (annotation.annotationType().isAssignableFrom(DependsUpon.class)) {
-        results.addAll(Arrays.asList(((DependsUpon) annotation).value()));
-
-      } else if (annotation.annotationType().isAssignableFrom(DependedUpon.class)) {
-        results.addAll(Arrays.asList(((DependedUpon) annotation).value()));
-      }
-    }
-
-    var interfaces = extensionClass.getInterfaces();
-    for (Class<?> anInterface : interfaces) {
-      evaluateClass(anInterface, annotationClass, results);
-    }
-  }
 }
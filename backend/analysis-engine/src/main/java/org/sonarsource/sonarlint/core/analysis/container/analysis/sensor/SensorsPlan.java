@@ -0,0 +1,218 @@
+/*
+ * SonarLint Core - Analysis Engine
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.analysis.container.analysis.sensor;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.sonar.api.batch.DependedUpon;
+import org.sonar.api.batch.DependsUpon;
+import org.sonar.api.batch.Phase;
+import org.sonar.api.batch.sensor.Sensor;
+import org.sonar.api.scanner.sensor.ProjectSensor;
+import org.sonar.api.utils.AnnotationUtils;
+import org.sonar.api.utils.dag.DirectAcyclicGraph;
+import org.sonarsource.sonarlint.core.analysis.sonarapi.DefaultSensorDescriptor;
+
+/**
+ * Sensors in execution order, with their descriptors. Module sensors come first, then global sensors.
+ * Sensors are referenced by their position in the list the plan was computed from, so that a plan can be reused for any list of sensors
+ * having the same classes in the same order.
+ * <p>
+ * The plan is made of steps executed one after the other. A step contains several sensors only when they can run concurrently: they
+ * are allowed to, they declare no dependency with other extensions and they belong to the same phase.
+ */
+class SensorsPlan {
+
+  private final List<List<PlannedSensor>> steps;
+
+  private SensorsPlan(List<List<PlannedSensor>> steps) {
+    this.steps = steps;
+  }
+
+  static SensorsPlan of(List<ProjectSensor> sensors, Predicate<ProjectSensor> mayRunConcurrently) {
+    var positions = new IdentityHashMap<ProjectSensor, Integer>();
+    List<PlannedSensor> moduleSensors = new ArrayList<>();
+    List<PlannedSensor> globalSensors = new ArrayList<>();
+    for (var i = 0; i < sensors.size(); i++) {
+      var sensor = sensors.get(i);
+      positions.put(sensor, i);
+      var descriptor = new DefaultSensorDescriptor();
+      sensor.describe(descriptor);
+      var isModernGlobalSensor = !(sensor instanceof Sensor);
+      var plannedSensor = new PlannedSensor(i, descriptor);
+      if (isModernGlobalSensor || descriptor.isGlobal()) {
+        globalSensors.add(plannedSensor);
+      } else {
+        moduleSensors.add(plannedSensor);
+      }
+    }
+    List<List<PlannedSensor>> steps = new ArrayList<>();
+    steps.addAll(toSteps(sortPlanned(moduleSensors, sensors, positions), sensors, mayRunConcurrently));
+    steps.addAll(toSteps(sortPlanned(globalSensors, sensors, positions), sensors, mayRunConcurrently));
+    return new SensorsPlan(List.copyOf(steps));
+  }
+
+  private static List<PlannedSensor> sortPlanned(List<PlannedSensor> group, List<ProjectSensor> sensors, IdentityHashMap<ProjectSensor, Integer> positions) {
+    var descriptorsByPosition = group.stream().collect(Collectors.toMap(PlannedSensor::getPosition, PlannedSensor::getDescriptor));
+    var groupSensors = group.stream().map(p -> sensors.get(p.getPosition())).collect(Collectors.toList());
+    return sort(groupSensors).stream()
+      .map(positions::get)
+      .map(position -> new PlannedSensor(position, descriptorsByPosition.get(position)))
+      .collect(Collectors.toList());
+  }
+
+  private static List<List<PlannedSensor>> toSteps(List<PlannedSensor> sortedSensors, List<ProjectSensor> sensors, Predicate<ProjectSensor> mayRunConcurrently) {
+    List<List<PlannedSensor>> steps = new ArrayList<>();
+    List<PlannedSensor> concurrentStep = new ArrayList<>();
+    Phase.Name concurrentStepPhase = null;
+    for (var plannedSensor : sortedSensors) {
+      var sensor = sensors.get(plannedSensor.getPosition());
+      var phase = evaluatePhase(sensor);
+      if (!concurrentStep.isEmpty() && (!isIndependent(sensor, mayRunConcurrently) || phase != concurrentStepPhase)) {
+        steps.add(List.copyOf(concurrentStep));
+        concurrentStep.clear();
+      }
+      if (isIndependent(sensor, mayRunConcurrently)) {
+        concurrentStep.add(plannedSensor);
+        concurrentStepPhase = phase;
+      } else {
+        steps.add(List.of(plannedSensor));
+      }
+    }
+    if (!concurrentStep.isEmpty()) {
+      steps.add(List.copyOf(concurrentStep));
+    }
+    return steps;
+  }
+
+  private static boolean isIndependent(ProjectSensor sensor, Predicate<ProjectSensor> mayRunConcurrently) {
+    return mayRunConcurrently.test(sensor) && getDependencies(sensor).isEmpty() && getDependents(sensor).isEmpty();
+  }
+
+  List<List<PlannedSensor>> getSteps() {
+    return steps;
+  }
+
+  static class PlannedSensor {
+    private final int position;
+    private final DefaultSensorDescriptor descriptor;
+
+    private PlannedSensor(int position, DefaultSensorDescriptor descriptor) {
+      this.position = position;
+      this.descriptor = descriptor;
+    }
+
+    int getPosition() {
+      return position;
+    }
+
+    DefaultSensorDescriptor getDescriptor() {
+      return descriptor;
+    }
+  }
+
+  private static <T> Collection<T> sort(Collection<T> extensions) {
+    var dag = new DirectAcyclicGraph();
+
+    for (T extension : extensions) {
+      dag.add(extension);
+      for (Object dependency : getDependencies(extension)) {
+        dag.add(extension, dependency);
+      }
+      for (Object generates : getDependents(extension)) {
+        dag.add(generates, extension);
+      }
+      completePhaseDependencies(dag, extension);
+    }
+    List<?> sortedList = dag.sort();
+
+    return (Collection<T>) sortedList.stream()
+      .filter(extensions::contains)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Extension dependencies
+   */
+  private static <T> List<Object> getDependencies(T extension) {
+    return new ArrayList<>(evaluateAnnotatedClasses(extension, DependsUpon.class));
+  }
+
+  /**
+   * Objects that depend upon this extension.
+   */
+  private static <T> List<Object> getDependents(T extension) {
+    return new ArrayList<>(evaluateAnnotatedClasses(extension, DependedUpon.class));
+  }
+
+  private static void completePhaseDependencies(DirectAcyclicGraph dag, Object extension) {
+    var phase = evaluatePhase(extension);
+    dag.add(extension, phase);
+    for (Phase.Name name : Phase.Name.values()) {
+      if (phase.compareTo(name) < 0) {
+        dag.add(name, extension);
+      } else if (phase.compareTo(name) > 0) {
+        dag.add(extension, name);
+      }
+    }
+  }
+
+  private static Phase.Name evaluatePhase(Object extension) {
+    var phaseAnnotation = AnnotationUtils.getAnnotation(extension, Phase.class);
+    if (phaseAnnotation != null) {
+      return phaseAnnotation.name();
+    }
+    return Phase.Name.DEFAULT;
+  }
+
+  static List<Object> evaluateAnnotatedClasses(Object extension, Class<? extends Annotation> annotation) {
+    List<Object> results = new ArrayList<>();
+    Class<?> aClass = extension.getClass();
+    while (aClass != null) {
+      evaluateClass(aClass, annotation, results);
+      aClass = aClass.getSuperclass();
+    }
+
+    return results;
+  }
+
+  private static void evaluateClass(Class<?> extensionClass, Class<? extends Annotation> annotationClass, List<Object> results) {
+    Annotation annotation = extensionClass.getAnnotation(annotationClass);
+    if (annotation != null) {
+      if (annotation.annotationType().isAssignableFrom(DependsUpon.class)) {
+        results.addAll(Arrays.asList(((DependsUpon) annotation).value()));
+
+      } else if (annotation.annotationType().isAssignableFrom(DependedUpon.class)) {
+        results.addAll(Arrays.asList(((DependedUpon) annotation).value()));
+      }
+    }
+
+    var interfaces = extensionClass.getInterfaces();
+    for (Class<?> anInterface : interfaces) {
+      evaluateClass(anInterface, annotationClass, results);
+    }
+  }
+}
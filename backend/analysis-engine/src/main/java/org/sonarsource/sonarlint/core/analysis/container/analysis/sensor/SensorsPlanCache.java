@@ -0,0 +1,70 @@
+/*
+ * SonarLint Core - Analysis Engine
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.analysis.container.analysis.sensor;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.sonar.api.scanner.sensor.ProjectSensor;
+import org.sonarsource.sonarlint.core.analysis.api.AnalysisEngineConfiguration;
+import org.sonarsource.sonarlint.core.plugin.commons.LoadedPlugins;
+
+/**
+ * Keeps the sensors execution plan across analyses. Sensors are instantiated for each analysis, but their classes only change when plugins
+ * are reloaded, which recreates the global container holding this cache.
+ */
+public class SensorsPlanCache {
+
+  private final Map<List<Class<?>>, SensorsPlan> plansBySensorClasses = new ConcurrentHashMap<>();
+  private final int sensorsParallelism;
+  private final Set<ClassLoader> threadSafePluginsClassLoaders = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  public SensorsPlanCache(AnalysisEngineConfiguration analysisEngineConfiguration, LoadedPlugins loadedPlugins) {
+    this.sensorsParallelism = analysisEngineConfiguration.getSensorsParallelism();
+    var threadSafePluginKeys = analysisEngineConfiguration.getThreadSafeSensorPluginKeys();
+    loadedPlugins.getPluginInstancesByKeys().forEach((pluginKey, plugin) -> {
+      if (threadSafePluginKeys.contains(pluginKey)) {
+        threadSafePluginsClassLoaders.add(plugin.getClass().getClassLoader());
+      }
+    });
+  }
+
+  SensorsPlan get(List<ProjectSensor> sensors) {
+    List<Class<?>> sensorClasses = sensors.stream().map(Object::getClass).collect(Collectors.toList());
+    return plansBySensorClasses.computeIfAbsent(sensorClasses, k -> SensorsPlan.of(sensors, this::mayRunConcurrently));
+  }
+
+  private boolean mayRunConcurrently(ProjectSensor sensor) {
+    return sensorsParallelism > 1 && threadSafePluginsClassLoaders.contains(sensor.getClass().getClassLoader());
+  }
+
+  int getSensorsParallelism() {
+    return sensorsParallelism;
+  }
+
+  // Visible for testing
+  int size() {
+    return plansBySensorClasses.size();
+  }
+}
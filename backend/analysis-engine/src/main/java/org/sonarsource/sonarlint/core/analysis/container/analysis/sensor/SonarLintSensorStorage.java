@@ -94,8 +94,11 @@ public class SonarLintSensorStorage implements SensorStorage {
     var newIssue = new org.sonarsource.sonarlint.core.analysis.api.Issue(activeRule, primaryMessage, overriddenImpacts,
       issue.primaryLocation().textRange(),
       inputComponent.isFile() ? ((SonarLintInputFile) inputComponent).getClientInputFile() : null, flows, quickFixes, sonarLintIssue.ruleDescriptionContextKey());
-    if (filters.accept(inputComponent, newIssue)) {
-      issueListener.handle(newIssue);
+    // issue filters may be stateful, and sensors may store issues concurrently
+    synchronized (filters) {
+      if (filters.accept(inputComponent, newIssue)) {
+        issueListener.handle(newIssue);
+      }
     }
   }
 
@@ -24,6 +24,9 @@ import org.sonar.api.SonarQubeVersion;
 import org.sonar.api.utils.System2;
 import org.sonar.api.utils.UriReader;
 import org.sonarsource.sonarlint.core.analysis.api.AnalysisEngineConfiguration;
+import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.FileIndexingPool;
+import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.LanguageDetectionCache;
+import org.sonarsource.sonarlint.core.analysis.container.analysis.sensor.SensorsPlanCache;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
 import org.sonarsource.sonarlint.core.plugin.commons.ApiVersions;
 import org.sonarsource.sonarlint.core.plugin.commons.LoadedPlugins;
@@ -54,6 +57,9 @@ public class GlobalAnalysisContainer extends SpringComponentContainer {
       GlobalSettings.class,
       new GlobalConfigurationProvider(),
       AnalysisExtensionInstaller.class,
+      LanguageDetectionCache.class,
+      FileIndexingPool.class,
+      SensorsPlanCache.class,
       new SonarQubeVersion(sonarPluginApiVersion),
       new SonarLintRuntimeImpl(sonarPluginApiVersion, sonarlintPluginApiVersion, analysisGlobalConfig.getClientPid()),
 
@@ -28,7 +28,7 @@ import org.sonarsource.sonarlint.core.analysis.container.ContainerLifespan;
 import org.sonarsource.sonarlint.core.analysis.container.analysis.AnalysisContainer;
 import org.sonarsource.sonarlint.core.analysis.container.analysis.IssueListenerHolder;
 import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.FileMetadata;
-import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.LanguageDetection;
+import org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem.LanguageDetectionProvider;
 import org.sonarsource.sonarlint.core.analysis.container.global.AnalysisExtensionInstaller;
 import org.sonarsource.sonarlint.core.analysis.sonarapi.ActiveRuleAdapter;
 import org.sonarsource.sonarlint.core.analysis.sonarapi.ActiveRulesAdapter;
@@ -51,7 +51,7 @@ public class ModuleContainer extends SpringComponentContainer {
       SonarLintModuleFileSystem.class,
       ModuleInputFileBuilder.class,
       FileMetadata.class,
-      LanguageDetection.class,
+      new LanguageDetectionProvider(),
 
       ModuleFileEventNotifier.class);
     getParent().getComponentByType(AnalysisExtensionInstaller.class).install(this, ContainerLifespan.MODULE);
@@ -0,0 +1,262 @@
+/*
+ * SonarLint Core - Analysis Engine
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.analysis;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.sonarsource.sonarlint.core.analysis.AnalysisEngine.AsyncCommand;
+import org.sonarsource.sonarlint.core.analysis.api.AnalysisConfiguration;
+import org.sonarsource.sonarlint.core.analysis.api.AnalysisResults;
+import org.sonarsource.sonarlint.core.analysis.command.AnalysisSupersededException;
+import org.sonarsource.sonarlint.core.analysis.command.AnalyzeCommand;
+import org.sonarsource.sonarlint.core.analysis.command.Command;
+import org.sonarsource.sonarlint.core.analysis.container.global.ModuleRegistry;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.commons.progress.ProgressMonitor;
+import testutils.InMemoryTestClientInputFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandQueueTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  @Test
+  void should_serialize_commands_of_the_same_module() throws InterruptedException {
+    var queue = new CommandQueue(2, 2, false);
+    var first = command("module");
+    var second = command("module");
+    var other = command("other");
+    queue.put(first);
+    queue.put(second);
+    queue.put(other);
+
+    assertThat(queue.take()).containsSame(first);
+    assertThat(queue.take()).containsSame(other);
+
+    queue.done(first);
+
+    assertThat(queue.take()).containsSame(second);
+  }
+
+  @Test
+  void should_serve_modules_in_round_robin() throws InterruptedException {
+    var queue = new CommandQueue(2, 1, false);
+    var busy1 = command("busy");
+    var busy2 = command("busy");
+    var quiet = command("quiet");
+    queue.put(busy1);
+    queue.put(busy2);
+
+    assertThat(queue.take()).containsSame(busy1);
+    queue.put(quiet);
+    queue.done(busy1);
+
+    assertThat(queue.take()).containsSame(quiet);
+    assertThat(queue.take()).containsSame(busy2);
+  }
+
+  @Test
+  void should_keep_submission_order_with_a_single_worker() throws InterruptedException {
+    var queue = new CommandQueue(1, 1, false);
+    var busy1 = command("busy");
+    var busy2 = command("busy");
+    var quiet = command("quiet");
+    queue.put(busy1);
+    queue.put(busy2);
+
+    assertThat(queue.take()).containsSame(busy1);
+    queue.put(quiet);
+    queue.done(busy1);
+
+    assertThat(queue.take()).containsSame(busy2);
+    queue.done(busy2);
+    assertThat(queue.take()).containsSame(quiet);
+  }
+
+  @Test
+  void should_bound_concurrent_analyses() throws InterruptedException {
+    var queue = new CommandQueue(2, 1, false);
+    var analysis1 = analysis("module1");
+    var analysis2 = analysis("module2");
+    var register = command("module3");
+    queue.put(analysis1);
+    queue.put(analysis2);
+    queue.put(register);
+
+    assertThat(queue.take()).containsSame(analysis1);
+    // the second analysis has to wait, but other commands can be executed
+    assertThat(queue.take()).containsSame(register);
+
+    queue.done(analysis1);
+
+    assertThat(queue.take()).containsSame(analysis2);
+  }
+
+  @Test
+  void should_stop_blocking_when_closed_and_idle() throws InterruptedException {
+    var queue = new CommandQueue(2, 1, false);
+    var pending = command(null);
+    queue.put(pending);
+    queue.close();
+
+    assertThat(queue.take()).containsSame(pending);
+    queue.done(pending);
+    assertThat(queue.take()).isEqualTo(Optional.empty());
+  }
+
+  @Test
+  void should_drain_pending_commands() throws InterruptedException {
+    var queue = new CommandQueue(2, 1, false);
+    var executing = command("module");
+    var pending1 = command("module");
+    var pending2 = command(null);
+    queue.put(executing);
+    queue.put(pending1);
+    queue.put(pending2);
+    queue.take();
+
+    assertThat(queue.drainPending()).containsOnly(pending1, pending2);
+
+    queue.done(executing);
+    queue.close();
+    assertThat(queue.take()).isEmpty();
+  }
+
+  @Test
+  void should_supersede_pending_analyses_of_the_same_files_when_coalescing() throws InterruptedException {
+    var queue = new CommandQueue(2, 1, true);
+    var older = analysis("module", "file1.py");
+    var otherFiles = analysis("module", "file2.py");
+    var newer = analysis("module", "file1.py");
+    queue.put(older);
+    queue.put(otherFiles);
+    queue.put(newer);
+
+    assertThat(older.getFuture()).isCompletedExceptionally();
+    assertThatThrownBy(() -> older.getFuture().join()).hasCauseInstanceOf(AnalysisSupersededException.class);
+    assertThat(queue.take()).containsSame(otherFiles);
+    queue.done(otherFiles);
+    assertThat(queue.take()).containsSame(newer);
+  }
+
+  @Test
+  void should_cancel_executing_analysis_of_the_same_files_when_coalescing() throws InterruptedException {
+    var queue = new CommandQueue(2, 1, true);
+    var progressMonitor = new ProgressMonitor(null);
+    var executing = new AsyncCommand<>(analyzeCommand("module", "file1.py"), progressMonitor);
+    queue.put(executing);
+    queue.take();
+
+    queue.put(analysis("module", "file1.py"));
+
+    assertThat(progressMonitor.isCanceled()).isTrue();
+  }
+
+  @Test
+  void should_complete_executing_analysis_as_superseded_when_coalescing() throws InterruptedException {
+    var queue = new CommandQueue(2, 1, true);
+    var executing = new AsyncCommand<>(new AnalyzeCommand("module", analysisConfiguration("file1.py"), i -> {
+    }, null) {
+      @Override
+      public AnalysisResults execute(ModuleRegistry moduleRegistry, ProgressMonitor progressMonitor) {
+        // the analysis notices the cancellation and stops
+        progressMonitor.checkCancel();
+        return new AnalysisResults();
+      }
+    }, new ProgressMonitor(null));
+    queue.put(executing);
+    queue.take();
+
+    queue.put(analysis("module", "file1.py"));
+    executing.execute(null);
+
+    assertThatThrownBy(() -> executing.getFuture().join()).hasCauseExactlyInstanceOf(AnalysisSupersededException.class);
+  }
+
+  @Test
+  void should_complete_superseded_analyses_outside_of_the_queue_lock() {
+    var queue = new CommandQueue(2, 1, true);
+    var older = analysis("module", "file1.py");
+    queue.put(older);
+    var queueUsableFromCallback = new AtomicBoolean();
+    older.getFuture().whenComplete((result, error) -> {
+      // another thread can only use the queue if the lock is not held by the submitting thread
+      var otherThread = CompletableFuture.runAsync(queue::drainPending);
+      try {
+        otherThread.get(5, TimeUnit.SECONDS);
+        queueUsableFromCallback.set(true);
+      } catch (Exception e) {
+        otherThread.cancel(true);
+      }
+    });
+
+    queue.put(analysis("module", "file1.py"));
+
+    assertThat(queueUsableFromCallback).isTrue();
+  }
+
+  @Test
+  void should_not_supersede_analyses_when_not_coalescing() throws InterruptedException {
+    var queue = new CommandQueue(2, 1, false);
+    var older = analysis("module", "file1.py");
+    var newer = analysis("module", "file1.py");
+    queue.put(older);
+    queue.put(newer);
+
+    assertThat(older.getFuture()).isNotDone();
+    assertThat(queue.take()).containsSame(older);
+  }
+
+  private static AsyncCommand<Void> command(Object moduleKey) {
+    return new AsyncCommand<>(new Command<>() {
+      @Override
+      public Void execute(ModuleRegistry moduleRegistry, ProgressMonitor progressMonitor) {
+        return null;
+      }
+
+      @Override
+      public Object getModuleKey() {
+        return moduleKey;
+      }
+    }, new ProgressMonitor(null));
+  }
+
+  private static AsyncCommand<AnalysisResults> analysis(Object moduleKey, String... relativePaths) {
+    return new AsyncCommand<>(analyzeCommand(moduleKey, relativePaths), new ProgressMonitor(null));
+  }
+
+  private static AnalyzeCommand analyzeCommand(Object moduleKey, String... relativePaths) {
+    return new AnalyzeCommand(moduleKey, analysisConfiguration(relativePaths), i -> {
+    }, null);
+  }
+
+  private static AnalysisConfiguration analysisConfiguration(String... relativePaths) {
+    var configuration = AnalysisConfiguration.builder();
+    Arrays.stream(relativePaths).forEach(path -> configuration.addInputFile(new InMemoryTestClientInputFile("", path, null, false, null)));
+    return configuration.build();
+  }
+}
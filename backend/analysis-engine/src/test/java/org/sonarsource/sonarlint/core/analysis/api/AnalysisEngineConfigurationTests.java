@@ -23,12 +23,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import static java.nio.file.Files.createDirectory;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class AnalysisEngineConfigurationTests {
 
@@ -39,6 +41,12 @@ class AnalysisEngineConfigurationTests {
     assertThat(config.getWorkDir()).isNull();
     assertThat(config.getEffectiveSettings()).isEmpty();
     assertThat(config.getClientPid()).isZero();
+    assertThat(config.getWorkerCount()).isEqualTo(1);
+    assertThat(config.getMaxConcurrentAnalyses()).isEqualTo(1);
+    assertThat(config.isCoalesceAnalyses()).isFalse();
+    assertThat(config.getIndexingParallelism()).isEqualTo(1);
+    assertThat(config.getSensorsParallelism()).isEqualTo(1);
+    assertThat(config.getThreadSafeSensorPluginKeys()).isEmpty();
   }
 
   @Test
@@ -76,4 +84,45 @@ class AnalysisEngineConfigurationTests {
     var config = AnalysisEngineConfiguration.builder().setClientPid(123).build();
     assertThat(config.getClientPid()).isEqualTo(123);
   }
+
+  @Test
+  void provideWorkers() {
+    var config = AnalysisEngineConfiguration.builder().setWorkerCount(4).build();
+    assertThat(config.getWorkerCount()).isEqualTo(4);
+    assertThat(config.getMaxConcurrentAnalyses()).isEqualTo(4);
+  }
+
+  @Test
+  void provideMaxConcurrentAnalyses() {
+    var config = AnalysisEngineConfiguration.builder().setWorkerCount(4).setMaxConcurrentAnalyses(2).build();
+    assertThat(config.getMaxConcurrentAnalyses()).isEqualTo(2);
+  }
+
+  @Test
+  void enableCoalescing() {
+    var config = AnalysisEngineConfiguration.builder().setCoalesceAnalyses(true).build();
+    assertThat(config.isCoalesceAnalyses()).isTrue();
+  }
+
+  @Test
+  void provideIndexingParallelism() {
+    var config = AnalysisEngineConfiguration.builder().setIndexingParallelism(4).build();
+    assertThat(config.getIndexingParallelism()).isEqualTo(4);
+  }
+
+  @Test
+  void provideSensorsParallelism() {
+    var config = AnalysisEngineConfiguration.builder().setSensorsParallelism(4).setThreadSafeSensorPluginKeys(Set.of("java")).build();
+    assertThat(config.getSensorsParallelism()).isEqualTo(4);
+    assertThat(config.getThreadSafeSensorPluginKeys()).containsOnly("java");
+  }
+
+  @Test
+  void rejectInvalidWorkerCount() {
+    var builder = AnalysisEngineConfiguration.builder();
+    assertThrows(IllegalArgumentException.class, () -> builder.setWorkerCount(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.setMaxConcurrentAnalyses(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.setIndexingParallelism(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.setSensorsParallelism(0));
+  }
 }
@@ -0,0 +1,89 @@
+/*
+ * SonarLint Core - Analysis Engine
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.InputFileFilter;
+import org.sonarsource.sonarlint.core.analysis.api.AnalysisConfiguration;
+import org.sonarsource.sonarlint.core.analysis.api.AnalysisEngineConfiguration;
+import org.sonarsource.sonarlint.core.analysis.api.AnalysisResults;
+import org.sonarsource.sonarlint.core.analysis.api.ClientInputFile;
+import org.sonarsource.sonarlint.core.analysis.container.analysis.issue.ignore.scanner.IssueExclusionsLoader;
+import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import testutils.InMemoryTestClientInputFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FileIndexerTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  private final LanguageDetection languageDetection = mock(LanguageDetection.class);
+  private final IssueExclusionsLoader issueExclusionsLoader = mock(IssueExclusionsLoader.class);
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  void should_index_accepted_files_in_input_order(int parallelism) {
+    when(languageDetection.language(any(InputFile.class))).thenReturn(SonarLanguage.PYTHON);
+    List<ClientInputFile> clientInputFiles = IntStream.range(0, 500)
+      .mapToObj(i -> new InMemoryTestClientInputFile("", "file" + i + ".py", null, false, null))
+      .collect(Collectors.toList());
+    Set<Thread> filteringThreads = ConcurrentHashMap.newKeySet();
+    InputFileFilter excludeEveryTenthFile = f -> {
+      filteringThreads.add(Thread.currentThread());
+      return !f.filename().endsWith("0.py");
+    };
+    var inputFileIndex = new InputFileIndex();
+    var analysisResults = new AnalysisResults();
+    var fileIndexingPool = new FileIndexingPool(AnalysisEngineConfiguration.builder().setIndexingParallelism(parallelism).build());
+    fileIndexingPool.start();
+    var underTest = new FileIndexer(inputFileIndex, new InputFileBuilder(languageDetection, new FileMetadata(), issueExclusionsLoader),
+      AnalysisConfiguration.builder().addInputFiles(clientInputFiles).build(), analysisResults, issueExclusionsLoader, Optional.of(List.of(excludeEveryTenthFile)),
+      fileIndexingPool);
+
+    try {
+      underTest.index();
+    } finally {
+      fileIndexingPool.stop();
+    }
+
+    var expectedFiles = clientInputFiles.stream().filter(f -> !f.relativePath().endsWith("0.py")).collect(Collectors.toList());
+    assertThat(analysisResults.indexedFileCount()).isEqualTo(450);
+    assertThat(analysisResults.languagePerFile().keySet()).containsExactlyElementsOf(expectedFiles);
+    assertThat(inputFileIndex.inputFiles())
+      .extracting(f -> ((SonarLintInputFile) f).getClientInputFile())
+      .containsExactlyElementsOf(expectedFiles);
+    // plugin filters are not assumed to be thread-safe
+    assertThat(filteringThreads).containsOnly(Thread.currentThread());
+  }
+}
@@ -19,7 +19,9 @@
  */
 package org.sonarsource.sonarlint.core.analysis.container.analysis.filesystem;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -28,6 +30,8 @@ import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.sonarsource.sonarlint.core.commons.log.LogOutput.Level;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
 
@@ -205,4 +209,62 @@ class FileMetadataTests {
       "glyphicons-halflings-regular.woff' at line 1 for encoding UTF-8. Please fix file content or configure the encoding.");
   }
 
+  @Test
+  void replacement_character_in_valid_utf_8_is_reported(@TempDir Path temp) throws Exception {
+    var tempFile = temp.resolve("tmpFile").toFile();
+    FileUtils.write(tempFile, "foo\n\uFFFDbar", StandardCharsets.UTF_8);
+
+    var metadata = underTest.readMetadata(tempFile, StandardCharsets.UTF_8);
+    assertThat(metadata.lines()).isEqualTo(2);
+    assertThat(metadata.originalLineOffsets()).containsOnly(0, 4);
+    assertThat(logTester.logs(Level.WARN)).singleElement().asString().contains("at line 2 for encoding UTF-8");
+  }
+
+  @Test
+  void non_ascii_iso_8859_1(@TempDir Path temp) throws Exception {
+    var tempFile = temp.resolve("tmpFile").toFile();
+    FileUtils.write(tempFile, "föo\r\nbàr\rbaßz", StandardCharsets.ISO_8859_1);
+
+    var metadata = underTest.readMetadata(tempFile, StandardCharsets.ISO_8859_1);
+    assertThat(metadata.lines()).isEqualTo(3);
+    assertThat(metadata.originalLineOffsets()).containsOnly(0, 5, 9);
+    assertThat(metadata.lastValidOffset()).isEqualTo(13);
+  }
+
+  @Test
+  void non_ascii_in_us_ascii_falls_back_to_decoder(@TempDir Path temp) throws Exception {
+    var tempFile = temp.resolve("tmpFile").toFile();
+    FileUtils.write(tempFile, "föo\nbar", StandardCharsets.UTF_8);
+
+    var metadata = underTest.readMetadata(tempFile, StandardCharsets.US_ASCII);
+    // ö is decoded as 2 replacement characters
+    assertThat(metadata.originalLineOffsets()).containsOnly(0, 5);
+    assertThat(logTester.logs(Level.WARN)).isNotEmpty();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "\n", "\r", "\r\n", "\n\r", "a\r\r\nb", "\uFEFFfoo\r\n", "é\u1D11E\r\uD834\uDD1E\n\u07FF\u0800\uFFFF", "\r\n\r\n\r"})
+  void byte_scanner_is_consistent_with_char_handlers(String content) {
+    var bytes = content.getBytes(StandardCharsets.UTF_8);
+    var uri = URI.create("file://tmpFile");
+
+    var fast = underTest.readMetadata(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, uri, null);
+    var withHandlers = underTest.readMetadata(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, uri, new FileMetadata.CharHandler() {
+    });
+
+    assertThat(fast.lines()).isEqualTo(withHandlers.lines());
+    assertThat(fast.originalLineOffsets()).containsExactly(withHandlers.originalLineOffsets());
+    assertThat(fast.lastValidOffset()).isEqualTo(withHandlers.lastValidOffset());
+  }
+
+  @Test
+  void byte_scanner_grows_line_offsets() {
+    var content = "line\n".repeat(1000);
+
+    var metadata = ByteScanner.scan(content.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+
+    assertThat(metadata.lines()).isEqualTo(1001);
+    assertThat(metadata.originalLineOffsets()[1000]).isEqualTo(5000);
+  }
+
 }
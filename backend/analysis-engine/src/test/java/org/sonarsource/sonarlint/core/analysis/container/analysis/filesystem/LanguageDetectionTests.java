@@ -142,6 +142,38 @@ class LanguageDetectionTests {
       .contains("XML: xhtml");
   }
 
+  @Test
+  void should_support_suffixes_containing_dots() throws Exception {
+    var settings = new MapSettings(Map.of(SonarLanguage.XML.getFileSuffixesPropKey(), "conf.in,.XML"));
+    var detection = new LanguageDetection(settings.asConfig());
+
+    assertThat(detection.language(newInputFile("build.conf.in"))).isEqualTo(SonarLanguage.XML);
+    assertThat(detection.language(newInputFile("build.CONF.IN"))).isEqualTo(SonarLanguage.XML);
+    assertThat(detection.language(newInputFile("buildconf.in"))).isNull();
+    assertThat(detection.language(newInputFile("conf.in"))).isNull();
+    assertThat(detection.language(newInputFile("pom.xml"))).isEqualTo(SonarLanguage.XML);
+  }
+
+  @Test
+  void fail_if_suffixes_of_different_languages_match() throws Exception {
+    var settings = new MapSettings(Map.of(SonarLanguage.HTML.getFileSuffixesPropKey(), "page.xml"));
+    var detection = new LanguageDetection(settings.asConfig());
+    var inputFile = newInputFile("index.page.xml");
+
+    var e = assertThrows(MessageException.class, () -> detection.language(inputFile));
+    assertThat(e.getMessage()).contains("matches both HTML: page.xml and XML: xml");
+  }
+
+  @Test
+  void should_share_detection_for_same_suffixes() {
+    var cache = new LanguageDetectionCache();
+
+    var detection = cache.get(new MapSettings(Map.of()).asConfig());
+
+    assertThat(cache.get(new MapSettings(Map.of("sonar.foo", "bar")).asConfig())).isSameAs(detection);
+    assertThat(cache.get(new MapSettings(Map.of(SonarLanguage.XML.getFileSuffixesPropKey(), "xhtml")).asConfig())).isNotSameAs(detection);
+  }
+
   private InputFile newInputFile(String path) throws IOException {
     return new TestInputFileBuilder(path).setBaseDir(basedir).build();
   }
@@ -20,17 +20,25 @@
 package org.sonarsource.sonarlint.core.analysis.container.analysis.sensor;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.sonar.api.Plugin;
+import org.sonar.api.batch.DependsUpon;
 import org.sonar.api.batch.sensor.Sensor;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.SensorDescriptor;
 import org.sonar.api.scanner.sensor.ProjectSensor;
+import org.sonarsource.sonarlint.core.analysis.api.AnalysisEngineConfiguration;
 import org.sonarsource.sonarlint.core.commons.log.LogOutput;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
 import org.sonarsource.sonarlint.core.commons.progress.ProgressMonitor;
+import org.sonarsource.sonarlint.core.plugin.commons.LoadedPlugins;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -68,7 +76,7 @@ class SensorsExecutorTests {
   void testThrowingSensorShouldBeLogged() {
     var sensorOptimizer = mock(SensorOptimizer.class);
     when(sensorOptimizer.shouldExecute(any())).thenReturn(true);
-    var executor = new SensorsExecutor(null, sensorOptimizer, new ProgressMonitor(null), Optional.of(List.of(new ThrowingSensor())));
+    var executor = new SensorsExecutor(null, sensorOptimizer, new ProgressMonitor(null), Optional.of(List.of(new ThrowingSensor())), newSensorsPlanCache(1));
 
     executor.execute();
 
@@ -84,13 +92,140 @@ class SensorsExecutorTests {
     var globalSensor = new GlobalSensor();
     var oldGlobalSensor = new OldGlobalSensor();
 
-    var executor = new SensorsExecutor(null, sensorOptimizer, new ProgressMonitor(null), Optional.of(List.of(globalSensor, regularSensor, oldGlobalSensor)));
+    var executor = new SensorsExecutor(null, sensorOptimizer, new ProgressMonitor(null), Optional.of(List.of(globalSensor, regularSensor, oldGlobalSensor)), newSensorsPlanCache(1));
 
     executor.execute();
 
     assertThat(logTester.logs(LogOutput.Level.INFO)).containsExactly("Executing 'Regular sensor'", "Executing 'Global sensor'", "Executing 'Old Global sensor'");
   }
 
+  @Test
+  void shouldReuseSensorsPlanAcrossAnalyses() {
+    var sensorOptimizer = mock(SensorOptimizer.class);
+    when(sensorOptimizer.shouldExecute(any())).thenReturn(true);
+    var sensorsPlanCache = newSensorsPlanCache(1);
+    var firstSensor = new CountingSensor();
+    var secondSensor = new CountingSensor();
+
+    new SensorsExecutor(null, sensorOptimizer, new ProgressMonitor(null), Optional.of(List.of(firstSensor)), sensorsPlanCache).execute();
+    new SensorsExecutor(null, sensorOptimizer, new ProgressMonitor(null), Optional.of(List.of(secondSensor)), sensorsPlanCache).execute();
+
+    assertThat(sensorsPlanCache.size()).isEqualTo(1);
+    assertThat(firstSensor.describeCount).isEqualTo(1);
+    assertThat(firstSensor.executeCount).isEqualTo(1);
+    assertThat(secondSensor.describeCount).isZero();
+    assertThat(secondSensor.executeCount).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvaluateSensorOptimizerOnEachAnalysis() {
+    var sensorOptimizer = mock(SensorOptimizer.class);
+    when(sensorOptimizer.shouldExecute(any())).thenReturn(false, true);
+    var sensorsPlanCache = newSensorsPlanCache(1);
+    var sensor = new CountingSensor();
+
+    new SensorsExecutor(null, sensorOptimizer, new ProgressMonitor(null), Optional.of(List.of(sensor)), sensorsPlanCache).execute();
+    assertThat(sensor.executeCount).isZero();
+
+    new SensorsExecutor(null, sensorOptimizer, new ProgressMonitor(null), Optional.of(List.of(sensor)), sensorsPlanCache).execute();
+    assertThat(sensor.executeCount).isEqualTo(1);
+  }
+
+  @Test
+  void shouldExecuteIndependentSensorsConcurrently() {
+    var sensorOptimizer = mock(SensorOptimizer.class);
+    when(sensorOptimizer.shouldExecute(any())).thenReturn(true);
+    var latch = new CountDownLatch(2);
+    var firstSensor = new MeetingSensor(latch);
+    var secondSensor = new MeetingSensor(latch);
+
+    new SensorsExecutor(null, sensorOptimizer, new ProgressMonitor(null), Optional.of(List.of(firstSensor, secondSensor)), newSensorsPlanCache(2)).execute();
+
+    assertThat(firstSensor.met).isTrue();
+    assertThat(secondSensor.met).isTrue();
+    assertThat(logTester.logs(LogOutput.Level.DEBUG)).filteredOn(log -> log.startsWith("Sensor 'Meeting sensor' executed in ")).hasSize(2);
+  }
+
+  @Test
+  void shouldExecuteSensorsDeclaringDependenciesSequentially() {
+    var sensorOptimizer = mock(SensorOptimizer.class);
+    when(sensorOptimizer.shouldExecute(any())).thenReturn(true);
+    var plan = newSensorsPlanCache(2).get(List.of(new DependentSensor(), new RegularSensor(), new CountingSensor()));
+
+    assertThat(plan.getSteps()).extracting(List::size).containsExactlyInAnyOrder(1, 2);
+    assertThat(plan.getSteps()).filteredOn(step -> step.size() == 1).singleElement()
+      .satisfies(step -> assertThat(step.get(0).getDescriptor().name()).isEqualTo("Dependent sensor"));
+  }
+
+  @Test
+  void shouldNotExecuteSensorsConcurrentlyByDefault() {
+    var plan = newSensorsPlanCache(1).get(List.of(new RegularSensor(), new CountingSensor()));
+
+    assertThat(plan.getSteps()).extracting(List::size).containsExactly(1, 1);
+  }
+
+  private static SensorsPlanCache newSensorsPlanCache(int sensorsParallelism) {
+    var configuration = AnalysisEngineConfiguration.builder()
+      .setSensorsParallelism(sensorsParallelism)
+      .setThreadSafeSensorPluginKeys(Set.of("test"))
+      .build();
+    // the test plugin shares its classloader with the test sensors
+    return new SensorsPlanCache(configuration, new LoadedPlugins(Map.of("test", mock(Plugin.class)), null, Set.of()));
+  }
+
+  private static class MeetingSensor implements Sensor {
+    private final CountDownLatch latch;
+    private boolean met;
+
+    private MeetingSensor(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public void describe(SensorDescriptor descriptor) {
+      descriptor.name("Meeting sensor");
+    }
+
+    @Override
+    public void execute(SensorContext context) {
+      latch.countDown();
+      try {
+        met = latch.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @DependsUpon("something")
+  private static class DependentSensor implements Sensor {
+    @Override
+    public void describe(SensorDescriptor descriptor) {
+      descriptor.name("Dependent sensor");
+    }
+
+    @Override
+    public void execute(SensorContext context) {
+      // no-op
+    }
+  }
+
+  private static class CountingSensor implements Sensor {
+    private int describeCount;
+    private int executeCount;
+
+    @Override
+    public void describe(SensorDescriptor descriptor) {
+      describeCount++;
+      descriptor.name("Counting sensor");
+    }
+
+    @Override
+    public void execute(SensorContext context) {
+      executeCount++;
+    }
+  }
+
   private static class ThrowingSensor implements Sensor {
     @Override
     public void describe(SensorDescriptor descriptor) {
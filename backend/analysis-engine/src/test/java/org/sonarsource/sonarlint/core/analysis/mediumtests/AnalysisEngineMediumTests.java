@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.Stream;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -50,6 +51,7 @@ import org.sonarsource.sonarlint.core.analysis.api.Issue;
 import org.sonarsource.sonarlint.core.analysis.command.AnalyzeCommand;
 import org.sonarsource.sonarlint.core.analysis.command.Command;
 import org.sonarsource.sonarlint.core.analysis.command.RegisterModuleCommand;
+import org.sonarsource.sonarlint.core.analysis.container.global.ModuleRegistry;
 import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
 import org.sonarsource.sonarlint.core.commons.log.LogOutput;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
@@ -219,6 +221,33 @@ class AnalysisEngineMediumTests {
     assertThat(logTester.logs(LogOutput.Level.ERROR)).isEmpty();
   }
 
+  @Test
+  void should_execute_commands_of_different_modules_concurrently(@TempDir Path workDir) throws Exception {
+    analysisEngine.stop();
+    var analysisGlobalConfig = AnalysisEngineConfiguration.builder()
+      .setClientPid(1234L)
+      .setWorkDir(workDir)
+      .setWorkerCount(2)
+      .build();
+    var result = new PluginsLoader().load(new PluginsLoader.Configuration(Set.of(findPythonJarPath()), Set.of(SonarLanguage.PYTHON), false, Optional.empty()));
+    this.analysisEngine = new AnalysisEngine(analysisGlobalConfig, result.getLoadedPlugins(), logTester.getLogOutput());
+    var blockingLatch = new CountDownLatch(1);
+
+    var futureBlocking = analysisEngine.post(moduleCommand("module1", () -> await().until(() -> blockingLatch.getCount() == 0)), progressMonitor);
+    var futureSameModule = analysisEngine.post(moduleCommand("module1", () -> {
+    }), progressMonitor);
+    var futureOtherModule = analysisEngine.post(moduleCommand("module2", () -> {
+    }), progressMonitor);
+
+    await().until(futureOtherModule::isDone);
+    assertThat(futureBlocking).isNotDone();
+    assertThat(futureSameModule).isNotDone();
+
+    blockingLatch.countDown();
+    await().until(futureSameModule::isDone);
+    assertThat(futureBlocking).isDone();
+  }
+
   private ClientInputFile preparePythonInputFile(Path baseDir, String content) throws IOException {
     final var file = new File(baseDir.toFile(), "file.py");
     FileUtils.write(file, content, StandardCharsets.UTF_8);
@@ -261,6 +290,21 @@ class AnalysisEngineMediumTests {
     };
   }
 
+  private static Command<String> moduleCommand(Object moduleKey, Runnable runnable) {
+    return new Command<>() {
+      @Override
+      public String execute(ModuleRegistry moduleRegistry, ProgressMonitor progressMonitor) {
+        runnable.run();
+        return "SUCCESS";
+      }
+
+      @Override
+      public Object getModuleKey() {
+        return moduleKey;
+      }
+    };
+  }
+
   private static void pause(long period) {
     try {
       Thread.sleep(period);
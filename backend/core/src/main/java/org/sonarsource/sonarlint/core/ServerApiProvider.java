@@ -20,7 +20,10 @@
 package org.sonarsource.sonarlint.core;
 
 import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -28,6 +31,7 @@ import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
+import org.sonarsource.sonarlint.core.event.ConnectionConfigurationRemovedEvent;
 import org.sonarsource.sonarlint.core.http.ConnectionAwareHttpClientProvider;
 import org.sonarsource.sonarlint.core.http.HttpClient;
 import org.sonarsource.sonarlint.core.http.HttpClientProvider;
@@ -38,8 +42,13 @@ import org.sonarsource.sonarlint.core.rpc.protocol.backend.connection.common.Tra
 import org.sonarsource.sonarlint.core.rpc.protocol.common.TokenDto;
 import org.sonarsource.sonarlint.core.rpc.protocol.common.UsernamePasswordDto;
 import org.sonarsource.sonarlint.core.serverapi.EndpointParams;
+import org.sonarsource.sonarlint.core.serverapi.HttpResponseCache;
 import org.sonarsource.sonarlint.core.serverapi.ServerApi;
 import org.sonarsource.sonarlint.core.serverapi.ServerApiHelper;
+import org.sonarsource.sonarlint.core.serverconnection.FileUtils;
+import org.springframework.context.event.EventListener;
+
+import static org.sonarsource.sonarlint.core.serverconnection.storage.ProjectStoragePaths.encodeForFs;
 
 @Named
 @Singleton
@@ -50,13 +59,16 @@ public class ServerApiProvider {
   private final ConnectionAwareHttpClientProvider awareHttpClientProvider;
   private final HttpClientProvider httpClientProvider;
   private final URI sonarCloudUri;
+  private final Path storageRoot;
+  private final Map<String, HttpResponseCache> responseCacheByConnectionId = new ConcurrentHashMap<>();
 
   public ServerApiProvider(ConnectionConfigurationRepository connectionRepository, ConnectionAwareHttpClientProvider awareHttpClientProvider, HttpClientProvider httpClientProvider,
-    SonarCloudActiveEnvironment sonarCloudActiveEnvironment) {
+    SonarCloudActiveEnvironment sonarCloudActiveEnvironment, @Named("storageRoot") Path storageRoot) {
     this.connectionRepository = connectionRepository;
     this.awareHttpClientProvider = awareHttpClientProvider;
     this.httpClientProvider = httpClientProvider;
     this.sonarCloudUri = sonarCloudActiveEnvironment.getUri();
+    this.storageRoot = storageRoot;
   }
 
   public Optional<ServerApi> getServerApi(String connectionId) {
@@ -65,7 +77,7 @@ public class ServerApiProvider {
       LOG.debug("Connection '{}' is gone", connectionId);
       return Optional.empty();
     }
-    return Optional.of(new ServerApi(params.get(), awareHttpClientProvider.getHttpClient(connectionId)));
+    return Optional.of(getServerApi(connectionId, params.get()));
   }
 
   public ServerApi getServerApi(String baseUrl, @Nullable String organization, String token) {
@@ -79,7 +91,23 @@ public class ServerApiProvider {
       var error = new ResponseError(SonarLintRpcErrorCode.CONNECTION_NOT_FOUND, "Connection '" + connectionId + "' is gone", connectionId);
       throw new ResponseErrorException(error);
     }
-    return new ServerApi(params.get(), awareHttpClientProvider.getHttpClient(connectionId));
+    return getServerApi(connectionId, params.get());
+  }
+
+  private ServerApi getServerApi(String connectionId, EndpointParams params) {
+    var responseCache = responseCacheByConnectionId.computeIfAbsent(connectionId, id -> new HttpResponseCache(getResponseCacheDir(id)));
+    return new ServerApi(new ServerApiHelper(params, awareHttpClientProvider.getHttpClient(connectionId), responseCache));
+  }
+
+  @EventListener
+  public void connectionRemoved(ConnectionConfigurationRemovedEvent e) {
+    var connectionId = e.getRemovedConnectionId();
+    responseCacheByConnectionId.remove(connectionId);
+    FileUtils.deleteRecursively(getResponseCacheDir(connectionId));
+  }
+
+  private Path getResponseCacheDir(String connectionId) {
+    return storageRoot.resolve(encodeForFs(connectionId)).resolve("http_cache");
   }
 
   /**
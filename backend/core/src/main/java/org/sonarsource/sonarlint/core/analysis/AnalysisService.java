@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.inject.Named;
@@ -46,6 +47,8 @@ import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
 import org.sonarsource.sonarlint.core.event.BindingConfigChangedEvent;
 import org.sonarsource.sonarlint.core.event.ConfigurationScopeRemovedEvent;
 import org.sonarsource.sonarlint.core.event.ConfigurationScopesAddedEvent;
+import org.sonarsource.sonarlint.core.event.ConnectionConfigurationRemovedEvent;
+import org.sonarsource.sonarlint.core.event.ConnectionConfigurationUpdatedEvent;
 import org.sonarsource.sonarlint.core.languages.LanguageSupportRepository;
 import org.sonarsource.sonarlint.core.nodejs.InstalledNodeJs;
 import org.sonarsource.sonarlint.core.plugin.PluginsService;
@@ -63,6 +66,7 @@ import org.sonarsource.sonarlint.core.rule.extractor.SonarLintRuleDefinition;
 import org.sonarsource.sonarlint.core.rules.RulesService;
 import org.sonarsource.sonarlint.core.serverapi.hotspot.HotspotApi;
 import org.sonarsource.sonarlint.core.serverapi.rules.ServerActiveRule;
+import org.sonarsource.sonarlint.core.serverconnection.AnalyzerConfiguration;
 import org.sonarsource.sonarlint.core.storage.StorageService;
 import org.sonarsource.sonarlint.core.sync.AnalyzerConfigurationSynchronized;
 import org.sonarsource.sonarlint.core.sync.ConfigurationScopesSynchronizedEvent;
@@ -92,6 +96,10 @@ public class AnalysisService {
   private final NodeJsService nodeJsService;
   private final boolean isDataflowBugDetectionEnabled;
   private final Map<String, Boolean> analysisReadinessByConfigScopeId = new ConcurrentHashMap<>();
+  // enabled languages are fixed at initialization, so the binding is enough to identify a set of active rules
+  private final Map<Binding, ConnectedActiveRules> connectedActiveRulesByBinding = new ConcurrentHashMap<>();
+  // incremented before each eviction, so that active rules computed from a configuration read before the eviction are not cached afterwards
+  private final AtomicLong connectedActiveRulesGeneration = new AtomicLong();
 
   public AnalysisService(SonarLintRpcClient client, ConfigurationRepository configurationRepository, LanguageSupportRepository languageSupportRepository,
     StorageService storageService,
@@ -173,14 +181,28 @@ public class AnalysisService {
     var activeNodeJs = nodeJsService.getActiveNodeJs();
 
     var nodeJsDetailsDto = activeNodeJs == null ? null : new NodeJsDetailsDto(activeNodeJs.getPath(), activeNodeJs.getVersion().toString());
-    return bindingOpt.map(binding -> new GetAnalysisConfigResponse(buildConnectedActiveRules(binding),
+    return bindingOpt.map(binding -> new GetAnalysisConfigResponse(getConnectedActiveRules(binding),
       storageService.binding(binding).analyzerConfiguration().read().getSettings().getAll(), nodeJsDetailsDto,
       Set.copyOf(pluginsService.getConnectedPluginPaths(binding.getConnectionId()))))
       .orElseGet(() -> new GetAnalysisConfigResponse(buildStandaloneActiveRules(), Map.of(), nodeJsDetailsDto, Set.copyOf(pluginsService.getEmbeddedPluginPaths())));
   }
 
-  private List<ActiveRuleDto> buildConnectedActiveRules(Binding binding) {
+  private List<ActiveRuleDto> getConnectedActiveRules(Binding binding) {
+    var generation = connectedActiveRulesGeneration.get();
     var analyzerConfig = storageService.binding(binding).analyzerConfiguration().read();
+    var cachedActiveRules = connectedActiveRulesByBinding.get(binding);
+    // the storage returns the same instance as long as the stored configuration did not change
+    if (cachedActiveRules != null && cachedActiveRules.analyzerConfiguration == analyzerConfig) {
+      return cachedActiveRules.activeRules;
+    }
+    var activeRules = List.copyOf(buildConnectedActiveRules(binding, analyzerConfig));
+    connectedActiveRulesByBinding.compute(binding, (b, current) -> generation == connectedActiveRulesGeneration.get()
+      ? new ConnectedActiveRules(analyzerConfig, activeRules)
+      : current);
+    return activeRules;
+  }
+
+  private List<ActiveRuleDto> buildConnectedActiveRules(Binding binding, AnalyzerConfiguration analyzerConfig) {
     var ruleSetByLanguageKey = analyzerConfig.getRuleSetByLanguageKey();
     var result = new ArrayList<ActiveRuleDto>();
     ruleSetByLanguageKey.entrySet()
@@ -360,10 +382,21 @@ public class AnalysisService {
 
   @EventListener
   public void onPluginsSynchronized(PluginsSynchronizedEvent event) {
+    evictConnectedActiveRules(event.getConnectionId());
     checkIfReadyForAnalysis(configurationRepository.getBoundScopesToConnection(event.getConnectionId())
       .stream().map(BoundScope::getConfigScopeId).collect(Collectors.toSet()));
   }
 
+  private void evictConnectedActiveRules(String connectionId) {
+    connectedActiveRulesGeneration.incrementAndGet();
+    connectedActiveRulesByBinding.keySet().removeIf(binding -> binding.getConnectionId().equals(connectionId));
+  }
+
+  private void evictConnectedActiveRules(Binding binding) {
+    connectedActiveRulesGeneration.incrementAndGet();
+    connectedActiveRulesByBinding.remove(binding);
+  }
+
   @EventListener
   public void onConfigurationScopeAdded(ConfigurationScopesAddedEvent event) {
     checkIfReadyForAnalysis(event.getAddedConfigurationScopeIds());
@@ -383,8 +416,21 @@ public class AnalysisService {
     }
   }
 
+  @EventListener
+  public void onConnectionUpdated(ConnectionConfigurationUpdatedEvent event) {
+    evictConnectedActiveRules(event.getUpdatedConnectionId());
+  }
+
+  @EventListener
+  public void onConnectionRemoved(ConnectionConfigurationRemovedEvent event) {
+    evictConnectedActiveRules(event.getRemovedConnectionId());
+  }
+
   @EventListener
   public void onAnalyzerConfigurationSynchronized(AnalyzerConfigurationSynchronized event) {
+    // the server version, deciding if hotspots and secrets are supported, might have changed with the synchronization
+    event.getConfigScopeIds().forEach(configScopeId -> configurationRepository.getEffectiveBinding(configScopeId)
+      .ifPresent(this::evictConnectedActiveRules));
     checkIfReadyForAnalysis(event.getConfigScopeIds());
   }
 
@@ -445,4 +491,14 @@ public class AnalysisService {
   public InstalledNodeJs getAutoDetectedNodeJs() {
     return nodeJsService.getAutoDetectedNodeJs();
   }
+
+  private static class ConnectedActiveRules {
+    private final AnalyzerConfiguration analyzerConfiguration;
+    private final List<ActiveRuleDto> activeRules;
+
+    private ConnectedActiveRules(AnalyzerConfiguration analyzerConfiguration, List<ActiveRuleDto> activeRules) {
+      this.analyzerConfiguration = analyzerConfiguration;
+      this.activeRules = activeRules;
+    }
+  }
 }
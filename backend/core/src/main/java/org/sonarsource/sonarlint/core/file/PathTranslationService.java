@@ -20,9 +20,11 @@
 package org.sonarsource.sonarlint.core.file;
 
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import javax.annotation.CheckForNull;
 import javax.annotation.PreDestroy;
 import javax.inject.Named;
@@ -31,17 +33,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonarsource.sonarlint.core.SonarLintMDC;
 import org.sonarsource.sonarlint.core.branch.MatchedSonarProjectBranchChangedEvent;
+import org.sonarsource.sonarlint.core.commons.Binding;
 import org.sonarsource.sonarlint.core.commons.SmartCancelableLoadingCache;
 import org.sonarsource.sonarlint.core.commons.progress.SonarLintCancelMonitor;
 import org.sonarsource.sonarlint.core.event.BindingConfigChangedEvent;
 import org.sonarsource.sonarlint.core.event.ConfigurationScopeRemovedEvent;
 import org.sonarsource.sonarlint.core.fs.ClientFile;
 import org.sonarsource.sonarlint.core.fs.ClientFileSystemService;
+import org.sonarsource.sonarlint.core.fs.FileSystemUpdatedEvent;
 import org.sonarsource.sonarlint.core.repository.config.ConfigurationRepository;
 import org.sonarsource.sonarlint.core.serverconnection.prefix.FileTreeMatcher;
+import org.sonarsource.sonarlint.core.serverconnection.prefix.IncrementalFileTreeMatcher;
 import org.springframework.context.event.EventListener;
 
-import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.groupingBy;
 
 /**
  * The path translation service is responsible for matching the files on the server with the files on the client.
@@ -55,6 +60,7 @@ public class PathTranslationService {
   private final ClientFileSystemService clientFs;
   private final ConfigurationRepository configurationRepository;
   private final ServerFilePathsProvider serverFilePathsProvider;
+  private final Map<String, BoundMatcher> matchersByConfigScope = new ConcurrentHashMap<>();
   private final SmartCancelableLoadingCache<String, FilePathTranslation> cachedPathsTranslationByConfigScope =
     new SmartCancelableLoadingCache<>("sonarlint-path-translation", this::computePaths, (key, oldValue, newValue) -> {
     });
@@ -69,44 +75,88 @@ public class PathTranslationService {
   private FilePathTranslation computePaths(String configScopeId, SonarLintCancelMonitor cancelMonitor) {
     SonarLintMDC.putConfigScopeId(configScopeId);
     LOG.debug("Computing paths translation for config scope '{}'...", configScopeId);
-    var fileMatcher = new FileTreeMatcher();
     var binding = configurationRepository.getEffectiveBinding(configScopeId).orElse(null);
     if (binding == null) {
       LOG.debug("Config scope '{}' does not exist or is not bound", configScopeId);
+      matchersByConfigScope.remove(configScopeId);
       return null;
     }
+    var boundMatcher = matchersByConfigScope.get(configScopeId);
+    if (boundMatcher != null && boundMatcher.binding.equals(binding)) {
+      // the matcher is kept up to date with the file system updates
+      return toTranslation(configScopeId, boundMatcher.matcher.currentMatch());
+    }
     return serverFilePathsProvider.getServerPaths(binding, cancelMonitor)
-      .map(paths -> matchPaths(configScopeId, fileMatcher, paths))
+      .map(paths -> matchPaths(configScopeId, binding, paths))
       .orElse(null);
   }
 
-  private FilePathTranslation matchPaths(String configScopeId, FileTreeMatcher fileMatcher, List<Path> serverFilePaths) {
+  private FilePathTranslation matchPaths(String configScopeId, Binding binding, List<Path> serverFilePaths) {
     LOG.debug("Starting matching paths for config scope '{}'...", configScopeId);
-    var localFilePaths = clientFs.getFiles(configScopeId);
-    if (localFilePaths.isEmpty()) {
-      LOG.debug("No client files for config scope '{}'. Skipping path matching.", configScopeId);
-      // Maybe a config scope without files, or the filesystem has not been initialized yet
-      return new FilePathTranslation(Paths.get(""), Paths.get(""));
+    var matcher = new IncrementalFileTreeMatcher(serverFilePaths);
+    // file system updates received meanwhile will wait for the matcher to be initialized
+    synchronized (matcher) {
+      matchersByConfigScope.put(configScopeId, new BoundMatcher(binding, matcher));
+      var localFiles = clientFs.getFiles(configScopeId);
+      if (localFiles.isEmpty()) {
+        // Maybe a config scope without files, or the filesystem has not been initialized yet
+        LOG.debug("No client files for config scope '{}' yet", configScopeId);
+      }
+      localFiles.forEach(file -> matcher.addIdePath(file.getClientRelativePath()));
+      return toTranslation(configScopeId, matcher.currentMatch());
     }
-    var match = fileMatcher.match(serverFilePaths, localFilePaths.stream().map(ClientFile::getClientRelativePath).collect(toList()));
+  }
+
+  private static FilePathTranslation toTranslation(String configScopeId, FileTreeMatcher.Result match) {
     LOG.debug("Matched paths for config scope '{}':\n  * idePrefix={}\n  * serverPrefix={}", configScopeId, match.idePrefix(), match.sqPrefix());
     return new FilePathTranslation(match.idePrefix(), match.sqPrefix());
   }
 
+  /**
+   * Only recompute the translation if the added or removed files changed the best match
+   */
+  @EventListener
+  public void onFileSystemUpdated(FileSystemUpdatedEvent event) {
+    var removedByConfigScope = event.getRemoved().stream().collect(groupingBy(ClientFile::getConfigScopeId));
+    var addedOrUpdatedByConfigScope = event.getAddedOrUpdated().stream().collect(groupingBy(ClientFile::getConfigScopeId));
+    Stream.concat(removedByConfigScope.keySet().stream(), addedOrUpdatedByConfigScope.keySet().stream()).distinct().forEach(configScopeId -> {
+      var boundMatcher = matchersByConfigScope.get(configScopeId);
+      if (boundMatcher == null) {
+        // not computed yet, the files will be taken into account at that time
+        return;
+      }
+      var matcher = boundMatcher.matcher;
+      boolean matchChanged;
+      synchronized (matcher) {
+        var previousMatch = matcher.currentMatch();
+        removedByConfigScope.getOrDefault(configScopeId, List.of()).forEach(file -> matcher.removeIdePath(file.getClientRelativePath()));
+        addedOrUpdatedByConfigScope.getOrDefault(configScopeId, List.of()).forEach(file -> matcher.addIdePath(file.getClientRelativePath()));
+        matchChanged = !previousMatch.equals(matcher.currentMatch());
+      }
+      if (matchChanged) {
+        LOG.debug("File system changes affect the paths translation for config scope '{}'", configScopeId);
+        cachedPathsTranslationByConfigScope.refreshAsync(configScopeId);
+      }
+    });
+  }
+
   @EventListener
   public void onConfigurationScopeRemoved(ConfigurationScopeRemovedEvent event) {
+    matchersByConfigScope.remove(event.getRemovedConfigurationScopeId());
     cachedPathsTranslationByConfigScope.refreshAsync(event.getRemovedConfigurationScopeId());
   }
 
   @EventListener
   public void onBindingChanged(BindingConfigChangedEvent event) {
     var configScopeId = event.getConfigScopeId();
+    matchersByConfigScope.remove(configScopeId);
     cachedPathsTranslationByConfigScope.refreshAsync(configScopeId);
   }
 
   @EventListener
   public void onBranchChanged(MatchedSonarProjectBranchChangedEvent event) {
     var configScopeId = event.getConfigurationScopeId();
+    matchersByConfigScope.remove(configScopeId);
     cachedPathsTranslationByConfigScope.refreshAsync(configScopeId);
   }
 
@@ -114,6 +164,16 @@ public class PathTranslationService {
     return Optional.ofNullable(cachedPathsTranslationByConfigScope.get(configurationScopeId));
   }
 
+  private static class BoundMatcher {
+    private final Binding binding;
+    private final IncrementalFileTreeMatcher matcher;
+
+    private BoundMatcher(Binding binding, IncrementalFileTreeMatcher matcher) {
+      this.binding = binding;
+      this.matcher = matcher;
+    }
+  }
+
   @PreDestroy
   public void shutdown() {
     cachedPathsTranslationByConfigScope.close();
@@ -29,18 +29,18 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import org.apache.commons.io.FileUtils;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,8 +56,10 @@ import static java.util.stream.Collectors.toList;
 public class ServerFilePathsProvider {
   private static final Logger LOG = LoggerFactory.getLogger(ServerFilePathsProvider.class);
 
+  // server paths are persisted across restarts, but refreshed from time to time to catch up with the new analyses
+  private static final Duration FILE_CACHE_MAX_AGE = Duration.ofDays(1);
+
   private final ServerApiProvider serverApiProvider;
-  private final Map<Binding, Path> cachedResponseFilePathByBinding = new HashMap<>();
   private final Path cacheDirectoryPath;
   private final Cache<Binding, List<Path>> temporaryInMemoryFilePathCacheByBinding;
 
@@ -69,20 +71,39 @@ public class ServerFilePathsProvider {
       .maximumSize(3)
       .build();
 
-    clearCachePath();
+    deleteStaleCacheFiles();
   }
 
-  private void clearCachePath() {
-    if (!cacheDirectoryPath.toFile().exists()) {
+  private void deleteStaleCacheFiles() {
+    if (!Files.isDirectory(cacheDirectoryPath)) {
       return;
     }
-    try {
-      FileUtils.deleteDirectory(cacheDirectoryPath.toFile());
+    try (Stream<Path> cacheFiles = Files.list(cacheDirectoryPath)) {
+      cacheFiles.filter(cacheFile -> !isFresh(cacheFile)).forEach(cacheFile -> {
+        try {
+          Files.deleteIfExists(cacheFile);
+        } catch (IOException e) {
+          LOG.debug("Error occurred while deleting a cache file", e);
+        }
+      });
     } catch (IOException e) {
       LOG.debug("Error occurred while deleting a cache file", e);
     }
   }
 
+  private static boolean isFresh(Path cacheFile) {
+    try {
+      return Files.isRegularFile(cacheFile)
+        && Files.getLastModifiedTime(cacheFile).toInstant().isAfter(Instant.now().minus(FILE_CACHE_MAX_AGE));
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private Path getCacheFilePath(Binding binding) {
+    return cacheDirectoryPath.resolve(DigestUtils.sha256Hex(binding.getConnectionId() + ":" + binding.getSonarProjectKey()));
+  }
+
   Optional<List<Path>> getServerPaths(Binding binding, SonarLintCancelMonitor cancelMonitor) {
     return getPathsFromInMemoryCache(binding)
       .or(() -> getPathsFromFileCache(binding))
@@ -94,8 +115,8 @@ public class ServerFilePathsProvider {
   }
 
   private Optional<List<Path>> getPathsFromFileCache(Binding binding) {
-    return Optional.ofNullable(cachedResponseFilePathByBinding.get(binding))
-      .filter(path -> path.toFile().exists())
+    return Optional.of(getCacheFilePath(binding))
+      .filter(ServerFilePathsProvider::isFresh)
       .map(path -> {
         List<Path> paths = readServerPathsFromFile(path);
         putToInMemoryCache(binding, paths);
@@ -142,12 +163,16 @@ public class ServerFilePathsProvider {
   }
 
   private void cacheServerPaths(Binding binding, List<Path> paths) {
-    var fileName = UUID.randomUUID().toString();
-    var filePath = cacheDirectoryPath.resolve(fileName);
+    var filePath = getCacheFilePath(binding);
     try {
       Files.createDirectories(cacheDirectoryPath);
-      writeToFile(filePath, paths);
-      cachedResponseFilePathByBinding.put(binding, filePath);
+      var tempFilePath = Files.createTempFile(cacheDirectoryPath, filePath.getFileName().toString(), ".tmp");
+      try {
+        writeToFile(tempFilePath, paths);
+        Files.move(tempFilePath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tempFilePath);
+      }
       putToInMemoryCache(binding, paths);
     } catch (IOException e) {
       LOG.debug("Error occurred while writing the cache file", e);
@@ -22,7 +22,6 @@ package org.sonarsource.sonarlint.core.fs;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import javax.annotation.Nullable;
 
@@ -69,13 +68,24 @@ public class ClientFile {
   @Nullable
   private String clientProvidedContent;
 
+  /**
+   * Keeps the content read from the disk, shared by all the files
+   */
+  private final ClientFileContentCache contentCache;
+
   public ClientFile(URI uri, String configScopeId, Path relativePath, @Nullable Boolean isTest, @Nullable Charset charset, @Nullable Path fsPath) {
+    this(uri, configScopeId, relativePath, isTest, charset, fsPath, ClientFileContentCache.DISABLED);
+  }
+
+  public ClientFile(URI uri, String configScopeId, Path relativePath, @Nullable Boolean isTest, @Nullable Charset charset, @Nullable Path fsPath,
+    ClientFileContentCache contentCache) {
     this.uri = uri;
     this.configScopeId = configScopeId;
     this.relativePath = relativePath;
     this.isTest = isTest;
     this.charset = charset;
     this.fsPath = fsPath;
+    this.contentCache = contentCache;
   }
 
   public Path getClientRelativePath() {
@@ -103,7 +113,7 @@ public class ClientFile {
     }
     var charsetToUse = charset != null ? charset : Charset.defaultCharset();
     try {
-      return Files.readString(fsPath, charsetToUse);
+      return contentCache.getContent(uri, fsPath, charsetToUse);
     } catch (IOException e) {
       throw new IllegalStateException("Unable to read file " + fsPath + "content with charset " + charsetToUse, e);
     }
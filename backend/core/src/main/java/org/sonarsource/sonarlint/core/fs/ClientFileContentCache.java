@@ -0,0 +1,124 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.fs;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the content of the files read from the disk, within a memory budget. Contents are stored as raw bytes, and decoded on each read.
+ * The least recently used contents are evicted first. A cached content is only used if the size and the modification time of the file
+ * did not change since it was read.
+ */
+public class ClientFileContentCache {
+  static final ClientFileContentCache DISABLED = new ClientFileContentCache(0);
+
+  private final long maxBytes;
+  private final Map<URI, CachedContent> contentsByUri = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  public ClientFileContentCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  String getContent(URI uri, Path fsPath, Charset charset) throws IOException {
+    var attributes = Files.readAttributes(fsPath, BasicFileAttributes.class);
+    var size = attributes.size();
+    var lastModified = attributes.lastModifiedTime().toMillis();
+    var cachedContent = get(uri);
+    byte[] bytes;
+    if (cachedContent != null && cachedContent.size == size && cachedContent.lastModified == lastModified) {
+      hitCount.increment();
+      bytes = cachedContent.bytes;
+    } else {
+      missCount.increment();
+      bytes = Files.readAllBytes(fsPath);
+      put(uri, new CachedContent(bytes, size, lastModified));
+    }
+    // same behavior as Files.readString, malformed input is reported
+    return charset.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+  }
+
+  private synchronized CachedContent get(URI uri) {
+    return contentsByUri.get(uri);
+  }
+
+  private synchronized void put(URI uri, CachedContent content) {
+    invalidate(uri);
+    if (maxBytes <= 0 || content.bytes.length > maxBytes) {
+      return;
+    }
+    contentsByUri.put(uri, content);
+    totalBytes += content.bytes.length;
+    var iterator = contentsByUri.values().iterator();
+    while (totalBytes > maxBytes) {
+      var eldest = iterator.next();
+      iterator.remove();
+      totalBytes -= eldest.bytes.length;
+      evictionCount.increment();
+    }
+  }
+
+  public synchronized void invalidate(URI uri) {
+    var removed = contentsByUri.remove(uri);
+    if (removed != null) {
+      totalBytes -= removed.bytes.length;
+    }
+  }
+
+  public synchronized long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  private static class CachedContent {
+    private final byte[] bytes;
+    private final long size;
+    private final long lastModified;
+
+    private CachedContent(byte[] bytes, long size, long lastModified) {
+      this.bytes = bytes;
+      this.size = size;
+      this.lastModified = lastModified;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.fs;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.CheckForNull;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Files of a configuration scope, indexed by URI and file name.
+ * Indexes are maintained on each update, so that lookups don't have to go through all the files of the scope.
+ * Writers are serialized, readers never block but may observe an update in progress.
+ */
+class ClientFileIndex {
+  private final Map<URI, ClientFile> filesByUri = new ConcurrentHashMap<>();
+  private final Map<String, Map<URI, ClientFile>> filesByName = new ConcurrentHashMap<>();
+
+  @CheckForNull
+  ClientFile get(URI uri) {
+    return filesByUri.get(uri);
+  }
+
+  /**
+   * @return a read-only live view of the files, not a copy
+   */
+  Collection<ClientFile> getFiles() {
+    return Collections.unmodifiableCollection(filesByUri.values());
+  }
+
+  Collection<URI> getUris() {
+    return Collections.unmodifiableCollection(filesByUri.keySet());
+  }
+
+  List<ClientFile> findByNames(Collection<String> fileNames) {
+    return fileNames.stream()
+      .distinct()
+      .flatMap(fileName -> filesByName.getOrDefault(fileName, Map.of()).values().stream())
+      .collect(toList());
+  }
+
+  synchronized void put(ClientFile file) {
+    remove(file.getUri());
+    filesByUri.put(file.getUri(), file);
+    filesByName.computeIfAbsent(file.getFileName(), k -> new ConcurrentHashMap<>()).put(file.getUri(), file);
+  }
+
+  @CheckForNull
+  synchronized ClientFile remove(URI uri) {
+    var file = filesByUri.remove(uri);
+    if (file != null) {
+      removeFromIndex(filesByName, file.getFileName(), uri);
+    }
+    return file;
+  }
+
+  private static void removeFromIndex(Map<String, Map<URI, ClientFile>> index, String indexKey, URI uri) {
+    index.computeIfPresent(indexKey, (k, files) -> {
+      files.remove(uri);
+      return files.isEmpty() ? null : files;
+    });
+  }
+}
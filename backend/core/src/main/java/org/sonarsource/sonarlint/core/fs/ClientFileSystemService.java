@@ -22,6 +22,7 @@ package org.sonarsource.sonarlint.core.fs;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -41,8 +42,6 @@ import org.sonarsource.sonarlint.core.rpc.protocol.common.ClientFileDto;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 
-import static java.util.stream.Collectors.toList;
-
 @Named
 @Singleton
 public class ClientFileSystemService {
@@ -52,8 +51,10 @@ public class ClientFileSystemService {
   private final SonarLintRpcClient rpcClient;
   private final ApplicationEventPublisher eventPublisher;
   private final Map<URI, ClientFile> filesByUri = new ConcurrentHashMap<>();
+  private final ClientFileContentCache contentCache =
+    new ClientFileContentCache(Long.parseLong(System.getProperty("sonarlint.internal.fs.contentCache.maxBytes", String.valueOf(32L * 1024 * 1024))));
 
-  private final SmartCancelableLoadingCache<String, Map<URI, ClientFile>> filesByConfigScopeIdCache =
+  private final SmartCancelableLoadingCache<String, ClientFileIndex> filesByConfigScopeIdCache =
     new SmartCancelableLoadingCache<>("sonarlint-filesystem", this::initializeFileSystem);
 
   public ClientFileSystemService(SonarLintRpcClient rpcClient, ApplicationEventPublisher eventPublisher) {
@@ -61,17 +62,22 @@ public class ClientFileSystemService {
     this.eventPublisher = eventPublisher;
   }
 
-  public List<ClientFile> getFiles(String configScopeId) {
-    return List.copyOf(filesByConfigScopeIdCache.get(configScopeId).values());
+  /**
+   * @return a read-only live view of the files of the configuration scope. It is not copied, so it is cheap to get even on large scopes,
+   * but it reflects the concurrent updates of the file system.
+   */
+  public Collection<ClientFile> getFiles(String configScopeId) {
+    return filesByConfigScopeIdCache.get(configScopeId).getFiles();
   }
 
-  private static ClientFile fromDto(ClientFileDto clientFileDto) {
+  private ClientFile fromDto(ClientFileDto clientFileDto) {
     var charset = charsetFromDto(clientFileDto.getCharset());
     var file = new ClientFile(clientFileDto.getUri(), clientFileDto.getConfigScopeId(),
       clientFileDto.getIdeRelativePath(),
       clientFileDto.isTest(),
       charset,
-      clientFileDto.getFsPath());
+      clientFileDto.getFsPath(),
+      contentCache);
     if (clientFileDto.getContent() != null) {
       file.setDirty(clientFileDto.getContent());
     }
@@ -91,19 +97,17 @@ public class ClientFileSystemService {
   }
 
   public List<ClientFile> findFileByNamesInScope(String configScopeId, List<String> filenames) {
-    return getFiles(configScopeId).stream()
-      .filter(f -> filenames.contains(f.getClientRelativePath().getFileName().toString()))
-      .collect(toList());
+    return filesByConfigScopeIdCache.get(configScopeId).findByNames(filenames);
   }
 
-  public Map<URI, ClientFile> initializeFileSystem(String configScopeId, SonarLintCancelMonitor cancelMonitor) {
-    var result = new ConcurrentHashMap<URI, ClientFile>();
+  private ClientFileIndex initializeFileSystem(String configScopeId, SonarLintCancelMonitor cancelMonitor) {
+    var result = new ClientFileIndex();
     var future = rpcClient.listFiles(new ListFilesParams(configScopeId));
     cancelMonitor.onCancel(() -> future.cancel(true));
     future.join().getFiles().forEach(clientFileDto -> {
       var clientFile = fromDto(clientFileDto);
       filesByUri.put(clientFileDto.getUri(), clientFile);
-      result.put(clientFileDto.getUri(), clientFile);
+      result.put(clientFile);
     });
     return result;
   }
@@ -111,6 +115,7 @@ public class ClientFileSystemService {
   public void didUpdateFileSystem(DidUpdateFileSystemParams params) {
     var removed = new ArrayList<ClientFile>();
     params.getRemovedFiles().forEach(uri -> {
+      contentCache.invalidate(uri);
       var clientFile = filesByUri.remove(uri);
       if (clientFile != null) {
         filesByConfigScopeIdCache.get(clientFile.getConfigScopeId()).remove(uri);
@@ -119,10 +124,11 @@ public class ClientFileSystemService {
     });
     var addedOrUpdated = new ArrayList<ClientFile>();
     params.getAddedOrChangedFiles().forEach(clientFileDto -> {
+      contentCache.invalidate(clientFileDto.getUri());
       var clientFile = fromDto(clientFileDto);
       filesByUri.put(clientFileDto.getUri(), clientFile);
       var byScope = filesByConfigScopeIdCache.get(clientFileDto.getConfigScopeId());
-      byScope.put(clientFileDto.getUri(), clientFile);
+      byScope.put(clientFile);
       addedOrUpdated.add(clientFile);
     });
     eventPublisher.publishEvent(new FileSystemUpdatedEvent(removed, addedOrUpdated));
@@ -130,16 +136,20 @@ public class ClientFileSystemService {
 
   @EventListener
   public void onConfigurationScopeRemoved(ConfigurationScopeRemovedEvent event) {
-    var removedFilesByURI = filesByConfigScopeIdCache.get(event.getRemovedConfigurationScopeId());
+    var removedFiles = filesByConfigScopeIdCache.get(event.getRemovedConfigurationScopeId());
     filesByConfigScopeIdCache.clear(event.getRemovedConfigurationScopeId());
-    if (removedFilesByURI != null) {
-      removedFilesByURI.keySet().forEach(filesByUri::remove);
+    if (removedFiles != null) {
+      removedFiles.getUris().forEach(uri -> {
+        filesByUri.remove(uri);
+        contentCache.invalidate(uri);
+      });
     }
   }
 
   @PreDestroy
   public void shutdown() {
     filesByConfigScopeIdCache.close();
+    LOG.debug("File content cache: {} hits, {} misses, {} evictions", contentCache.getHitCount(), contentCache.getMissCount(), contentCache.getEvictionCount());
   }
 
   /**
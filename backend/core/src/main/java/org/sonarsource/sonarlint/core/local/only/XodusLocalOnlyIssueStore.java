@@ -22,7 +22,6 @@ package org.sonarsource.sonarlint.core.local.only;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -38,7 +37,6 @@ import jetbrains.exodus.entitystore.PersistentEntityStores;
 import jetbrains.exodus.entitystore.StoreTransaction;
 import jetbrains.exodus.env.EnvironmentConfig;
 import jetbrains.exodus.env.Environments;
-import jetbrains.exodus.util.CompressBackupUtil;
 import org.apache.commons.io.FileUtils;
 import org.sonarsource.sonarlint.core.commons.IssueStatus;
 import org.sonarsource.sonarlint.core.commons.LineWithHash;
@@ -47,8 +45,8 @@ import org.sonarsource.sonarlint.core.commons.LocalOnlyIssueResolution;
 import org.sonarsource.sonarlint.core.commons.api.TextRangeWithHash;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
 import org.sonarsource.sonarlint.core.serverconnection.storage.InstantBinding;
-import org.sonarsource.sonarlint.core.serverconnection.storage.TarGzUtils;
 import org.sonarsource.sonarlint.core.serverconnection.storage.UuidBinding;
+import org.sonarsource.sonarlint.core.serverconnection.storage.XodusBackupUtils;
 
 import static java.util.Objects.requireNonNull;
 
@@ -75,20 +73,25 @@ public class XodusLocalOnlyIssueStore {
   private static final String END_LINE_OFFSET_PROPERTY_NAME = "endLineOffset";
   private static final String MESSAGE_BLOB_NAME = "message";
   private static final String BACKUP_TAR_GZ = "local_only_issue_backup.tar.gz";
+  private static final String BACKUP_DIR = "local_only_issue_backup";
   private final PersistentEntityStore entityStore;
   private final Path backupFile;
+  private final Path backupDir;
   private final Path xodusDbDir;
   private static final SonarLintLogger LOG = SonarLintLogger.get();
 
   public XodusLocalOnlyIssueStore(Path backupDir, Path workDir) throws IOException {
     xodusDbDir = Files.createTempDirectory(workDir, "xodus-local-only-issue-store");
     backupFile = backupDir.resolve(BACKUP_TAR_GZ);
-    if (Files.isRegularFile(backupFile)) {
-      LOG.debug("Restoring previous local-only issue database from {}", backupFile);
+    this.backupDir = backupDir.resolve(BACKUP_DIR);
+    if (Files.isDirectory(this.backupDir) || Files.isRegularFile(backupFile)) {
+      LOG.debug("Restoring previous local-only issue database from {}", backupDir);
       try {
-        TarGzUtils.extractTarGz(backupFile, xodusDbDir);
+        XodusBackupUtils.restore(this.backupDir, backupFile, xodusDbDir);
       } catch (Exception e) {
-        LOG.error("Unable to restore local-only issue backup {}", backupFile);
+        LOG.error("Unable to restore local-only issue backup {}", backupDir);
+        FileUtils.deleteQuietly(xodusDbDir.toFile());
+        Files.createDirectories(xodusDbDir);
       }
     }
     LOG.debug("Starting local-only issue database from {}", xodusDbDir);
@@ -303,10 +306,9 @@ public class XodusLocalOnlyIssueStore {
   }
 
   public void backup() {
-    LOG.debug("Creating backup of local-only issue database in {}", backupFile);
+    LOG.debug("Creating backup of local-only issue database in {}", backupDir);
     try {
-      var backupTmp = CompressBackupUtil.backup(entityStore, backupFile.getParent().toFile(), "local_only_issue_backup", false);
-      Files.move(backupTmp.toPath(), backupFile, StandardCopyOption.ATOMIC_MOVE);
+      XodusBackupUtils.backup(entityStore, backupDir, backupFile);
     } catch (Exception e) {
       LOG.error("Unable to backup local-only issue database", e);
     }
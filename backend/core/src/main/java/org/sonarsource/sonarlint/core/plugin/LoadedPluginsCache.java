@@ -0,0 +1,196 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.plugin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
+import org.sonarsource.sonarlint.core.plugin.commons.LoadedPlugins;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Shares the loaded plugins between the connections (and the standalone mode) using byte-identical plugin jars with the same configuration,
+ * so that their classloaders and plugin instances are only loaded once.
+ * Each user acquires the plugins, and releases them once it does not need them anymore. Plugins are closed when their last user releases them.
+ */
+@Named
+@Singleton
+public class LoadedPluginsCache {
+  private static final SonarLintLogger LOG = SonarLintLogger.get();
+
+  private final Map<Key, SharedPlugins> sharedPluginsByKey = new HashMap<>();
+  private final Map<LoadedPlugins, SharedPlugins> sharedPluginsByInstance = new IdentityHashMap<>();
+  private final Map<Path, JarHash> jarHashesByPath = new ConcurrentHashMap<>();
+
+  /**
+   * Plugins are loaded outside of the cache lock, so that loading plugins for some jars does not block users of other jars.
+   * Concurrent users of the same jars wait for a single load.
+   */
+  public LoadedPlugins acquire(Set<Path> pluginPaths, Set<SonarLanguage> enabledLanguages, boolean enableDataflowBugDetection, Supplier<LoadedPlugins> loader) {
+    var key = new Key(getJarHashes(pluginPaths), Set.copyOf(enabledLanguages), enableDataflowBugDetection);
+    SharedPlugins sharedPlugins;
+    boolean shouldLoad;
+    synchronized (this) {
+      sharedPlugins = sharedPluginsByKey.get(key);
+      shouldLoad = sharedPlugins == null;
+      if (shouldLoad) {
+        sharedPlugins = new SharedPlugins(key);
+        sharedPluginsByKey.put(key, sharedPlugins);
+      }
+      sharedPlugins.usersCount++;
+    }
+    if (shouldLoad) {
+      load(sharedPlugins, loader);
+    } else {
+      LOG.debug("Reusing plugins already loaded from identical jars");
+    }
+    try {
+      return sharedPlugins.loadedPlugins.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private void load(SharedPlugins sharedPlugins, Supplier<LoadedPlugins> loader) {
+    try {
+      var loadedPlugins = loader.get();
+      synchronized (this) {
+        sharedPluginsByInstance.put(loadedPlugins, sharedPlugins);
+      }
+      sharedPlugins.loadedPlugins.complete(loadedPlugins);
+    } catch (RuntimeException | Error e) {
+      synchronized (this) {
+        // the next users will try again
+        sharedPluginsByKey.remove(sharedPlugins.key, sharedPlugins);
+      }
+      sharedPlugins.loadedPlugins.completeExceptionally(e);
+    }
+  }
+
+  public synchronized void release(LoadedPlugins loadedPlugins) throws IOException {
+    var sharedPlugins = sharedPluginsByInstance.get(loadedPlugins);
+    if (sharedPlugins == null) {
+      // not acquired from this cache
+      loadedPlugins.close();
+      return;
+    }
+    sharedPlugins.usersCount--;
+    if (sharedPlugins.usersCount == 0) {
+      sharedPluginsByKey.remove(sharedPlugins.key, sharedPlugins);
+      sharedPluginsByInstance.remove(loadedPlugins);
+      loadedPlugins.close();
+    }
+  }
+
+  /**
+   * Hashes of the content of the given plugin jars. Hashes are only recomputed when the size or the modification time of a jar changes.
+   */
+  public Set<String> getJarHashes(Collection<Path> pluginPaths) {
+    return pluginPaths.stream().map(this::hash).collect(toSet());
+  }
+
+  private String hash(Path pluginPath) {
+    try {
+      var size = Files.size(pluginPath);
+      var lastModified = Files.getLastModifiedTime(pluginPath).toMillis();
+      var jarHash = jarHashesByPath.get(pluginPath);
+      if (jarHash == null || jarHash.size != size || jarHash.lastModified != lastModified) {
+        try (var jar = Files.newInputStream(pluginPath)) {
+          jarHash = new JarHash(size, lastModified, DigestUtils.md5Hex(jar));
+        }
+        jarHashesByPath.put(pluginPath, jarHash);
+      }
+      return jarHash.hash;
+    } catch (IOException e) {
+      LOG.debug("Unable to compute the hash of plugin {}, it will not be shared", pluginPath);
+      return pluginPath.toAbsolutePath().toString();
+    }
+  }
+
+  private static class JarHash {
+    private final long size;
+    private final long lastModified;
+    private final String hash;
+
+    private JarHash(long size, long lastModified, String hash) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.hash = hash;
+    }
+  }
+
+  private static class SharedPlugins {
+    private final Key key;
+    private final CompletableFuture<LoadedPlugins> loadedPlugins = new CompletableFuture<>();
+    private int usersCount;
+
+    private SharedPlugins(Key key) {
+      this.key = key;
+    }
+  }
+
+  private static class Key {
+    private final Set<String> jarHashes;
+    private final Set<SonarLanguage> enabledLanguages;
+    private final boolean enableDataflowBugDetection;
+
+    private Key(Set<String> jarHashes, Set<SonarLanguage> enabledLanguages, boolean enableDataflowBugDetection) {
+      this.jarHashes = jarHashes;
+      this.enabledLanguages = enabledLanguages;
+      this.enableDataflowBugDetection = enableDataflowBugDetection;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      var key = (Key) o;
+      return enableDataflowBugDetection == key.enableDataflowBugDetection && jarHashes.equals(key.jarHashes) && enabledLanguages.equals(key.enabledLanguages);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(jarHashes, enabledLanguages, enableDataflowBugDetection);
+    }
+  }
+}
@@ -20,10 +20,10 @@
 package org.sonarsource.sonarlint.core.plugin;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.CheckForNull;
 import javax.annotation.PreDestroy;
 import javax.inject.Named;
@@ -36,15 +36,26 @@ import static org.sonarsource.sonarlint.core.commons.IOExceptionUtils.tryAndColl
 @Named
 @Singleton
 public class PluginsRepository {
+  private final LoadedPluginsCache loadedPluginsCache;
   private LoadedPlugins loadedEmbeddedPlugins;
-  private final Map<String, LoadedPlugins> loadedPluginsByConnectionId = new HashMap<>();
+  private final Map<String, LoadedPlugins> loadedPluginsByConnectionId = new ConcurrentHashMap<>();
 
-  public void setLoadedEmbeddedPlugins(LoadedPlugins loadedEmbeddedPlugins) {
-    this.loadedEmbeddedPlugins = loadedEmbeddedPlugins;
+  public PluginsRepository(LoadedPluginsCache loadedPluginsCache) {
+    this.loadedPluginsCache = loadedPluginsCache;
+  }
+
+  /**
+   * Returns the embedded plugins already set, if any, or sets the given ones.
+   */
+  public synchronized LoadedPlugins setLoadedEmbeddedPluginsIfAbsent(LoadedPlugins loadedEmbeddedPlugins) {
+    if (this.loadedEmbeddedPlugins == null) {
+      this.loadedEmbeddedPlugins = loadedEmbeddedPlugins;
+    }
+    return this.loadedEmbeddedPlugins;
   }
 
   @CheckForNull
-  public LoadedPlugins getLoadedEmbeddedPlugins() {
+  public synchronized LoadedPlugins getLoadedEmbeddedPlugins() {
     return loadedEmbeddedPlugins;
   }
 
@@ -53,19 +64,26 @@ public class PluginsRepository {
     return loadedPluginsByConnectionId.get(connectionId);
   }
 
-  public void setLoadedPlugins(String connectionId, LoadedPlugins loadedPlugins) {
-    loadedPluginsByConnectionId.put(connectionId, loadedPlugins);
+  /**
+   * Returns the plugins already set for the connection, if any, or sets the given ones.
+   */
+  public LoadedPlugins setLoadedPluginsIfAbsent(String connectionId, LoadedPlugins loadedPlugins) {
+    var existingPlugins = loadedPluginsByConnectionId.putIfAbsent(connectionId, loadedPlugins);
+    return existingPlugins == null ? loadedPlugins : existingPlugins;
   }
 
   @PreDestroy
   public void unloadAllPlugins() throws IOException {
     Queue<IOException> exceptions = new LinkedList<>();
-    if (loadedEmbeddedPlugins != null) {
-      tryAndCollectIOException(loadedEmbeddedPlugins::close, exceptions);
-      loadedEmbeddedPlugins = null;
+    synchronized (this) {
+      if (loadedEmbeddedPlugins != null) {
+        var embeddedPlugins = loadedEmbeddedPlugins;
+        tryAndCollectIOException(() -> loadedPluginsCache.release(embeddedPlugins), exceptions);
+        loadedEmbeddedPlugins = null;
+      }
     }
     synchronized (loadedPluginsByConnectionId) {
-      loadedPluginsByConnectionId.values().forEach(l -> tryAndCollectIOException(l::close, exceptions));
+      loadedPluginsByConnectionId.values().forEach(l -> tryAndCollectIOException(() -> loadedPluginsCache.release(l), exceptions));
       loadedPluginsByConnectionId.clear();
     }
     throwFirstWithOtherSuppressed(exceptions);
@@ -75,7 +93,7 @@ public class PluginsRepository {
     var loadedPlugins = loadedPluginsByConnectionId.remove(connectionId);
     if (loadedPlugins != null) {
       try {
-        loadedPlugins.close();
+        loadedPluginsCache.release(loadedPlugins);
       } catch (IOException e) {
         throw new IllegalStateException("Unable to unload plugins", e);
       }
@@ -19,6 +19,7 @@
  */
 package org.sonarsource.sonarlint.core.plugin;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
@@ -32,7 +33,6 @@ import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
 import org.sonarsource.sonarlint.core.event.ConnectionConfigurationRemovedEvent;
 import org.sonarsource.sonarlint.core.languages.LanguageSupportRepository;
 import org.sonarsource.sonarlint.core.plugin.commons.LoadedPlugins;
-import org.sonarsource.sonarlint.core.plugin.commons.PluginsLoadResult;
 import org.sonarsource.sonarlint.core.plugin.commons.PluginsLoader;
 import org.sonarsource.sonarlint.core.repository.connection.ConnectionConfigurationRepository;
 import org.sonarsource.sonarlint.core.rpc.protocol.backend.initialize.InitializeParams;
@@ -46,6 +46,7 @@ import static org.sonarsource.sonarlint.core.serverconnection.PluginsSynchronize
 public class PluginsService {
   private final SonarLintLogger logger = SonarLintLogger.get();
   private final PluginsRepository pluginsRepository;
+  private final LoadedPluginsCache loadedPluginsCache;
   private final LanguageSupportRepository languageSupportRepository;
   private final StorageService storageService;
   private final Set<Path> embeddedPluginPaths;
@@ -53,9 +54,10 @@ public class PluginsService {
   private final ConnectionConfigurationRepository connectionConfigurationRepository;
   private final boolean enableDataflowBugDetection;
 
-  public PluginsService(PluginsRepository pluginsRepository, LanguageSupportRepository languageSupportRepository, StorageService storageService, InitializeParams params,
-    ConnectionConfigurationRepository connectionConfigurationRepository) {
+  public PluginsService(PluginsRepository pluginsRepository, LoadedPluginsCache loadedPluginsCache, LanguageSupportRepository languageSupportRepository,
+    StorageService storageService, InitializeParams params, ConnectionConfigurationRepository connectionConfigurationRepository) {
     this.pluginsRepository = pluginsRepository;
+    this.loadedPluginsCache = loadedPluginsCache;
     this.languageSupportRepository = languageSupportRepository;
     this.storageService = storageService;
     this.embeddedPluginPaths = params.getEmbeddedPluginPaths();
@@ -67,9 +69,8 @@ public class PluginsService {
   public LoadedPlugins getEmbeddedPlugins() {
     var loadedEmbeddedPlugins = pluginsRepository.getLoadedEmbeddedPlugins();
     if (loadedEmbeddedPlugins == null) {
-      var result = loadPlugins(languageSupportRepository.getEnabledLanguagesInStandaloneMode(), embeddedPluginPaths, enableDataflowBugDetection);
-      loadedEmbeddedPlugins = result.getLoadedPlugins();
-      pluginsRepository.setLoadedEmbeddedPlugins(loadedEmbeddedPlugins);
+      var newlyLoadedPlugins = loadPlugins(languageSupportRepository.getEnabledLanguagesInStandaloneMode(), embeddedPluginPaths);
+      loadedEmbeddedPlugins = keepFirstLoaded(pluginsRepository.setLoadedEmbeddedPluginsIfAbsent(newlyLoadedPlugins), newlyLoadedPlugins);
     }
     return loadedEmbeddedPlugins;
   }
@@ -77,17 +78,28 @@ public class PluginsService {
   public LoadedPlugins getPlugins(String connectionId) {
     var loadedPlugins = pluginsRepository.getLoadedPlugins(connectionId);
     if (loadedPlugins == null) {
-      var result = loadPlugins(connectionId);
-      loadedPlugins = result.getLoadedPlugins();
-      pluginsRepository.setLoadedPlugins(connectionId, loadedPlugins);
+      var newlyLoadedPlugins = loadPlugins(connectionId);
+      loadedPlugins = keepFirstLoaded(pluginsRepository.setLoadedPluginsIfAbsent(connectionId, newlyLoadedPlugins), newlyLoadedPlugins);
     }
     return loadedPlugins;
   }
 
-  private PluginsLoadResult loadPlugins(String connectionId) {
+  // when concurrent calls loaded the same plugins, only the first one is kept, the others release their use of the shared plugins
+  private LoadedPlugins keepFirstLoaded(LoadedPlugins keptPlugins, LoadedPlugins newlyLoadedPlugins) {
+    if (keptPlugins != newlyLoadedPlugins) {
+      try {
+        loadedPluginsCache.release(newlyLoadedPlugins);
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to unload plugins", e);
+      }
+    }
+    return keptPlugins;
+  }
+
+  private LoadedPlugins loadPlugins(String connectionId) {
     var pluginPaths = getPluginPathsForConnection(connectionId);
 
-    return loadPlugins(languageSupportRepository.getEnabledLanguagesInConnectedMode(), pluginPaths, enableDataflowBugDetection);
+    return loadPlugins(languageSupportRepository.getEnabledLanguagesInConnectedMode(), pluginPaths);
   }
 
   private Set<Path> getPluginPathsForConnection(String connectionId) {
@@ -122,10 +134,13 @@ public class PluginsService {
       .orElse(false);
   }
 
-  private static PluginsLoadResult loadPlugins(Set<SonarLanguage> enabledLanguages, Set<Path> pluginPaths, boolean enableDataflowBugDetection) {
-    // not interested in the Node.js path at the moment
-    var config = new PluginsLoader.Configuration(pluginPaths, enabledLanguages, enableDataflowBugDetection);
-    return new PluginsLoader().load(config);
+  private LoadedPlugins loadPlugins(Set<SonarLanguage> enabledLanguages, Set<Path> pluginPaths) {
+    // identical plugins are shared with the other connections and the standalone mode
+    return loadedPluginsCache.acquire(pluginPaths, enabledLanguages, enableDataflowBugDetection, () -> {
+      // not interested in the Node.js path at the moment
+      var config = new PluginsLoader.Configuration(pluginPaths, enabledLanguages, enableDataflowBugDetection);
+      return new PluginsLoader().load(config).getLoadedPlugins();
+    });
   }
 
   @EventListener
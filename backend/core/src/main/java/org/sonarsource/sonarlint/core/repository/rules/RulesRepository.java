@@ -23,7 +23,10 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
@@ -32,6 +35,10 @@ import org.sonarsource.sonarlint.core.rule.extractor.SonarLintRuleDefinition;
 import org.sonarsource.sonarlint.core.rules.RulesExtractionHelper;
 import org.springframework.context.event.EventListener;
 
+/**
+ * Rules are lazily extracted the first time they are needed, separately for the standalone mode and for each connection,
+ * so that a slow extraction does not block the lookups of the other connections.
+ */
 @Named
 @Singleton
 public class RulesRepository {
@@ -39,60 +46,32 @@ public class RulesRepository {
   private final SonarLintLogger logger = SonarLintLogger.get();
 
   private final RulesExtractionHelper extractionHelper;
-  private Map<String, SonarLintRuleDefinition> embeddedRulesByKey;
-  private final Map<String, Map<String, SonarLintRuleDefinition>> rulesByKeyByConnectionId = new HashMap<>();
-  private final Map<String, Map<String, String>> ruleKeyReplacementsByConnectionId = new HashMap<>();
+  private final LazyRules embeddedRules;
+  private final Map<String, LazyRules> rulesByConnectionId = new ConcurrentHashMap<>();
 
   public RulesRepository(RulesExtractionHelper extractionHelper) {
     this.extractionHelper = extractionHelper;
+    this.embeddedRules = new LazyRules(extractionHelper::extractEmbeddedRules);
   }
 
   public Collection<SonarLintRuleDefinition> getEmbeddedRules() {
-    lazyInit();
-    return embeddedRulesByKey.values();
+    return embeddedRules.get().rulesByKey.values();
   }
 
   public Optional<SonarLintRuleDefinition> getEmbeddedRule(String ruleKey) {
-    lazyInit();
-    return Optional.ofNullable(embeddedRulesByKey.get(ruleKey));
-  }
-
-  private synchronized void lazyInit() {
-    if (embeddedRulesByKey == null) {
-      this.embeddedRulesByKey = byKey(extractionHelper.extractEmbeddedRules());
-    }
+    return Optional.ofNullable(embeddedRules.get().rulesByKey.get(ruleKey));
   }
 
   public Collection<SonarLintRuleDefinition> getRules(String connectionId) {
-    lazyInit(connectionId);
-    return rulesByKeyByConnectionId.getOrDefault(connectionId, Map.of()).values();
+    return connectionRules(connectionId).rulesByKey.values();
   }
 
   public Optional<SonarLintRuleDefinition> getRule(String connectionId, String ruleKey) {
-    lazyInit(connectionId);
-    var connectionRules = rulesByKeyByConnectionId.get(connectionId);
-    return Optional.ofNullable(connectionRules.get(ruleKey))
-      .or(() -> Optional.ofNullable(connectionRules.get(ruleKeyReplacementsByConnectionId.get(connectionId).get(ruleKey))));
-  }
-
-  private synchronized void lazyInit(String connectionId) {
-    var rulesByKey = rulesByKeyByConnectionId.get(connectionId);
-    if (rulesByKey == null) {
-      setRules(connectionId, extractionHelper.extractRulesForConnection(connectionId));
-    }
+    return Optional.ofNullable(connectionRules(connectionId).rulesByKeyOrDeprecatedKey.get(ruleKey));
   }
 
-  private void setRules(String connectionId, Collection<SonarLintRuleDefinition> rules) {
-    var rulesByKey = byKey(rules);
-    var ruleKeyReplacements = new HashMap<String, String>();
-    rules.forEach(rule -> rule.getDeprecatedKeys().forEach(deprecatedKey -> ruleKeyReplacements.put(deprecatedKey, rule.getKey())));
-    rulesByKeyByConnectionId.put(connectionId, rulesByKey);
-    ruleKeyReplacementsByConnectionId.put(connectionId, ruleKeyReplacements);
-  }
-
-  private static Map<String, SonarLintRuleDefinition> byKey(Collection<SonarLintRuleDefinition> rules) {
-    return rules.stream()
-      .collect(Collectors.toMap(SonarLintRuleDefinition::getKey, r -> r));
+  private Rules connectionRules(String connectionId) {
+    return rulesByConnectionId.computeIfAbsent(connectionId, id -> new LazyRules(() -> extractionHelper.extractRulesForConnection(id))).get();
   }
 
   @EventListener
@@ -102,7 +81,47 @@ public class RulesRepository {
 
   private void evictAll(String connectionId) {
     logger.debug("Evict cached rules definitions for connection '{}'", connectionId);
-    rulesByKeyByConnectionId.remove(connectionId);
-    ruleKeyReplacementsByConnectionId.remove(connectionId);
+    rulesByConnectionId.remove(connectionId);
+  }
+
+  private static class Rules {
+    private final Map<String, SonarLintRuleDefinition> rulesByKey;
+    // deprecated keys are resolved in a single lookup, the current keys take precedence
+    private final Map<String, SonarLintRuleDefinition> rulesByKeyOrDeprecatedKey;
+
+    private Rules(Collection<SonarLintRuleDefinition> rules) {
+      this.rulesByKey = rules.stream().collect(Collectors.toUnmodifiableMap(SonarLintRuleDefinition::getKey, r -> r));
+      var index = new HashMap<String, SonarLintRuleDefinition>();
+      rules.forEach(rule -> rule.getDeprecatedKeys().forEach(deprecatedKey -> index.put(deprecatedKey, rule)));
+      index.putAll(rulesByKey);
+      this.rulesByKeyOrDeprecatedKey = Map.copyOf(index);
+    }
+  }
+
+  /**
+   * Extracts the rules on first access. Only the callers interested in the same rules wait for the extraction.
+   */
+  private static class LazyRules {
+    private final Supplier<Collection<SonarLintRuleDefinition>> extractor;
+    @CheckForNull
+    private volatile Rules rules;
+
+    private LazyRules(Supplier<Collection<SonarLintRuleDefinition>> extractor) {
+      this.extractor = extractor;
+    }
+
+    private Rules get() {
+      var result = rules;
+      if (result == null) {
+        synchronized (this) {
+          result = rules;
+          if (result == null) {
+            result = new Rules(extractor.get());
+            rules = result;
+          }
+        }
+      }
+      return result;
+    }
   }
 }
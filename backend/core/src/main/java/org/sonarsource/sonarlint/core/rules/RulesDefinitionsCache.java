@@ -0,0 +1,236 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.rules;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.sonarsource.sonarlint.core.commons.CleanCodeAttribute;
+import org.sonarsource.sonarlint.core.commons.ImpactSeverity;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+import org.sonarsource.sonarlint.core.commons.SonarLintCoreVersion;
+import org.sonarsource.sonarlint.core.commons.SoftwareQuality;
+import org.sonarsource.sonarlint.core.commons.VulnerabilityProbability;
+import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
+import org.sonarsource.sonarlint.core.plugin.LoadedPluginsCache;
+import org.sonarsource.sonarlint.core.rule.extractor.SonarLintRuleDefinition;
+import org.sonarsource.sonarlint.core.rule.extractor.SonarLintRuleDescriptionSection;
+import org.sonarsource.sonarlint.core.rule.extractor.SonarLintRuleParamDefinition;
+import org.sonarsource.sonarlint.core.rule.extractor.SonarLintRuleParamType;
+import org.sonarsource.sonarlint.core.serverconnection.proto.Sonarlint;
+import org.sonarsource.sonarlint.core.serverconnection.storage.ProtobufFileUtil;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Persists the rule definitions extracted from a set of plugins in the work directory, so that the plugins don't have to be instantiated
+ * again to know their rules the next time the same plugin jars are used with the same configuration.
+ */
+@Named
+@Singleton
+public class RulesDefinitionsCache {
+  private static final SonarLintLogger LOG = SonarLintLogger.get();
+  // to be incremented when the content of the cache changes
+  private static final int FORMAT_VERSION = 1;
+  private static final Duration UNUSED_ENTRIES_RETENTION = Duration.ofDays(30);
+  private static final String CACHE_FILE_EXTENSION = ".pb";
+
+  private final Path cacheDir;
+  private final LoadedPluginsCache loadedPluginsCache;
+
+  public RulesDefinitionsCache(@Named("workDir") Path workDir, LoadedPluginsCache loadedPluginsCache) {
+    this.cacheDir = workDir.resolve("rules");
+    this.loadedPluginsCache = loadedPluginsCache;
+  }
+
+  public List<SonarLintRuleDefinition> getOrExtract(Collection<Path> pluginPaths, Set<SonarLanguage> enabledLanguages, boolean enableDataflowBugDetection,
+    boolean includeTemplateRules, boolean includeSecurityHotspots, Supplier<List<SonarLintRuleDefinition>> extractor) {
+    var cacheFile = cacheDir.resolve(computeKey(pluginPaths, enabledLanguages, enableDataflowBugDetection, includeTemplateRules, includeSecurityHotspots) + CACHE_FILE_EXTENSION);
+    var cachedRules = read(cacheFile);
+    if (cachedRules.isPresent()) {
+      return cachedRules.get();
+    }
+    var rules = extractor.get();
+    write(cacheFile, rules);
+    return rules;
+  }
+
+  private String computeKey(Collection<Path> pluginPaths, Set<SonarLanguage> enabledLanguages, boolean enableDataflowBugDetection, boolean includeTemplateRules,
+    boolean includeSecurityHotspots) {
+    var key = String.join("|",
+      String.valueOf(FORMAT_VERSION),
+      SonarLintCoreVersion.get(),
+      loadedPluginsCache.getJarHashes(pluginPaths).stream().sorted().collect(joining(",")),
+      enabledLanguages.stream().map(SonarLanguage::getSonarLanguageKey).sorted().collect(joining(",")),
+      String.valueOf(enableDataflowBugDetection),
+      String.valueOf(includeTemplateRules),
+      String.valueOf(includeSecurityHotspots));
+    return DigestUtils.sha256Hex(key);
+  }
+
+  private static Optional<List<SonarLintRuleDefinition>> read(Path cacheFile) {
+    if (!Files.isRegularFile(cacheFile)) {
+      return Optional.empty();
+    }
+    try {
+      var rules = ProtobufFileUtil.readFile(cacheFile, Sonarlint.RuleDefinitions.parser()).getRuleList().stream()
+        .map(RulesDefinitionsCache::adapt)
+        .collect(toList());
+      // keep track of the last use to know which entries are stale
+      Files.setLastModifiedTime(cacheFile, FileTime.from(Instant.now()));
+      LOG.debug("Loaded {} rules definitions from cache", rules.size());
+      return Optional.of(rules);
+    } catch (Exception e) {
+      LOG.debug("Unable to read the rules definitions cache {}", cacheFile, e);
+      return Optional.empty();
+    }
+  }
+
+  private void write(Path cacheFile, List<SonarLintRuleDefinition> rules) {
+    try {
+      Files.createDirectories(cacheDir);
+      var tempFile = Files.createTempFile(cacheDir, cacheFile.getFileName().toString(), ".tmp");
+      try {
+        ProtobufFileUtil.writeToFile(Sonarlint.RuleDefinitions.newBuilder().addAllRule(rules.stream().map(RulesDefinitionsCache::adapt).collect(toList())).build(),
+          tempFile);
+        Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+      deleteUnusedEntries(cacheFile);
+    } catch (Exception e) {
+      LOG.debug("Unable to write the rules definitions cache {}", cacheFile, e);
+    }
+  }
+
+  private void deleteUnusedEntries(Path currentCacheFile) throws IOException {
+    var oldestAllowed = Instant.now().minus(UNUSED_ENTRIES_RETENTION);
+    try (Stream<Path> files = Files.list(cacheDir)) {
+      files
+        .filter(file -> !file.equals(currentCacheFile) && file.getFileName().toString().endsWith(CACHE_FILE_EXTENSION))
+        .forEach(file -> {
+          try {
+            if (Files.getLastModifiedTime(file).toInstant().isBefore(oldestAllowed)) {
+              Files.delete(file);
+            }
+          } catch (IOException e) {
+            LOG.debug("Unable to delete unused rules definitions cache {}", file, e);
+          }
+        });
+    }
+  }
+
+  private static Sonarlint.RuleDefinitions.RuleDefinition adapt(SonarLintRuleDefinition rule) {
+    var builder = Sonarlint.RuleDefinitions.RuleDefinition.newBuilder()
+      .setKey(rule.getKey())
+      .setName(rule.getName())
+      .setDefaultSeverity(rule.getDefaultSeverity().name())
+      .setType(rule.getType().name())
+      .setActiveByDefault(rule.isActiveByDefault())
+      .setLanguageKey(rule.getLanguage().getSonarLanguageKey())
+      .addAllTag(List.of(rule.getTags()))
+      .addAllDeprecatedKey(rule.getDeprecatedKeys())
+      .addAllEducationPrincipleKey(rule.getEducationPrincipleKeys());
+    rule.getCleanCodeAttribute().ifPresent(attribute -> builder.setCleanCodeAttribute(attribute.name()));
+    rule.getDefaultImpacts().forEach((quality, severity) -> builder.putDefaultImpacts(quality.name(), severity.name()));
+    Optional.ofNullable(rule.getHtmlDescription()).ifPresent(builder::setHtmlDescription);
+    rule.getDescriptionSections().forEach(section -> builder.addDescriptionSection(adapt(section)));
+    rule.getParams().values().forEach(param -> builder.addParam(adapt(param)));
+    rule.getInternalKey().ifPresent(builder::setInternalKey);
+    rule.getVulnerabilityProbability().ifPresent(probability -> builder.setVulnerabilityProbability(probability.name()));
+    return builder.build();
+  }
+
+  private static Sonarlint.RuleDefinitions.DescriptionSection adapt(SonarLintRuleDescriptionSection section) {
+    var builder = Sonarlint.RuleDefinitions.DescriptionSection.newBuilder()
+      .setKey(section.getKey())
+      .setHtmlContent(section.getHtmlContent());
+    section.getContext().ifPresent(context -> builder.setContext(Sonarlint.RuleDefinitions.DescriptionSection.Context.newBuilder()
+      .setKey(context.getKey())
+      .setDisplayName(context.getDisplayName())));
+    return builder.build();
+  }
+
+  private static Sonarlint.RuleDefinitions.Param adapt(SonarLintRuleParamDefinition param) {
+    var builder = Sonarlint.RuleDefinitions.Param.newBuilder()
+      .setKey(param.key())
+      .setName(param.name())
+      .setType(param.type().name())
+      .setMultiple(param.multiple())
+      .addAllPossibleValue(param.possibleValues());
+    Optional.ofNullable(param.description()).ifPresent(builder::setDescription);
+    Optional.ofNullable(param.defaultValue()).ifPresent(builder::setDefaultValue);
+    return builder.build();
+  }
+
+  private static SonarLintRuleDefinition adapt(Sonarlint.RuleDefinitions.RuleDefinition rule) {
+    var defaultImpacts = new EnumMap<SoftwareQuality, ImpactSeverity>(SoftwareQuality.class);
+    rule.getDefaultImpactsMap().forEach((quality, severity) -> defaultImpacts.put(SoftwareQuality.valueOf(quality), ImpactSeverity.valueOf(severity)));
+    var params = new LinkedHashMap<String, SonarLintRuleParamDefinition>();
+    rule.getParamList().forEach(param -> params.put(param.getKey(), adapt(param)));
+    var language = SonarLanguage.forKey(rule.getLanguageKey()).orElseThrow(() -> new IllegalStateException("Unknown language with key: " + rule.getLanguageKey()));
+    return new SonarLintRuleDefinition(
+      rule.getKey(),
+      rule.getName(),
+      IssueSeverity.valueOf(rule.getDefaultSeverity()),
+      RuleType.valueOf(rule.getType()),
+      rule.hasCleanCodeAttribute() ? CleanCodeAttribute.valueOf(rule.getCleanCodeAttribute()) : null,
+      defaultImpacts,
+      rule.hasHtmlDescription() ? rule.getHtmlDescription() : null,
+      rule.getDescriptionSectionList().stream().map(RulesDefinitionsCache::adapt).collect(toList()),
+      params,
+      rule.getActiveByDefault(),
+      language,
+      rule.getTagList().toArray(new String[0]),
+      Set.copyOf(rule.getDeprecatedKeyList()),
+      Set.copyOf(rule.getEducationPrincipleKeyList()),
+      rule.hasInternalKey() ? Optional.of(rule.getInternalKey()) : Optional.empty(),
+      rule.hasVulnerabilityProbability() ? Optional.of(VulnerabilityProbability.valueOf(rule.getVulnerabilityProbability())) : Optional.empty());
+  }
+
+  private static SonarLintRuleDescriptionSection adapt(Sonarlint.RuleDefinitions.DescriptionSection section) {
+    return new SonarLintRuleDescriptionSection(section.getKey(), section.getHtmlContent(), section.hasContext()
+      ? Optional.of(new SonarLintRuleDescriptionSection.Context(section.getContext().getKey(), section.getContext().getDisplayName()))
+      : Optional.empty());
+  }
+
+  private static SonarLintRuleParamDefinition adapt(Sonarlint.RuleDefinitions.Param param) {
+    return new SonarLintRuleParamDefinition(param.getKey(), param.getName(), param.hasDescription() ? param.getDescription() : null,
+      param.hasDefaultValue() ? param.getDefaultValue() : null, SonarLintRuleParamType.valueOf(param.getType()), param.getMultiple(), param.getPossibleValueList());
+  }
+}
@@ -38,24 +38,34 @@ public class RulesExtractionHelper {
   private final PluginsService pluginsService;
   private final LanguageSupportRepository languageSupportRepository;
   private final RulesDefinitionExtractor ruleExtractor = new RulesDefinitionExtractor();
+  private final RulesDefinitionsCache rulesDefinitionsCache;
   private final boolean enableSecurityHotspots;
+  private final boolean enableDataflowBugDetection;
 
-  public RulesExtractionHelper(PluginsService pluginsService, LanguageSupportRepository languageSupportRepository, InitializeParams params) {
+  public RulesExtractionHelper(PluginsService pluginsService, LanguageSupportRepository languageSupportRepository, RulesDefinitionsCache rulesDefinitionsCache,
+    InitializeParams params) {
     this.pluginsService = pluginsService;
     this.languageSupportRepository = languageSupportRepository;
+    this.rulesDefinitionsCache = rulesDefinitionsCache;
     this.enableSecurityHotspots = params.getFeatureFlags().isEnableSecurityHotspots();
+    this.enableDataflowBugDetection = params.getFeatureFlags().isEnableDataflowBugDetection();
   }
 
   public List<SonarLintRuleDefinition> extractEmbeddedRules() {
-    logger.debug("Extracting standalone rules metadata");
-    return ruleExtractor.extractRules(pluginsService.getEmbeddedPlugins().getPluginInstancesByKeys(), languageSupportRepository.getEnabledLanguagesInStandaloneMode(), false,
-      false);
+    var enabledLanguages = languageSupportRepository.getEnabledLanguagesInStandaloneMode();
+    return rulesDefinitionsCache.getOrExtract(pluginsService.getEmbeddedPluginPaths(), enabledLanguages, enableDataflowBugDetection, false, false, () -> {
+      logger.debug("Extracting standalone rules metadata");
+      return ruleExtractor.extractRules(pluginsService.getEmbeddedPlugins().getPluginInstancesByKeys(), enabledLanguages, false, false);
+    });
   }
 
   public List<SonarLintRuleDefinition> extractRulesForConnection(String connectionId) {
-    logger.debug("Extracting rules metadata for connection '{}'", connectionId);
-    return ruleExtractor.extractRules(pluginsService.getPlugins(connectionId).getPluginInstancesByKeys(), languageSupportRepository.getEnabledLanguagesInConnectedMode(), true,
-      enableSecurityHotspots);
+    var enabledLanguages = languageSupportRepository.getEnabledLanguagesInConnectedMode();
+    return rulesDefinitionsCache.getOrExtract(pluginsService.getConnectedPluginPaths(connectionId), enabledLanguages, enableDataflowBugDetection, true, enableSecurityHotspots,
+      () -> {
+        logger.debug("Extracting rules metadata for connection '{}'", connectionId);
+        return ruleExtractor.extractRules(pluginsService.getPlugins(connectionId).getPluginInstancesByKeys(), enabledLanguages, true, enableSecurityHotspots);
+      });
   }
 
 }
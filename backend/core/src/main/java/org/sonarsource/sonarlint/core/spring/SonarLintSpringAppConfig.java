@@ -70,6 +70,7 @@ import org.sonarsource.sonarlint.core.issue.IssueService;
 import org.sonarsource.sonarlint.core.languages.LanguageSupportRepository;
 import org.sonarsource.sonarlint.core.local.only.LocalOnlyIssueStorageService;
 import org.sonarsource.sonarlint.core.newcode.NewCodeService;
+import org.sonarsource.sonarlint.core.plugin.LoadedPluginsCache;
 import org.sonarsource.sonarlint.core.plugin.PluginsRepository;
 import org.sonarsource.sonarlint.core.plugin.PluginsService;
 import org.sonarsource.sonarlint.core.repository.config.ConfigurationRepository;
@@ -78,6 +79,7 @@ import org.sonarsource.sonarlint.core.repository.rules.RulesRepository;
 import org.sonarsource.sonarlint.core.rpc.protocol.backend.initialize.HttpConfigurationDto;
 import org.sonarsource.sonarlint.core.rpc.protocol.backend.initialize.InitializeParams;
 import org.sonarsource.sonarlint.core.rpc.protocol.backend.initialize.SslConfigurationDto;
+import org.sonarsource.sonarlint.core.rules.RulesDefinitionsCache;
 import org.sonarsource.sonarlint.core.rules.RulesExtractionHelper;
 import org.sonarsource.sonarlint.core.rules.RulesService;
 import org.sonarsource.sonarlint.core.server.event.ServerEventsService;
@@ -119,8 +121,10 @@ import static org.sonarsource.sonarlint.core.http.ssl.CertificateStore.DEFAULT_S
   ConnectionConfigurationRepository.class,
   RulesRepository.class,
   RulesExtractionHelper.class,
+  RulesDefinitionsCache.class,
   PluginsService.class,
   PluginsRepository.class,
+  LoadedPluginsCache.class,
   LanguageSupportRepository.class,
   ConnectionService.class,
   TokenGeneratorHelper.class,
@@ -0,0 +1,112 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.sync;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
+import org.sonarsource.sonarlint.core.commons.progress.SonarLintCancelMonitor;
+
+/**
+ * Runs synchronization tasks concurrently, with at most <code>maxInFlightPerConnection</code> tasks being executed for the same connection at any time,
+ * so that a server is not flooded with requests. Tasks exceeding the limit wait in a queue of their connection.
+ */
+class SynchronizationScheduler {
+  private static final SonarLintLogger LOG = SonarLintLogger.get();
+  private static final long AWAIT_CANCELLATION_CHECK_PERIOD_MS = 200;
+
+  private final int maxInFlightPerConnection;
+  private final Map<String, ThreadPoolExecutor> executorsByConnectionId = new ConcurrentHashMap<>();
+  private final AtomicInteger threadCount = new AtomicInteger();
+
+  SynchronizationScheduler(int maxInFlightPerConnection) {
+    if (maxInFlightPerConnection < 1) {
+      LOG.warn("Invalid synchronization parallelism per connection: {}, using 1", maxInFlightPerConnection);
+    }
+    this.maxInFlightPerConnection = Math.max(1, maxInFlightPerConnection);
+  }
+
+  CompletableFuture<Void> submit(String connectionId, Runnable task, SonarLintCancelMonitor cancelMonitor) {
+    var loggerTarget = SonarLintLogger.getTargetForCopy();
+    return CompletableFuture.runAsync(() -> {
+      SonarLintLogger.setTarget(loggerTarget);
+      cancelMonitor.checkCanceled();
+      task.run();
+    }, executorsByConnectionId.computeIfAbsent(connectionId, this::createExecutor));
+  }
+
+  private ThreadPoolExecutor createExecutor(String connectionId) {
+    var executor = new ThreadPoolExecutor(maxInFlightPerConnection, maxInFlightPerConnection, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+      r -> new Thread(r, "SonarLint Project Synchronizer " + threadCount.incrementAndGet()));
+    // idle connections should not keep threads alive
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Waits for all the tasks to end, even if some failed, then reports the first failure.
+   * Stops waiting when the monitor is canceled or the calling thread is interrupted, e.g. on shutdown.
+   */
+  static void awaitAll(List<CompletableFuture<Void>> tasks, SonarLintCancelMonitor cancelMonitor) {
+    var allTasks = CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new));
+    try {
+      while (!isDone(allTasks)) {
+        cancelMonitor.checkCanceled();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for the synchronization tasks");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new CompletionException(e.getCause());
+    }
+  }
+
+  private static boolean isDone(CompletableFuture<Void> future) throws InterruptedException, ExecutionException {
+    try {
+      future.get(AWAIT_CANCELLATION_CHECK_PERIOD_MS, TimeUnit.MILLISECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      return false;
+    }
+  }
+
+  void shutdown() {
+    executorsByConnectionId.values().forEach(executor -> {
+      if (!MoreExecutors.shutdownAndAwaitTermination(executor, 5, TimeUnit.SECONDS)) {
+        LOG.warn("Unable to stop project synchronizer executor service in a timely manner");
+      }
+    });
+    executorsByConnectionId.clear();
+  }
+}
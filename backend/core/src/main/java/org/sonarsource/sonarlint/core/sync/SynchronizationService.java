@@ -24,15 +24,16 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Named;
@@ -50,7 +51,6 @@ import org.sonarsource.sonarlint.core.event.ConfigurationScopeRemovedEvent;
 import org.sonarsource.sonarlint.core.event.ConfigurationScopesAddedEvent;
 import org.sonarsource.sonarlint.core.event.ConnectionCredentialsChangedEvent;
 import org.sonarsource.sonarlint.core.languages.LanguageSupportRepository;
-import org.sonarsource.sonarlint.core.progress.ProgressNotifier;
 import org.sonarsource.sonarlint.core.progress.TaskManager;
 import org.sonarsource.sonarlint.core.repository.config.ConfigurationRepository;
 import org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcClient;
@@ -94,6 +94,8 @@ public class SynchronizationService {
   private final ExecutorServiceShutdownWatchable<ScheduledExecutorService> scheduledSynchronizer = new ExecutorServiceShutdownWatchable<>(
     Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "SonarLint Local Storage Synchronizer")));
   private final Set<String> ignoreBranchEventForScopes = ConcurrentHashMap.newKeySet();
+  private final SynchronizationScheduler synchronizationScheduler = new SynchronizationScheduler(
+    Integer.getInteger("sonarlint.internal.synchronization.connection.parallelism", 4));
 
   public SynchronizationService(SonarLintRpcClient client, ConfigurationRepository configurationRepository, LanguageSupportRepository languageSupportRepository,
     ServerApiProvider serverApiProvider, StorageService storageService, InitializeParams params, TaintSynchronizationService taintSynchronizationService,
@@ -148,16 +150,22 @@ public class SynchronizationService {
       return;
     }
     taskManager.startTask(null, "Synchronizing projects...", null, false, false, progressNotifier -> {
-      var connectionsCount = boundScopeByConnectionAndSonarProject.keySet().size();
-      var progressGap = 100f / connectionsCount;
-      var progress = 0f;
-      var synchronizedConfScopeIds = new HashSet<String>();
-      for (var entry : boundScopeByConnectionAndSonarProject.entrySet()) {
-        var connectionId = entry.getKey();
-        progressNotifier.notify("Synchronizing with '" + connectionId + "'...", Math.round(progress));
-        synchronizeProjectsOfTheSameConnection(connectionId, entry.getValue(), progressNotifier, synchronizedConfScopeIds, progress, progressGap, cancelMonitor);
-        progress += progressGap;
-      }
+      var projectsCount = boundScopeByConnectionAndSonarProject.values().stream().mapToInt(Map::size).sum();
+      var synchronizedProjectsCount = new AtomicInteger();
+      Set<String> synchronizedConfScopeIds = ConcurrentHashMap.newKeySet();
+      var projectSynchronizations = new ArrayList<CompletableFuture<Void>>();
+      boundScopeByConnectionAndSonarProject.forEach((connectionId, boundScopeBySonarProject) -> {
+        if (serverApiProvider.getServerApi(connectionId).isEmpty()) {
+          return;
+        }
+        boundScopeBySonarProject.forEach((sonarProjectKey, boundScopes) -> projectSynchronizations.add(
+          synchronizeProjectAsync(connectionId, sonarProjectKey, cancelMonitor).thenRun(() -> {
+            synchronizedConfScopeIds.addAll(boundScopes.stream().map(BoundScope::getConfigScopeId).collect(toSet()));
+            var progress = 100f * synchronizedProjectsCount.incrementAndGet() / projectsCount;
+            progressNotifier.notify("Synchronized project '" + sonarProjectKey + "' with '" + connectionId + "'", Math.round(progress));
+          })));
+      });
+      SynchronizationScheduler.awaitAll(projectSynchronizations, cancelMonitor);
       if (!synchronizedConfScopeIds.isEmpty()) {
         applicationEventPublisher.publishEvent(new ConfigurationScopesSynchronizedEvent(synchronizedConfScopeIds));
         client.didSynchronizeConfigurationScopes(new DidSynchronizeConfigurationScopeParams(synchronizedConfScopeIds));
@@ -165,25 +173,13 @@ public class SynchronizationService {
     });
   }
 
-  private void synchronizeProjectsOfTheSameConnection(String connectionId, Map<String, Collection<BoundScope>> boundScopeBySonarProject, ProgressNotifier notifier,
-    Set<String> synchronizedConfScopeIds,
-    float progress, float progressGap, SonarLintCancelMonitor cancelMonitor) {
-    if (boundScopeBySonarProject.isEmpty()) {
-      return;
-    }
-    serverApiProvider.getServerApi(connectionId).ifPresent(serverApi -> {
-      var subProgressGap = progressGap / boundScopeBySonarProject.size();
-      var subProgress = progress;
-      for (var entry : boundScopeBySonarProject.entrySet()) {
-        var sonarProjectKey = entry.getKey();
-        notifier.notify("Synchronizing project '" + sonarProjectKey + "'...", Math.round(subProgress));
-        issueSynchronizationService.syncServerIssuesForProject(connectionId, sonarProjectKey, cancelMonitor);
-        taintSynchronizationService.synchronizeTaintVulnerabilities(connectionId, sonarProjectKey, cancelMonitor);
-        hotspotSynchronizationService.syncServerHotspotsForProject(connectionId, sonarProjectKey, cancelMonitor);
-        synchronizedConfScopeIds.addAll(entry.getValue().stream().map(BoundScope::getConfigScopeId).collect(toSet()));
-        subProgress += subProgressGap;
-      }
-    });
+  private CompletableFuture<Void> synchronizeProjectAsync(String connectionId, String sonarProjectKey, SonarLintCancelMonitor cancelMonitor) {
+    // the pulls of a project write to the same issue store, so only different projects are synchronized concurrently
+    return synchronizationScheduler.submit(connectionId, () -> {
+      issueSynchronizationService.syncServerIssuesForProject(connectionId, sonarProjectKey, cancelMonitor);
+      taintSynchronizationService.synchronizeTaintVulnerabilities(connectionId, sonarProjectKey, cancelMonitor);
+      hotspotSynchronizationService.syncServerHotspotsForProject(connectionId, sonarProjectKey, cancelMonitor);
+    }, cancelMonitor);
   }
 
   @NotNull
@@ -346,5 +342,6 @@ public class SynchronizationService {
     if (!MoreExecutors.shutdownAndAwaitTermination(scheduledSynchronizer, 5, TimeUnit.SECONDS)) {
       LOG.warn("Unable to stop synchronizer executor service in a timely manner");
     }
+    synchronizationScheduler.shutdown();
   }
 }
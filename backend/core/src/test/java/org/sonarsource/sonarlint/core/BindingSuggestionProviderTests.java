@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -85,6 +86,12 @@ class BindingSuggestionProviderTests {
     logTester.clear();
   }
 
+  @AfterEach
+  void tearDown() {
+    // wait for the pending computations, so that they don't log during the next test
+    underTest.shutdown();
+  }
+
   @Test
   void trigger_suggest_binding_if_config_flag_turned_on() {
     when(connectionRepository.getConnectionsById()).thenReturn(Map.of(SQ_1_ID, SQ_1));
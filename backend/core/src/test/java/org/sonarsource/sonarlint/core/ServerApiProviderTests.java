@@ -20,10 +20,14 @@
 package org.sonarsource.sonarlint.core;
 
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.event.ConnectionConfigurationRemovedEvent;
 import org.sonarsource.sonarlint.core.http.ConnectionAwareHttpClientProvider;
 import org.sonarsource.sonarlint.core.http.HttpClient;
 import org.sonarsource.sonarlint.core.http.HttpClientProvider;
@@ -34,6 +38,7 @@ import org.sonarsource.sonarlint.core.serverapi.EndpointParams;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.sonarsource.sonarlint.core.serverconnection.storage.ProjectStoragePaths.encodeForFs;
 
 class ServerApiProviderTests {
   @RegisterExtension
@@ -42,7 +47,10 @@ class ServerApiProviderTests {
   private final ConnectionConfigurationRepository connectionRepository = mock(ConnectionConfigurationRepository.class);
   private final ConnectionAwareHttpClientProvider awareHttpClientProvider = mock(ConnectionAwareHttpClientProvider.class);
   private final HttpClientProvider httpClientProvider = mock(HttpClientProvider.class);
-  private final ServerApiProvider underTest = new ServerApiProvider(connectionRepository, awareHttpClientProvider, httpClientProvider, SonarCloudActiveEnvironment.prod());
+  @TempDir
+  private static Path storageRoot;
+  private final ServerApiProvider underTest = new ServerApiProvider(connectionRepository, awareHttpClientProvider, httpClientProvider, SonarCloudActiveEnvironment.prod(),
+    storageRoot);
 
   @Test
   void getServerApi_for_sonarqube() {
@@ -106,4 +114,15 @@ class ServerApiProviderTests {
 
     assertThat(serverApi).isEmpty();
   }
+
+  @Test
+  void should_delete_response_cache_when_connection_is_removed() throws Exception {
+    var cacheDir = storageRoot.resolve(encodeForFs("removed")).resolve("http_cache");
+    Files.createDirectories(cacheDir);
+    Files.writeString(cacheDir.resolve("entry.body"), "body");
+
+    underTest.connectionRemoved(new ConnectionConfigurationRemovedEvent("removed"));
+
+    assertThat(cacheDir).doesNotExist();
+  }
 }
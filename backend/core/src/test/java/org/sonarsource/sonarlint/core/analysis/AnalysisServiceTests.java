@@ -0,0 +1,164 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.analysis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.sonarsource.sonarlint.core.commons.Binding;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.RuleType;
+import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.event.ConnectionConfigurationRemovedEvent;
+import org.sonarsource.sonarlint.core.event.ConnectionConfigurationUpdatedEvent;
+import org.sonarsource.sonarlint.core.languages.LanguageSupportRepository;
+import org.sonarsource.sonarlint.core.plugin.PluginsService;
+import org.sonarsource.sonarlint.core.repository.config.ConfigurationRepository;
+import org.sonarsource.sonarlint.core.repository.connection.ConnectionConfigurationRepository;
+import org.sonarsource.sonarlint.core.repository.rules.RulesRepository;
+import org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcClient;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.initialize.FeatureFlagsDto;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.initialize.InitializeParams;
+import org.sonarsource.sonarlint.core.rule.extractor.SonarLintRuleDefinition;
+import org.sonarsource.sonarlint.core.rules.RulesService;
+import org.sonarsource.sonarlint.core.serverapi.rules.ServerActiveRule;
+import org.sonarsource.sonarlint.core.serverconnection.AnalyzerConfiguration;
+import org.sonarsource.sonarlint.core.serverconnection.AnalyzerConfigurationStorage;
+import org.sonarsource.sonarlint.core.serverconnection.RuleSet;
+import org.sonarsource.sonarlint.core.serverconnection.Settings;
+import org.sonarsource.sonarlint.core.storage.StorageService;
+import org.sonarsource.sonarlint.core.sync.AnalyzerConfigurationSynchronized;
+import org.sonarsource.sonarlint.core.sync.PluginsSynchronizedEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalysisServiceTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  private static final String CONNECTION_ID = "connectionId";
+  private static final String CONFIG_SCOPE_ID = "configScopeId";
+  private static final Binding BINDING = new Binding(CONNECTION_ID, "projectKey");
+
+  private final ConfigurationRepository configurationRepository = mock(ConfigurationRepository.class);
+  private final StorageService storageService = mock(StorageService.class, RETURNS_DEEP_STUBS);
+  private final RulesRepository rulesRepository = mock(RulesRepository.class);
+  private final AnalyzerConfigurationStorage analyzerConfigurationStorage = mock(AnalyzerConfigurationStorage.class);
+  private final SonarLintRuleDefinition ruleDefinition = mock(SonarLintRuleDefinition.class);
+  private AnalysisService underTest;
+
+  @BeforeEach
+  void prepare() {
+    var languageSupportRepository = mock(LanguageSupportRepository.class);
+    when(languageSupportRepository.getEnabledLanguagesInConnectedMode()).thenReturn(Set.of(SonarLanguage.JAVA));
+    var initializeParams = mock(InitializeParams.class);
+    when(initializeParams.getFeatureFlags()).thenReturn(mock(FeatureFlagsDto.class));
+    when(configurationRepository.getEffectiveBinding(CONFIG_SCOPE_ID)).thenReturn(Optional.of(BINDING));
+    when(storageService.binding(BINDING).analyzerConfiguration()).thenReturn(analyzerConfigurationStorage);
+    when(analyzerConfigurationStorage.read()).thenReturn(analyzerConfiguration());
+    when(ruleDefinition.getKey()).thenReturn("java:S1");
+    when(ruleDefinition.getType()).thenReturn(RuleType.CODE_SMELL);
+    when(ruleDefinition.getLanguage()).thenReturn(SonarLanguage.JAVA);
+    when(rulesRepository.getRule(CONNECTION_ID, "java:S1")).thenReturn(Optional.of(ruleDefinition));
+
+    underTest = new AnalysisService(mock(SonarLintRpcClient.class), configurationRepository, languageSupportRepository, storageService, mock(PluginsService.class),
+      mock(RulesService.class), rulesRepository, mock(ConnectionConfigurationRepository.class), initializeParams, mock(NodeJsService.class));
+  }
+
+  @Test
+  void it_should_reuse_active_rules_while_the_analyzer_configuration_is_unchanged() {
+    var activeRules = underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules();
+
+    assertThat(activeRules).extracting("ruleKey").containsExactly("java:S1");
+    assertThat(underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules()).isSameAs(activeRules);
+  }
+
+  @Test
+  void it_should_compute_active_rules_again_when_the_analyzer_configuration_changes() {
+    var activeRules = underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules();
+
+    when(analyzerConfigurationStorage.read()).thenReturn(analyzerConfiguration());
+
+    assertThat(underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules()).isNotSameAs(activeRules);
+  }
+
+  @Test
+  void it_should_evict_active_rules_when_plugins_are_synchronized() {
+    var activeRules = underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules();
+
+    underTest.onPluginsSynchronized(new PluginsSynchronizedEvent(CONNECTION_ID));
+
+    assertThat(underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules()).isNotSameAs(activeRules);
+  }
+
+  @Test
+  void it_should_evict_active_rules_when_the_connection_is_updated() {
+    var activeRules = underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules();
+
+    underTest.onConnectionUpdated(new ConnectionConfigurationUpdatedEvent(CONNECTION_ID));
+
+    assertThat(underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules()).isNotSameAs(activeRules);
+  }
+
+  @Test
+  void it_should_evict_active_rules_when_the_connection_is_removed() {
+    var activeRules = underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules();
+
+    underTest.onConnectionRemoved(new ConnectionConfigurationRemovedEvent(CONNECTION_ID));
+
+    assertThat(underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules()).isNotSameAs(activeRules);
+  }
+
+  @Test
+  void it_should_evict_active_rules_when_the_analyzer_configuration_is_synchronized() {
+    var activeRules = underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules();
+
+    underTest.onAnalyzerConfigurationSynchronized(new AnalyzerConfigurationSynchronized(Set.of(CONFIG_SCOPE_ID)));
+
+    assertThat(underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules()).isNotSameAs(activeRules);
+  }
+
+  @Test
+  void it_should_not_cache_active_rules_computed_before_an_eviction() {
+    when(rulesRepository.getRule(CONNECTION_ID, "java:S1")).thenAnswer(invocation -> {
+      // the plugins get synchronized while the active rules are being computed
+      underTest.onPluginsSynchronized(new PluginsSynchronizedEvent(CONNECTION_ID));
+      return Optional.of(ruleDefinition);
+    });
+    var activeRules = underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules();
+    when(rulesRepository.getRule(CONNECTION_ID, "java:S1")).thenReturn(Optional.of(ruleDefinition));
+
+    assertThat(underTest.getAnalysisConfig(CONFIG_SCOPE_ID).getActiveRules()).isNotSameAs(activeRules);
+  }
+
+  private static AnalyzerConfiguration analyzerConfiguration() {
+    var rule = new ServerActiveRule("java:S1", IssueSeverity.MAJOR, Map.of(), "");
+    return new AnalyzerConfiguration(new Settings(Map.of()), Map.of("java", new RuleSet(List.of(rule), "2024-01-01")),
+      AnalyzerConfiguration.CURRENT_SCHEMA_VERSION);
+  }
+}
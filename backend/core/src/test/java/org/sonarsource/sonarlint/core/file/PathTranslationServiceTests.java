@@ -19,8 +19,10 @@
  */
 package org.sonarsource.sonarlint.core.file;
 
+import java.net.URI;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +32,7 @@ import org.sonarsource.sonarlint.core.commons.progress.SonarLintCancelMonitor;
 import org.sonarsource.sonarlint.core.event.BindingConfigChangedEvent;
 import org.sonarsource.sonarlint.core.fs.ClientFile;
 import org.sonarsource.sonarlint.core.fs.ClientFileSystemService;
+import org.sonarsource.sonarlint.core.fs.FileSystemUpdatedEvent;
 import org.sonarsource.sonarlint.core.repository.config.ConfigurationRepository;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -121,6 +124,27 @@ class PathTranslationServiceTests {
       .isEqualTo(new FilePathTranslation(Paths.get(""), Paths.get("moduleB")));
   }
 
+  @Test
+  void shouldUpdatePathTranslationsOnFileSystemUpdates() {
+    mockServerFilePaths(BINDING, "moduleA/src/Foo.java", "moduleB/src/Bar.java", "moduleB/src/Baz.java");
+    mockClientFilePaths("src/Foo.java");
+    assertThat(underTest.getOrComputePathTranslation(CONFIG_SCOPE)).get()
+      .usingRecursiveComparison()
+      .isEqualTo(new FilePathTranslation(Paths.get(""), Paths.get("moduleA")));
+
+    underTest.onFileSystemUpdated(new FileSystemUpdatedEvent(List.of(aClientFile("src/Foo.java")), List.of(aClientFile("src/Bar.java"), aClientFile("src/Baz.java"))));
+
+    assertThat(underTest.getOrComputePathTranslation(CONFIG_SCOPE)).get()
+      .usingRecursiveComparison()
+      .isEqualTo(new FilePathTranslation(Paths.get(""), Paths.get("moduleB")));
+    verify(clientFs, times(1)).getFiles(any());
+    verify(serverFilePathsProvider, times(1)).getServerPaths(eq(BINDING), any(SonarLintCancelMonitor.class));
+  }
+
+  private static ClientFile aClientFile(String relativePath) {
+    return new ClientFile(URI.create("file:///" + relativePath), CONFIG_SCOPE, Paths.get(relativePath), false, null, null);
+  }
+
   private void mockClientFilePaths(String... paths) {
     doReturn(Arrays.stream(paths)
       .map(path -> new ClientFile(null, null, Paths.get(path), null, null, null))
@@ -27,7 +27,9 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
@@ -92,14 +94,39 @@ class ServerFilePathsProviderTest {
   }
 
   @Test
-  void clear_cache_directory_after_initialization(@TempDir Path storageDir) throws IOException {
+  void delete_stale_cache_files_after_initialization(@TempDir Path storageDir) throws IOException {
     cacheDirectory = storageDir.resolve("cache");
     Files.createDirectories(cacheDirectory);
-    assertThat(cacheDirectory.toFile()).exists();
+    var staleFile = Files.writeString(cacheDirectory.resolve("stale"), "path");
+    Files.setLastModifiedTime(staleFile, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+    var recentFile = Files.writeString(cacheDirectory.resolve("recent"), "path");
 
     new ServerFilePathsProvider(null, storageDir);
 
-    assertThat(cacheDirectory.toFile()).doesNotExist();
+    assertThat(staleFile).doesNotExist();
+    assertThat(recentFile).exists();
+  }
+
+  @Test
+  void fetch_from_file_written_by_a_previous_instance(@TempDir Path storageDir) {
+    new ServerFilePathsProvider(serverApiProvider, storageDir).getServerPaths(new Binding(CONNECTION_A, PROJECT_KEY), cancelMonitor);
+
+    var paths = new ServerFilePathsProvider(serverApiProvider, storageDir).getServerPaths(new Binding(CONNECTION_A, PROJECT_KEY), cancelMonitor);
+
+    assertThat(paths).hasValueSatisfying(p -> assertThat(p).extracting(Path::toString).containsExactly("pathA", "pathB"));
+    verify(componentApi_A, times(1)).getAllFileKeys(PROJECT_KEY, cancelMonitor);
+  }
+
+  @Test
+  void fetch_from_server_when_cache_file_is_stale() throws IOException {
+    underTest.getServerPaths(new Binding(CONNECTION_A, PROJECT_KEY), cancelMonitor);
+    File file = Objects.requireNonNull(cacheDirectory.toFile().listFiles())[0];
+    Files.setLastModifiedTime(file.toPath(), FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+    underTest.clearInMemoryCache();
+
+    underTest.getServerPaths(new Binding(CONNECTION_A, PROJECT_KEY), cancelMonitor);
+
+    verify(componentApi_A, times(2)).getAllFileKeys(PROJECT_KEY, cancelMonitor);
   }
 
   @Test
@@ -0,0 +1,136 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.fs;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientFileContentCacheTests {
+
+  @TempDir
+  Path baseDir;
+
+  @Test
+  void should_read_content_from_cache_when_file_did_not_change() throws IOException {
+    var underTest = new ClientFileContentCache(1000);
+    var file = aFile("Foo.java", "content");
+
+    assertThat(underTest.getContent(file.toUri(), file, StandardCharsets.UTF_8)).isEqualTo("content");
+    assertThat(underTest.getContent(file.toUri(), file, StandardCharsets.UTF_8)).isEqualTo("content");
+
+    assertThat(underTest.getMissCount()).isEqualTo(1);
+    assertThat(underTest.getHitCount()).isEqualTo(1);
+    assertThat(underTest.getTotalBytes()).isEqualTo(7);
+  }
+
+  @Test
+  void should_read_content_again_when_file_changed() throws IOException {
+    var underTest = new ClientFileContentCache(1000);
+    var file = aFile("Foo.java", "content");
+    underTest.getContent(file.toUri(), file, StandardCharsets.UTF_8);
+
+    Files.writeString(file, "new content");
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+
+    assertThat(underTest.getContent(file.toUri(), file, StandardCharsets.UTF_8)).isEqualTo("new content");
+    assertThat(underTest.getMissCount()).isEqualTo(2);
+    assertThat(underTest.getTotalBytes()).isEqualTo(11);
+  }
+
+  @Test
+  void should_read_content_again_when_invalidated() throws IOException {
+    var underTest = new ClientFileContentCache(1000);
+    var file = aFile("Foo.java", "content");
+    underTest.getContent(file.toUri(), file, StandardCharsets.UTF_8);
+
+    underTest.invalidate(file.toUri());
+
+    assertThat(underTest.getTotalBytes()).isZero();
+    assertThat(underTest.getContent(file.toUri(), file, StandardCharsets.UTF_8)).isEqualTo("content");
+    assertThat(underTest.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  void should_evict_least_recently_used_contents_above_budget() throws IOException {
+    var underTest = new ClientFileContentCache(10);
+    var foo = aFile("Foo.java", "12345");
+    var bar = aFile("Bar.java", "12345");
+    var baz = aFile("Baz.java", "12345");
+    underTest.getContent(foo.toUri(), foo, StandardCharsets.UTF_8);
+    underTest.getContent(bar.toUri(), bar, StandardCharsets.UTF_8);
+    // foo becomes the most recently used
+    underTest.getContent(foo.toUri(), foo, StandardCharsets.UTF_8);
+
+    underTest.getContent(baz.toUri(), baz, StandardCharsets.UTF_8);
+
+    assertThat(underTest.getEvictionCount()).isEqualTo(1);
+    assertThat(underTest.getTotalBytes()).isEqualTo(10);
+    underTest.getContent(foo.toUri(), foo, StandardCharsets.UTF_8);
+    assertThat(underTest.getHitCount()).isEqualTo(2);
+    underTest.getContent(bar.toUri(), bar, StandardCharsets.UTF_8);
+    assertThat(underTest.getMissCount()).isEqualTo(4);
+  }
+
+  @Test
+  void should_not_cache_contents_larger_than_budget() throws IOException {
+    var underTest = new ClientFileContentCache(3);
+    var file = aFile("Foo.java", "content");
+
+    assertThat(underTest.getContent(file.toUri(), file, StandardCharsets.UTF_8)).isEqualTo("content");
+
+    assertThat(underTest.getTotalBytes()).isZero();
+  }
+
+  @Test
+  void should_report_malformed_content() throws IOException {
+    var underTest = new ClientFileContentCache(1000);
+    var file = Files.write(baseDir.resolve("Foo.java"), new byte[] {(byte) 0xC3, (byte) 0x28});
+
+    var uri = file.toUri();
+    assertThatThrownBy(() -> underTest.getContent(uri, file, StandardCharsets.UTF_8)).isInstanceOf(MalformedInputException.class);
+  }
+
+  @Test
+  void should_use_cache_when_reading_client_file_content() throws IOException {
+    var underTest = new ClientFileContentCache(1000);
+    var path = aFile("Foo.java", "content");
+    var clientFile = new ClientFile(URI.create("file:///Foo.java"), "configScopeId", Path.of("Foo.java"), false, StandardCharsets.UTF_8, path, underTest);
+
+    assertThat(clientFile.getContent()).isEqualTo("content");
+    assertThat(clientFile.getContent()).isEqualTo("content");
+
+    assertThat(underTest.getHitCount()).isEqualTo(1);
+  }
+
+  private Path aFile(String name, String content) throws IOException {
+    return Files.writeString(baseDir.resolve(name), content);
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.fs;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientFileIndexTests {
+
+  private final ClientFileIndex underTest = new ClientFileIndex();
+
+  @Test
+  void should_find_files_by_name() {
+    var pom = aFile("module/pom.xml");
+    var properties = aFile("sonar-project.properties");
+    underTest.put(pom);
+    underTest.put(properties);
+    underTest.put(aFile("module/src/Foo.java"));
+
+    assertThat(underTest.findByNames(List.of("pom.xml", "sonar-project.properties", "unknown"))).containsExactlyInAnyOrder(pom, properties);
+  }
+
+  @Test
+  void should_update_indexes_when_file_is_replaced_or_removed() {
+    var uri = URI.create("file:///ws/src/Foo.java");
+    underTest.put(new ClientFile(uri, "configScopeId", Path.of("src/Foo.java"), false, null, null));
+    var renamed = new ClientFile(uri, "configScopeId", Path.of("test/Foo.kt"), false, null, null);
+    underTest.put(renamed);
+
+    assertThat(underTest.getFiles()).containsExactly(renamed);
+    assertThat(underTest.findByNames(List.of("Foo.java"))).isEmpty();
+    assertThat(underTest.findByNames(List.of("Foo.kt"))).containsExactly(renamed);
+
+    assertThat(underTest.remove(uri)).isSameAs(renamed);
+
+    assertThat(underTest.get(uri)).isNull();
+    assertThat(underTest.getFiles()).isEmpty();
+    assertThat(underTest.findByNames(List.of("Foo.kt"))).isEmpty();
+  }
+
+  @Test
+  void should_expose_a_live_view_of_the_files() {
+    var files = underTest.getFiles();
+    var foo = aFile("src/Foo.java");
+
+    underTest.put(foo);
+
+    assertThat(files).containsExactly(foo);
+  }
+
+  private static ClientFile aFile(String relativePath) {
+    return new ClientFile(URI.create("file:///ws/" + relativePath), "configScopeId", Path.of(relativePath), false, null, null);
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.plugin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.plugin.commons.LoadedPlugins;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class LoadedPluginsCacheTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  @TempDir
+  Path tempDir;
+
+  private final LoadedPluginsCache underTest = new LoadedPluginsCache();
+  private Path connection1Plugin;
+  private Path connection2Plugin;
+  private Path otherPlugin;
+
+  @BeforeEach
+  void prepare() throws IOException {
+    connection1Plugin = Files.writeString(Files.createDirectories(tempDir.resolve("connection1")).resolve("sonar-java-plugin.jar"), "java");
+    connection2Plugin = Files.writeString(Files.createDirectories(tempDir.resolve("connection2")).resolve("sonar-java-plugin.jar"), "java");
+    otherPlugin = Files.writeString(tempDir.resolve("sonar-java-plugin-other.jar"), "other java");
+  }
+
+  @Test
+  void it_should_share_plugins_loaded_from_identical_jars() throws IOException {
+    var loadedPlugins = mock(LoadedPlugins.class);
+
+    var plugins1 = underTest.acquire(Set.of(connection1Plugin), Set.of(SonarLanguage.JAVA), false, () -> loadedPlugins);
+    var plugins2 = underTest.acquire(Set.of(connection2Plugin), Set.of(SonarLanguage.JAVA), false, () -> mock(LoadedPlugins.class));
+
+    assertThat(plugins1).isSameAs(loadedPlugins);
+    assertThat(plugins2).isSameAs(loadedPlugins);
+
+    underTest.release(plugins1);
+    verify(loadedPlugins, never()).close();
+
+    underTest.release(plugins2);
+    verify(loadedPlugins).close();
+  }
+
+  @Test
+  void it_should_not_share_plugins_loaded_from_different_jars() {
+    var plugins1 = underTest.acquire(Set.of(connection1Plugin), Set.of(SonarLanguage.JAVA), false, () -> mock(LoadedPlugins.class));
+    var plugins2 = underTest.acquire(Set.of(otherPlugin), Set.of(SonarLanguage.JAVA), false, () -> mock(LoadedPlugins.class));
+
+    assertThat(plugins1).isNotSameAs(plugins2);
+  }
+
+  @Test
+  void it_should_not_share_plugins_loaded_with_a_different_configuration() {
+    var plugins1 = underTest.acquire(Set.of(connection1Plugin), Set.of(SonarLanguage.JAVA), false, () -> mock(LoadedPlugins.class));
+    var plugins2 = underTest.acquire(Set.of(connection2Plugin), Set.of(SonarLanguage.JAVA, SonarLanguage.PHP), false, () -> mock(LoadedPlugins.class));
+    var plugins3 = underTest.acquire(Set.of(connection2Plugin), Set.of(SonarLanguage.JAVA), true, () -> mock(LoadedPlugins.class));
+
+    assertThat(plugins1).isNotSameAs(plugins2).isNotSameAs(plugins3);
+    assertThat(plugins2).isNotSameAs(plugins3);
+  }
+
+  @Test
+  void it_should_reload_plugins_after_the_last_release() throws IOException {
+    var plugins1 = underTest.acquire(Set.of(connection1Plugin), Set.of(SonarLanguage.JAVA), false, () -> mock(LoadedPlugins.class));
+    underTest.release(plugins1);
+
+    var plugins2 = underTest.acquire(Set.of(connection1Plugin), Set.of(SonarLanguage.JAVA), false, () -> mock(LoadedPlugins.class));
+
+    assertThat(plugins2).isNotSameAs(plugins1);
+  }
+
+  @Test
+  void it_should_close_plugins_not_acquired_from_the_cache() throws IOException {
+    var loadedPlugins = mock(LoadedPlugins.class);
+
+    underTest.release(loadedPlugins);
+
+    verify(loadedPlugins).close();
+  }
+
+  @Test
+  @Timeout(10)
+  void it_should_not_block_other_jars_while_loading_plugins() throws Exception {
+    var loadingStarted = new CountDownLatch(1);
+    var canFinishLoading = new CountDownLatch(1);
+    var slowLoad = CompletableFuture.supplyAsync(() -> underTest.acquire(Set.of(connection1Plugin), Set.of(SonarLanguage.JAVA), false, () -> {
+      loadingStarted.countDown();
+      await(canFinishLoading);
+      return mock(LoadedPlugins.class);
+    }));
+    loadingStarted.await();
+
+    var otherPlugins = underTest.acquire(Set.of(otherPlugin), Set.of(SonarLanguage.JAVA), false, () -> mock(LoadedPlugins.class));
+    var jarHashes = underTest.getJarHashes(Set.of(connection1Plugin));
+
+    assertThat(otherPlugins).isNotNull();
+    assertThat(jarHashes).hasSize(1);
+    assertThat(slowLoad).isNotDone();
+    canFinishLoading.countDown();
+    assertThat(slowLoad.get()).isNotNull();
+  }
+
+  @Test
+  @Timeout(10)
+  void it_should_load_plugins_once_for_concurrent_users_of_identical_jars() throws Exception {
+    var loadingStarted = new CountDownLatch(1);
+    var canFinishLoading = new CountDownLatch(1);
+    var loadCount = new AtomicInteger();
+    var firstUser = CompletableFuture.supplyAsync(() -> underTest.acquire(Set.of(connection1Plugin), Set.of(SonarLanguage.JAVA), false, () -> {
+      loadCount.incrementAndGet();
+      loadingStarted.countDown();
+      await(canFinishLoading);
+      return mock(LoadedPlugins.class);
+    }));
+    loadingStarted.await();
+    var secondUser = CompletableFuture.supplyAsync(() -> underTest.acquire(Set.of(connection2Plugin), Set.of(SonarLanguage.JAVA), false, () -> {
+      loadCount.incrementAndGet();
+      return mock(LoadedPlugins.class);
+    }));
+
+    canFinishLoading.countDown();
+
+    assertThat(secondUser.get()).isSameAs(firstUser.get());
+    assertThat(loadCount).hasValue(1);
+  }
+
+  @Test
+  void it_should_load_plugins_again_after_a_failed_load() {
+    Supplier<LoadedPlugins> failingLoader = () -> {
+      throw new IllegalStateException("failure");
+    };
+    var pluginPaths = Set.of(connection1Plugin);
+    var enabledLanguages = Set.of(SonarLanguage.JAVA);
+
+    assertThatThrownBy(() -> underTest.acquire(pluginPaths, enabledLanguages, false, failingLoader)).isInstanceOf(IllegalStateException.class).hasMessage("failure");
+    var loadedPlugins = mock(LoadedPlugins.class);
+
+    assertThat(underTest.acquire(pluginPaths, enabledLanguages, false, () -> loadedPlugins)).isSameAs(loadedPlugins);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.repository.rules;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.sonar.api.rules.RuleType;
+import org.sonar.api.server.rule.RulesDefinition;
+import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.event.ConnectionConfigurationRemovedEvent;
+import org.sonarsource.sonarlint.core.rule.extractor.SonarLintRuleDefinition;
+import org.sonarsource.sonarlint.core.rules.RulesExtractionHelper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RulesRepositoryTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  private RulesExtractionHelper extractionHelper;
+  private RulesRepository underTest;
+
+  @BeforeEach
+  void prepare() {
+    extractionHelper = mock(RulesExtractionHelper.class);
+    underTest = new RulesRepository(extractionHelper);
+  }
+
+  @Test
+  void should_find_connection_rule_by_key_or_deprecated_key() {
+    when(extractionHelper.extractRulesForConnection("connectionId")).thenReturn(List.of(aRule("newKey", "oldKey")));
+
+    assertThat(underTest.getRule("connectionId", "repo:newKey")).get().extracting(SonarLintRuleDefinition::getKey).isEqualTo("repo:newKey");
+    assertThat(underTest.getRule("connectionId", "repo:oldKey")).get().extracting(SonarLintRuleDefinition::getKey).isEqualTo("repo:newKey");
+    assertThat(underTest.getRule("connectionId", "repo:unknownKey")).isEmpty();
+    assertThat(underTest.getRules("connectionId")).hasSize(1);
+    verify(extractionHelper, times(1)).extractRulesForConnection("connectionId");
+  }
+
+  @Test
+  void should_not_resolve_deprecated_keys_for_embedded_rules() {
+    when(extractionHelper.extractEmbeddedRules()).thenReturn(List.of(aRule("newKey", "oldKey")));
+
+    assertThat(underTest.getEmbeddedRule("repo:newKey")).isPresent();
+    assertThat(underTest.getEmbeddedRule("repo:oldKey")).isEmpty();
+    assertThat(underTest.getEmbeddedRules()).hasSize(1);
+    verify(extractionHelper, times(1)).extractEmbeddedRules();
+  }
+
+  @Test
+  void should_not_block_other_connections_during_an_extraction() throws Exception {
+    var extractionStarted = new CountDownLatch(1);
+    var releaseExtraction = new CountDownLatch(1);
+    when(extractionHelper.extractRulesForConnection("slowConnectionId")).thenAnswer(invocation -> {
+      extractionStarted.countDown();
+      releaseExtraction.await();
+      return List.of(aRule("slowKey", "slowOldKey"));
+    });
+    when(extractionHelper.extractRulesForConnection("connectionId")).thenReturn(List.of(aRule("newKey", "oldKey")));
+    when(extractionHelper.extractEmbeddedRules()).thenReturn(List.of(aRule("embeddedKey", "embeddedOldKey")));
+
+    var slowLookup = CompletableFuture.supplyAsync(() -> underTest.getRule("slowConnectionId", "repo:slowKey"));
+    assertThat(extractionStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(underTest.getRule("connectionId", "repo:newKey")).isPresent();
+    assertThat(underTest.getEmbeddedRule("repo:embeddedKey")).isPresent();
+    assertThat(slowLookup).isNotDone();
+    releaseExtraction.countDown();
+    assertThat(slowLookup.get(5, TimeUnit.SECONDS)).isPresent();
+  }
+
+  @Test
+  void should_extract_rules_again_after_connection_removal() {
+    when(extractionHelper.extractRulesForConnection("connectionId")).thenReturn(List.of(aRule("newKey", "oldKey")));
+    underTest.getRules("connectionId");
+
+    underTest.connectionRemoved(new ConnectionConfigurationRemovedEvent("connectionId"));
+    underTest.getRules("connectionId");
+
+    verify(extractionHelper, times(2)).extractRulesForConnection("connectionId");
+  }
+
+  private static SonarLintRuleDefinition aRule(String ruleKey, String deprecatedRuleKey) {
+    var context = new RulesDefinition.Context();
+    var repository = context.createRepository("repo", SonarLanguage.JAVA.getSonarLanguageKey());
+    repository.createRule(ruleKey)
+      .setName("ruleName")
+      .setType(RuleType.BUG)
+      .setHtmlDescription("Hello, world!")
+      .addDeprecatedRuleKey("repo", deprecatedRuleKey);
+    repository.done();
+    return new SonarLintRuleDefinition(context.repositories().get(0).rule(ruleKey));
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.rules;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.plugin.LoadedPluginsCache;
+import org.sonarsource.sonarlint.core.rule.extractor.SonarLintRuleDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.sonarsource.sonarlint.core.rules.RulesFixtures.aRule;
+
+class RulesDefinitionsCacheTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  @TempDir
+  Path workDir;
+  private Path pluginPath;
+  private RulesDefinitionsCache underTest;
+  private final AtomicInteger extractionsCount = new AtomicInteger();
+
+  @BeforeEach
+  void prepare() throws IOException {
+    pluginPath = Files.write(workDir.resolve("plugin.jar"), new byte[] {1, 2, 3});
+    underTest = new RulesDefinitionsCache(workDir, new LoadedPluginsCache());
+  }
+
+  @Test
+  void should_not_extract_rules_again_when_cached() {
+    underTest.getOrExtract(Set.of(pluginPath), Set.of(SonarLanguage.JAVA), false, false, false, extractor());
+
+    var rules = new RulesDefinitionsCache(workDir, new LoadedPluginsCache()).getOrExtract(Set.of(pluginPath), Set.of(SonarLanguage.JAVA), false, false, false,
+      extractor());
+
+    assertThat(extractionsCount).hasValue(1);
+    assertThat(rules).hasSize(1);
+    var rule = rules.get(0);
+    var expected = aRule();
+    assertThat(rule).usingRecursiveComparison().isEqualTo(expected);
+    assertThat(rule.getDefaultParams()).containsEntry("paramKey", "defaultValue");
+  }
+
+  @Test
+  void should_extract_rules_again_when_configuration_changes() {
+    underTest.getOrExtract(Set.of(pluginPath), Set.of(SonarLanguage.JAVA), false, false, false, extractor());
+    underTest.getOrExtract(Set.of(pluginPath), Set.of(SonarLanguage.JAVA, SonarLanguage.JS), false, false, false, extractor());
+    underTest.getOrExtract(Set.of(pluginPath), Set.of(SonarLanguage.JAVA), false, true, false, extractor());
+
+    assertThat(extractionsCount).hasValue(3);
+  }
+
+  @Test
+  void should_extract_rules_again_when_plugin_content_changes() throws IOException {
+    underTest.getOrExtract(Set.of(pluginPath), Set.of(SonarLanguage.JAVA), false, false, false, extractor());
+    Files.write(pluginPath, new byte[] {4, 5, 6, 7});
+
+    underTest.getOrExtract(Set.of(pluginPath), Set.of(SonarLanguage.JAVA), false, false, false, extractor());
+
+    assertThat(extractionsCount).hasValue(2);
+  }
+
+  @Test
+  void should_extract_rules_again_when_cache_is_corrupted() throws IOException {
+    underTest.getOrExtract(Set.of(pluginPath), Set.of(SonarLanguage.JAVA), false, false, false, extractor());
+    try (Stream<Path> cacheFiles = Files.list(workDir.resolve("rules"))) {
+      var cacheFile = cacheFiles.findFirst().get();
+      Files.write(cacheFile, new byte[] {42, 42, 42});
+    }
+
+    var rules = underTest.getOrExtract(Set.of(pluginPath), Set.of(SonarLanguage.JAVA), false, false, false, extractor());
+
+    assertThat(extractionsCount).hasValue(2);
+    assertThat(rules).extracting(SonarLintRuleDefinition::getKey).containsExactly("repo:ruleKey");
+  }
+
+  private Supplier<List<SonarLintRuleDefinition>> extractor() {
+    return () -> {
+      extractionsCount.incrementAndGet();
+      return List.of(aRule());
+    };
+  }
+}
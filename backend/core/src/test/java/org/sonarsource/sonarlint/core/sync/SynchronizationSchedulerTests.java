@@ -0,0 +1,175 @@
+/*
+ * SonarLint Core - Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.sonarsource.sonarlint.core.commons.log.LogOutput;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.commons.progress.SonarLintCancelMonitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SynchronizationSchedulerTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  private final SynchronizationScheduler underTest = new SynchronizationScheduler(2);
+
+  @AfterEach
+  void tearDown() {
+    underTest.shutdown();
+  }
+
+  @Test
+  void it_should_limit_the_tasks_in_flight_per_connection() {
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (var i = 0; i < 6; i++) {
+      futures.add(underTest.submit("connectionId", () -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        sleep();
+        inFlight.decrementAndGet();
+      }, new SonarLintCancelMonitor()));
+    }
+
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+    assertThat(maxInFlight.get()).isEqualTo(2);
+  }
+
+  @Test
+  void it_should_not_limit_the_tasks_of_other_connections() throws InterruptedException {
+    var allStarted = new CountDownLatch(4);
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (var connectionId : List.of("connection1", "connection2")) {
+      for (var i = 0; i < 2; i++) {
+        futures.add(underTest.submit(connectionId, () -> {
+          allStarted.countDown();
+          await(allStarted);
+        }, new SonarLintCancelMonitor()));
+      }
+    }
+
+    assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+  }
+
+  @Test
+  void it_should_not_run_tasks_when_canceled() {
+    var cancelMonitor = new SonarLintCancelMonitor();
+    cancelMonitor.cancel();
+    var executed = new AtomicBoolean();
+
+    var future = underTest.submit("connectionId", () -> executed.set(true), cancelMonitor);
+
+    assertThatThrownBy(future::join).isInstanceOf(CompletionException.class).hasCauseInstanceOf(CancellationException.class);
+    assertThat(executed).isFalse();
+  }
+
+  @Test
+  void it_should_run_one_task_at_a_time_when_the_parallelism_is_invalid() {
+    var scheduler = new SynchronizationScheduler(0);
+    try {
+      var executed = new AtomicBoolean();
+
+      scheduler.submit("connectionId", () -> executed.set(true), new SonarLintCancelMonitor()).join();
+
+      assertThat(executed).isTrue();
+      assertThat(logTester.logs(LogOutput.Level.WARN)).contains("Invalid synchronization parallelism per connection: 0, using 1");
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  void it_should_report_the_first_failure_once_all_tasks_ended() {
+    var otherTaskEnded = new AtomicBoolean();
+    var failingTask = CompletableFuture.<Void>failedFuture(new IllegalStateException("failure"));
+    var otherTask = underTest.submit("connectionId", () -> {
+      sleep();
+      otherTaskEnded.set(true);
+    }, new SonarLintCancelMonitor());
+
+    var tasks = List.of(failingTask, otherTask);
+    var cancelMonitor = new SonarLintCancelMonitor();
+    assertThatThrownBy(() -> SynchronizationScheduler.awaitAll(tasks, cancelMonitor))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("failure");
+    assertThat(otherTaskEnded).isTrue();
+  }
+
+  @Test
+  void it_should_stop_waiting_when_canceled() {
+    var cancelMonitor = new SonarLintCancelMonitor();
+    cancelMonitor.cancel();
+
+    var tasks = List.of(new CompletableFuture<Void>());
+    assertThatThrownBy(() -> SynchronizationScheduler.awaitAll(tasks, cancelMonitor)).isInstanceOf(CancellationException.class);
+  }
+
+  @Test
+  void it_should_stop_waiting_when_interrupted() throws InterruptedException {
+    var failure = new AtomicReference<Throwable>();
+    var waitingThread = new Thread(() -> {
+      try {
+        SynchronizationScheduler.awaitAll(List.of(new CompletableFuture<>()), new SonarLintCancelMonitor());
+      } catch (Throwable t) {
+        failure.set(t);
+      }
+    });
+    waitingThread.start();
+
+    waitingThread.interrupt();
+    waitingThread.join(5_000);
+
+    assertThat(waitingThread.isAlive()).isFalse();
+    assertThat(failure.get()).isInstanceOf(CancellationException.class);
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(50);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
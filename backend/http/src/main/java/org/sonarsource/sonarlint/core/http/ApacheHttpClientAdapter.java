@@ -24,6 +24,7 @@ import java.net.URISyntaxException;
 import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -39,6 +40,7 @@ import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
 import org.apache.hc.core5.util.Timeout;
@@ -86,6 +88,27 @@ class ApacheHttpClientAdapter implements HttpClient {
     return executeAsync(SimpleRequestBuilder.get(url).build());
   }
 
+  @Override
+  public CompletableFuture<Response> getAsync(String url, Map<String, String> headers) {
+    var request = SimpleRequestBuilder.get(url).build();
+    headers.forEach(request::setHeader);
+    return executeAsync(request);
+  }
+
+  @Override
+  public CompletableFuture<Response> getStreamAsync(String url) {
+    var request = SimpleRequestBuilder.get(url).build();
+    request.setHeader(HttpHeaders.ACCEPT_ENCODING, StreamingResponseConsumer.SUPPORTED_CONTENT_ENCODINGS);
+    try {
+      if (usernameOrToken != null) {
+        request.setHeader("Authorization", basic(usernameOrToken, Objects.requireNonNullElse(password, "")));
+      }
+      return new StreamingCompletableFuture(request);
+    } catch (Exception e) {
+      throw new IllegalStateException("Unable to execute request: " + e.getMessage(), e);
+    }
+  }
+
   @Override
   public CompletableFuture<Response> deleteAsync(String url, String contentType, String body) {
     var httpRequest = SimpleRequestBuilder
@@ -243,6 +266,60 @@ class ApacheHttpClientAdapter implements HttpClient {
     }
   }
 
+  private class StreamingCompletableFuture extends CompletableFuture<HttpClient.Response> {
+
+    private final StreamingResponseConsumer consumer;
+    private final Future<Void> wrapped;
+
+    private StreamingCompletableFuture(SimpleHttpRequest httpRequest) {
+      var callingThreadLogOutput = SonarLintLogger.getTargetForCopy();
+      this.consumer = new StreamingResponseConsumer(requestUrl(httpRequest), response -> StreamingCompletableFuture.this.completeAsync(() -> {
+        SonarLintLogger.setTarget(callingThreadLogOutput);
+        return response;
+      }));
+      this.wrapped = apacheClient.execute(new BasicRequestProducer(httpRequest, null), consumer, new FutureCallback<>() {
+        @Override
+        public void completed(Void result) {
+          // the whole body has been received, it is up to the reader to consume it
+        }
+
+        @Override
+        public void failed(Exception ex) {
+          SonarLintLogger.setTarget(callingThreadLogOutput);
+          LOG.debug("Request failed", ex);
+          StreamingCompletableFuture.this.completeExceptionally(ex);
+        }
+
+        @Override
+        public void cancelled() {
+          SonarLintLogger.setTarget(callingThreadLogOutput);
+          LOG.debug("Request cancelled");
+          StreamingCompletableFuture.this.cancel();
+        }
+      });
+      consumer.setExchange(wrapped);
+    }
+
+    private void cancel() {
+      super.cancel(true);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      consumer.abort();
+      return wrapped.cancel(mayInterruptIfRunning);
+    }
+  }
+
+  private static String requestUrl(SimpleHttpRequest httpRequest) {
+    // getRequestUri may be relative, so we prefer getUri
+    try {
+      return httpRequest.getUri().toString();
+    } catch (URISyntaxException e) {
+      return httpRequest.getRequestUri();
+    }
+  }
+
   private CompletableFuture<Response> executeAsync(SimpleHttpRequest httpRequest) {
     try {
       if (usernameOrToken != null) {
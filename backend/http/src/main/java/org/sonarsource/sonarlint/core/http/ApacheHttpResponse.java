@@ -21,6 +21,7 @@ package org.sonarsource.sonarlint.core.http;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import javax.annotation.CheckForNull;
 import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
 
 class ApacheHttpResponse implements HttpClient.Response {
@@ -56,6 +57,13 @@ class ApacheHttpResponse implements HttpClient.Response {
     // nothing to do
   }
 
+  @CheckForNull
+  @Override
+  public String header(String name) {
+    var header = response.getFirstHeader(name);
+    return header != null ? header.getValue() : null;
+  }
+
   @Override
   public String url() {
     return requestUrl;
@@ -21,8 +21,10 @@ package org.sonarsource.sonarlint.core.http;
 
 import java.io.Closeable;
 import java.io.InputStream;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import javax.annotation.CheckForNull;
 
 /**
  * The client(IDE) is responsible to provide an HttpClient, configured with authentication, timeouts, proxy support, ...
@@ -51,12 +53,52 @@ public interface HttpClient {
     void close();
 
     String url();
+
+    /**
+     * @return the value of the first response header with the given name, or null if absent or not supported
+     */
+    @CheckForNull
+    default String header(String name) {
+      return null;
+    }
+
+    /**
+     * @return the number of body bytes received from the network so far, before any decompression, or -1 if not tracked
+     */
+    default long receivedBodyBytes() {
+      return -1;
+    }
+
+    /**
+     * @return the number of body bytes read from {@link #bodyAsStream()} so far, after decompression, or -1 if not tracked
+     */
+    default long readBodyBytes() {
+      return -1;
+    }
   }
 
   Response get(String url);
 
   CompletableFuture<Response> getAsync(String url);
 
+  /**
+   * Same as {@link #getAsync(String)}, with additional request headers, e.g. for conditional requests.
+   * Implementations not supporting additional headers can ignore them.
+   */
+  default CompletableFuture<Response> getAsync(String url, Map<String, String> headers) {
+    return getAsync(url);
+  }
+
+  /**
+   * Same as {@link #getAsync(String)}, but the future completes as soon as the response headers are received, and the body is transferred
+   * while it is being read from {@link Response#bodyAsStream()}, instead of being fully buffered in memory first.
+   * The response must always be closed, closing it before the body is fully read aborts the transfer.
+   * Compressed responses are negotiated, and transparently decompressed while being read.
+   */
+  default CompletableFuture<Response> getStreamAsync(String url) {
+    return getAsync(url);
+  }
+
   AsyncRequest getEventStream(String url, HttpConnectionListener connectionListener, Consumer<String> messageConsumer);
 
   Response post(String url, String contentType, String body);
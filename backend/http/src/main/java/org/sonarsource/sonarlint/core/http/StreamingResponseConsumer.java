@@ -0,0 +1,289 @@
+/*
+ * SonarLint Core - HTTP
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.apache.hc.client5.http.entity.DeflateInputStream;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.support.classic.SharedInputBuffer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+
+/**
+ * Hands over the response as soon as its headers are received, and feeds the body into a bounded buffer that is drained by the reader of
+ * {@link HttpClient.Response#bodyAsStream()}. The network transfer is only resumed when the reader has consumed the buffered content, so the
+ * memory footprint does not depend on the size of the response.
+ * The exchange itself only completes once the whole body has been received, so that it can still be cancelled while streaming.
+ * A gzip or deflate encoded body is decompressed on the fly by the reader.
+ */
+class StreamingResponseConsumer implements AsyncResponseConsumer<Void> {
+
+  static final int BUFFER_SIZE = 64 * 1024;
+  static final String SUPPORTED_CONTENT_ENCODINGS = "gzip, deflate";
+
+  private final String requestUrl;
+  private final Consumer<HttpClient.Response> responseConsumer;
+  private final SharedInputBuffer buffer = new SharedInputBuffer(BUFFER_SIZE);
+  private volatile FutureCallback<Void> resultCallback;
+  private volatile Future<?> exchange;
+  private final AtomicLong receivedBytes = new AtomicLong();
+  private volatile boolean bodyReceived;
+  private volatile boolean aborted;
+  @Nullable
+  private volatile Exception failure;
+
+  StreamingResponseConsumer(String requestUrl, Consumer<HttpClient.Response> responseConsumer) {
+    this.requestUrl = requestUrl;
+    this.responseConsumer = responseConsumer;
+  }
+
+  void setExchange(Future<?> exchange) {
+    this.exchange = exchange;
+  }
+
+  @Override
+  public void consumeResponse(HttpResponse response, @Nullable EntityDetails entityDetails, HttpContext context, FutureCallback<Void> resultCallback) {
+    var contentType = entityDetails != null ? ContentType.parseLenient(entityDetails.getContentType()) : null;
+    if (entityDetails == null) {
+      bodyReceived = true;
+      buffer.markEndStream();
+    } else {
+      this.resultCallback = resultCallback;
+    }
+    responseConsumer.accept(new StreamingResponse(response, contentType));
+    if (entityDetails == null) {
+      resultCallback.completed(null);
+    }
+  }
+
+  @Override
+  public void informationResponse(HttpResponse response, HttpContext context) {
+    // nothing to do
+  }
+
+  @Override
+  public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+    buffer.updateCapacity(capacityChannel);
+  }
+
+  @Override
+  public void consume(ByteBuffer src) throws IOException {
+    if (aborted) {
+      throw new InterruptedIOException("Response closed before its body was fully read");
+    }
+    receivedBytes.addAndGet(src.remaining());
+    buffer.fill(src);
+  }
+
+  @Override
+  public void streamEnd(@Nullable List<? extends Header> trailers) {
+    bodyReceived = true;
+    buffer.markEndStream();
+    resultCallback.completed(null);
+  }
+
+  @Override
+  public void failed(Exception cause) {
+    failure = cause;
+    buffer.abort();
+  }
+
+  @Override
+  public void releaseResources() {
+    // unblock a reader waiting for content that will never come
+    if (!bodyReceived) {
+      buffer.abort();
+    }
+  }
+
+  void abort() {
+    if (bodyReceived) {
+      return;
+    }
+    aborted = true;
+    buffer.abort();
+    var currentExchange = exchange;
+    if (currentExchange != null) {
+      currentExchange.cancel(true);
+    }
+  }
+
+  private class StreamingResponse implements HttpClient.Response {
+    private final HttpResponse response;
+    @Nullable
+    private final ContentType contentType;
+    private final AtomicLong readBytes = new AtomicLong();
+    private InputStream body;
+
+    private StreamingResponse(HttpResponse response, @Nullable ContentType contentType) {
+      this.response = response;
+      this.contentType = contentType;
+    }
+
+    @Override
+    public int code() {
+      return response.getCode();
+    }
+
+    @CheckForNull
+    @Override
+    public String header(String name) {
+      var header = response.getFirstHeader(name);
+      return header != null ? header.getValue() : null;
+    }
+
+    @Override
+    public String bodyAsString() {
+      var charset = contentType != null ? contentType.getCharset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+      try {
+        return new String(bodyAsStream().readAllBytes(), charset);
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to read response body of " + requestUrl + ": " + e.getMessage(), e);
+      }
+    }
+
+    @Override
+    public synchronized InputStream bodyAsStream() {
+      if (body == null) {
+        try {
+          body = new CountingInputStream(decode(new BodyInputStream()), readBytes);
+        } catch (IOException e) {
+          throw new IllegalStateException("Unable to read response body of " + requestUrl + ": " + e.getMessage(), e);
+        }
+      }
+      return body;
+    }
+
+    private InputStream decode(InputStream rawBody) throws IOException {
+      var contentEncoding = header(HttpHeaders.CONTENT_ENCODING);
+      if (contentEncoding == null) {
+        return rawBody;
+      }
+      switch (contentEncoding.trim().toLowerCase(Locale.ENGLISH)) {
+        case "gzip":
+        case "x-gzip":
+          return new GZIPInputStream(rawBody, BUFFER_SIZE);
+        case "deflate":
+          // servers send either zlib wrapped or raw deflate streams
+          return new DeflateInputStream(rawBody);
+        default:
+          return rawBody;
+      }
+    }
+
+    @Override
+    public long receivedBodyBytes() {
+      return receivedBytes.get();
+    }
+
+    @Override
+    public long readBodyBytes() {
+      return readBytes.get();
+    }
+
+    @Override
+    public void close() {
+      abort();
+    }
+
+    @Override
+    public String url() {
+      return requestUrl;
+    }
+
+    @Override
+    public String toString() {
+      return response.getCode() + " " + requestUrl;
+    }
+  }
+
+  private static class CountingInputStream extends FilterInputStream {
+    private final AtomicLong count;
+
+    private CountingInputStream(InputStream in, AtomicLong count) {
+      super(in);
+      this.count = count;
+    }
+
+    @Override
+    public int read() throws IOException {
+      var read = super.read();
+      if (read != -1) {
+        count.incrementAndGet();
+      }
+      return read;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      var read = super.read(b, off, len);
+      if (read > 0) {
+        count.addAndGet(read);
+      }
+      return read;
+    }
+  }
+
+  private class BodyInputStream extends InputStream {
+
+    @Override
+    public int read() throws IOException {
+      return checkNotAborted(buffer.read());
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return checkNotAborted(buffer.read(b, off, len));
+    }
+
+    /**
+     * An aborted buffer reports the end of the stream, which must not be mistaken for a complete body
+     */
+    private int checkNotAborted(int read) throws IOException {
+      if (read == -1 && !bodyReceived) {
+        var cause = failure;
+        if (cause != null) {
+          throw new IOException("Failed to read response body of " + requestUrl + ": " + cause.getMessage(), cause);
+        }
+        throw new InterruptedIOException("Transfer of response body of " + requestUrl + " was aborted");
+      }
+      return read;
+    }
+  }
+}
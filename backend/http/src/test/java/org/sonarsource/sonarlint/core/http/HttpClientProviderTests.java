@@ -20,8 +20,15 @@
 package org.sonarsource.sonarlint.core.http;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 import org.apache.hc.core5.http.HttpStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -112,4 +119,86 @@ class HttpClientProviderTests {
     sonarqubeMock.verify(postRequestedFor(urlEqualTo("/afterMove")));
   }
 
+  @Test
+  void it_should_stream_response_body() throws IOException {
+    var body = new byte[10 * StreamingResponseConsumer.BUFFER_SIZE];
+    Arrays.fill(body, (byte) 'a');
+    sonarqubeMock.stubFor(get("/large").willReturn(aResponse().withBody(body)));
+
+    try (var response = HttpClientProvider.forTesting().getHttpClient().getStreamAsync(sonarqubeMock.url("/large")).join()) {
+      assertThat(response.code()).isEqualTo(200);
+      assertThat(response.url()).isEqualTo(sonarqubeMock.url("/large"));
+      assertThat(response.bodyAsStream().readAllBytes()).isEqualTo(body);
+    }
+  }
+
+  @Test
+  void it_should_stream_error_response_body() {
+    sonarqubeMock.stubFor(get("/error").willReturn(aResponse().withStatus(HttpStatus.SC_NOT_FOUND).withBody("Not found")));
+
+    try (var response = HttpClientProvider.forTesting().getHttpClient().getStreamAsync(sonarqubeMock.url("/error")).join()) {
+      assertThat(response.isSuccessful()).isFalse();
+      assertThat(response.bodyAsString()).isEqualTo("Not found");
+    }
+  }
+
+  @Test
+  void it_should_abort_streaming_when_response_is_closed_early() throws IOException {
+    sonarqubeMock.stubFor(get("/large").willReturn(aResponse().withBody(new byte[100 * StreamingResponseConsumer.BUFFER_SIZE])));
+
+    var response = HttpClientProvider.forTesting().getHttpClient().getStreamAsync(sonarqubeMock.url("/large")).join();
+    var body = response.bodyAsStream();
+    assertThat(body.read()).isZero();
+
+    response.close();
+
+    assertThrows(IOException.class, body::readAllBytes);
+  }
+
+  @Test
+  void it_should_negotiate_and_decompress_gzip_streamed_body() throws IOException {
+    var body = new byte[10 * StreamingResponseConsumer.BUFFER_SIZE];
+    Arrays.fill(body, (byte) 'a');
+    var compressed = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(body);
+    }
+    sonarqubeMock.stubFor(get("/gzip").willReturn(aResponse().withHeader("Content-Encoding", "gzip").withBody(compressed.toByteArray())));
+
+    try (var response = HttpClientProvider.forTesting().getHttpClient().getStreamAsync(sonarqubeMock.url("/gzip")).join()) {
+      assertThat(response.bodyAsStream().readAllBytes()).isEqualTo(body);
+      assertThat(response.receivedBodyBytes()).isEqualTo(compressed.size());
+      assertThat(response.readBodyBytes()).isEqualTo(body.length);
+    }
+    sonarqubeMock.verify(getRequestedFor(urlEqualTo("/gzip"))
+      .withHeader("Accept-Encoding", equalTo("gzip, deflate")));
+  }
+
+  @Test
+  void it_should_decompress_deflate_streamed_body() throws IOException {
+    var compressed = new ByteArrayOutputStream();
+    try (var deflate = new DeflaterOutputStream(compressed)) {
+      deflate.write("Deflated content".getBytes(StandardCharsets.UTF_8));
+    }
+    sonarqubeMock.stubFor(get("/deflate").willReturn(aResponse().withHeader("Content-Encoding", "deflate").withBody(compressed.toByteArray())));
+
+    try (var response = HttpClientProvider.forTesting().getHttpClient().getStreamAsync(sonarqubeMock.url("/deflate")).join()) {
+      assertThat(response.bodyAsString()).isEqualTo("Deflated content");
+    }
+  }
+
+  @Test
+  void it_should_decompress_raw_deflate_streamed_body() throws IOException {
+    var compressed = new ByteArrayOutputStream();
+    // no zlib header nor checksum
+    try (var deflate = new DeflaterOutputStream(compressed, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+      deflate.write("Raw deflated content".getBytes(StandardCharsets.UTF_8));
+    }
+    sonarqubeMock.stubFor(get("/rawDeflate").willReturn(aResponse().withHeader("Content-Encoding", "deflate").withBody(compressed.toByteArray())));
+
+    try (var response = HttpClientProvider.forTesting().getHttpClient().getStreamAsync(sonarqubeMock.url("/rawDeflate")).join()) {
+      assertThat(response.bodyAsString()).isEqualTo("Raw deflated content");
+    }
+  }
+
 }
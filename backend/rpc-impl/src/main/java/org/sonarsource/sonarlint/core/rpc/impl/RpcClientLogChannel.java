@@ -0,0 +1,226 @@
+/*
+ * SonarLint Core - RPC Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.rpc.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcClient;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogBatchParams;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogLevel;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogParams;
+
+/**
+ * Forwards the backend logs to the client. Each log record is sent right away in its own notification, until batching is enabled.
+ * From then on, records are queued and sent in batches by a background thread, at most {@link #FLUSH_INTERVAL_MS} after being emitted.
+ * The queue is bounded: when the client cannot keep up, debug and trace records are dropped first, then info records. Warnings and errors are
+ * never dropped. The number of dropped records is reported to the client with the next batch.
+ */
+class RpcClientLogChannel {
+
+  static final int QUEUE_CAPACITY = 10_000;
+  static final int MAX_BATCH_SIZE = 500;
+  static final long FLUSH_INTERVAL_MS = 100;
+  private static final long CLOSE_TIMEOUT_MS = 1_000;
+
+  /**
+   * Queued by {@link #close()} to wake up the background thread
+   */
+  private static final LogParams STOP = new LogParams(LogLevel.TRACE, "stop", null, null, Instant.EPOCH);
+
+  private final SonarLintRpcClient client;
+  private final BlockingQueue<LogParams> queue = new LinkedBlockingQueue<>();
+  private final Map<LogLevel, AtomicLong> droppedCountByLevel = new EnumMap<>(LogLevel.class);
+  @Nullable
+  private Thread forwarderThread;
+  private boolean stopped;
+  private boolean forwarderDone;
+  // only accessed by the background thread
+  private boolean batchesRejected;
+
+  RpcClientLogChannel(SonarLintRpcClient client) {
+    this.client = client;
+    for (var level : LogLevel.values()) {
+      droppedCountByLevel.put(level, new AtomicLong());
+    }
+  }
+
+  synchronized void enableBatching() {
+    if (forwarderThread != null || stopped) {
+      return;
+    }
+    var thread = new Thread(this::forwardBatches, "SonarLint Server RPC log forwarder");
+    thread.setDaemon(true);
+    forwarderThread = thread;
+    thread.start();
+  }
+
+  void send(LogParams logParams) {
+    synchronized (this) {
+      // once the background thread has sent its last batch, records can be sent right away without being reordered
+      if (forwarderThread != null && !forwarderDone) {
+        enqueue(logParams);
+        return;
+      }
+    }
+    client.log(logParams);
+  }
+
+  private void enqueue(LogParams logParams) {
+    if (isAccepted(logParams.getLevel(), queue.size())) {
+      queue.add(logParams);
+    } else {
+      droppedCountByLevel.get(logParams.getLevel()).incrementAndGet();
+    }
+  }
+
+  private static boolean isAccepted(LogLevel level, int queueSize) {
+    switch (level) {
+      case ERROR:
+      case WARN:
+        return true;
+      case INFO:
+        return queueSize < QUEUE_CAPACITY;
+      default:
+        return queueSize < QUEUE_CAPACITY * 3 / 4;
+    }
+  }
+
+  /**
+   * Stops the background thread, after it has sent the pending records. Waits for it at most {@link #CLOSE_TIMEOUT_MS}, after which the
+   * pending records are still sent in the background.
+   */
+  void close() {
+    Thread thread;
+    synchronized (this) {
+      if (stopped) {
+        return;
+      }
+      stopped = true;
+      thread = forwarderThread;
+    }
+    if (thread == null) {
+      return;
+    }
+    queue.add(STOP);
+    try {
+      thread.join(CLOSE_TIMEOUT_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private synchronized boolean isStopped() {
+    return stopped;
+  }
+
+  private void forwardBatches() {
+    var batch = new ArrayList<LogParams>(MAX_BATCH_SIZE);
+    try {
+      while (!isStopped()) {
+        batch.add(queue.take());
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(FLUSH_INTERVAL_MS);
+        queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+        while (batch.size() < MAX_BATCH_SIZE) {
+          var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+          queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+        }
+        flush(batch);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flushRemaining(batch);
+  }
+
+  /**
+   * Records queued while stopping are sent by this thread only, so that they are not reordered
+   */
+  private void flushRemaining(List<LogParams> batch) {
+    while (true) {
+      synchronized (this) {
+        if (batch.isEmpty() && queue.isEmpty()) {
+          forwarderDone = true;
+          return;
+        }
+      }
+      queue.drainTo(batch);
+      flush(batch);
+    }
+  }
+
+  private void flush(List<LogParams> batch) {
+    batch.removeIf(logParams -> logParams == STOP);
+    var droppedRecordsReport = reportDroppedRecords();
+    if (droppedRecordsReport != null) {
+      batch.add(droppedRecordsReport);
+    }
+    for (var from = 0; from < batch.size(); from += MAX_BATCH_SIZE) {
+      var chunk = List.copyOf(batch.subList(from, Math.min(batch.size(), from + MAX_BATCH_SIZE)));
+      if (!batchesRejected) {
+        try {
+          client.logBatch(new LogBatchParams(chunk));
+          continue;
+        } catch (Exception e) {
+          // the client may not support batches, fall back to individual records from now on
+          batchesRejected = true;
+        }
+      }
+      chunk.forEach(this::logIgnoringFailure);
+    }
+    batch.clear();
+  }
+
+  private void logIgnoringFailure(LogParams logParams) {
+    try {
+      client.log(logParams);
+    } catch (Exception e) {
+      // nowhere to report it, the record is lost
+    }
+  }
+
+  @Nullable
+  private LogParams reportDroppedRecords() {
+    var droppedCounts = new EnumMap<LogLevel, Long>(LogLevel.class);
+    droppedCountByLevel.forEach((level, count) -> {
+      var dropped = count.getAndSet(0);
+      if (dropped > 0) {
+        droppedCounts.put(level, dropped);
+      }
+    });
+    if (droppedCounts.isEmpty()) {
+      return null;
+    }
+    var details = droppedCounts.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining(", "));
+    return new LogParams(LogLevel.WARN, "Some log records were dropped because the client could not keep up: " + details, null, null, Instant.now());
+  }
+}
@@ -22,23 +22,22 @@ package org.sonarsource.sonarlint.core.rpc.impl;
 import java.time.Instant;
 import javax.annotation.Nullable;
 import org.sonarsource.sonarlint.core.commons.log.LogOutput;
-import org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcClient;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogLevel;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogParams;
 
 class RpcClientLogOutput implements LogOutput {
 
-  private final SonarLintRpcClient client;
+  private final RpcClientLogChannel logChannel;
 
   private final InheritableThreadLocal<String> configScopeId = new InheritableThreadLocal<>();
 
-  RpcClientLogOutput(SonarLintRpcClient client) {
-    this.client = client;
+  RpcClientLogOutput(RpcClientLogChannel logChannel) {
+    this.logChannel = logChannel;
   }
 
   @Override
   public void log(@Nullable String msg, Level level, @Nullable String stacktrace) {
-    client.log(new LogParams(LogLevel.valueOf(level.name()), msg, configScopeId.get(), stacktrace, Instant.now()));
+    logChannel.send(new LogParams(LogLevel.valueOf(level.name()), msg, configScopeId.get(), stacktrace, Instant.now()));
   }
 
   public void setConfigScopeId(@Nullable String configScopeId) {
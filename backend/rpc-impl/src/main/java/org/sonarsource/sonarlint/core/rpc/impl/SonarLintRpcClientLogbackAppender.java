@@ -25,17 +25,16 @@ import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.core.AppenderBase;
 import java.time.Instant;
 import org.sonarsource.sonarlint.core.SonarLintMDC;
-import org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcClient;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogLevel;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogParams;
 
 class SonarLintRpcClientLogbackAppender extends AppenderBase<ILoggingEvent> {
 
-  private final SonarLintRpcClient rpcClient;
+  private final RpcClientLogChannel logChannel;
   private final ThrowableProxyConverter tpc = new ThrowableProxyConverter();
 
-  public SonarLintRpcClientLogbackAppender(SonarLintRpcClient client) {
-    rpcClient = client;
+  public SonarLintRpcClientLogbackAppender(RpcClientLogChannel logChannel) {
+    this.logChannel = logChannel;
   }
 
   @Override
@@ -56,7 +55,7 @@ class SonarLintRpcClientLogbackAppender extends AppenderBase<ILoggingEvent> {
     if (tp != null) {
       stackTrace = tpc.convert(eventObject);
     }
-    rpcClient.log(new LogParams(LogLevel.valueOf(eventObject.getLevel().levelStr), formattedMessage, configScopeId, threadName, loggerName, stackTrace, loggedAt));
+    logChannel.send(new LogParams(LogLevel.valueOf(eventObject.getLevel().levelStr), formattedMessage, configScopeId, threadName, loggerName, stackTrace, loggedAt));
   }
 
 }
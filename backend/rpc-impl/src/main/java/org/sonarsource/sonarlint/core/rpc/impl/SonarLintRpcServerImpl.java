@@ -75,6 +75,7 @@ public class SonarLintRpcServerImpl implements SonarLintRpcServer {
   private final Future<Void> launcherFuture;
   private final ExecutorServiceShutdownWatchable<ExecutorService> requestsExecutor;
   private final ExecutorService requestAndNotificationsSequentialExecutor;
+  private final RpcClientLogChannel logChannel;
   private final RpcClientLogOutput logOutput;
   private SpringApplicationContextInitializer springApplicationContextInitializer;
 
@@ -91,7 +92,8 @@ public class SonarLintRpcServerImpl implements SonarLintRpcServer {
       .create();
 
     this.client = launcher.getRemoteProxy();
-    this.logOutput = new RpcClientLogOutput(client);
+    this.logChannel = new RpcClientLogChannel(client);
+    this.logOutput = new RpcClientLogOutput(logChannel);
 
     // Remove existing handlers attached to j.u.l root logger
     SLF4JBridgeHandler.removeHandlersForRootLogger();
@@ -101,7 +103,7 @@ public class SonarLintRpcServerImpl implements SonarLintRpcServer {
 
     var rootLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
     rootLogger.detachAndStopAllAppenders();
-    var rpcAppender = new SonarLintRpcClientLogbackAppender(client);
+    var rpcAppender = new SonarLintRpcClientLogbackAppender(logChannel);
     rpcAppender.start();
     rootLogger.addAppender(rpcAppender);
 
@@ -120,6 +122,9 @@ public class SonarLintRpcServerImpl implements SonarLintRpcServer {
     return CompletableFutures.computeAsync(requestAndNotificationsSequentialExecutor, cancelChecker -> {
       SonarLintLogger.setTarget(logOutput);
       if (initializeCalled.compareAndSet(false, true) && !initialized.get()) {
+        if (params.getFeatureFlags() != null && params.getFeatureFlags().shouldBatchLogs()) {
+          logChannel.enableBatching();
+        }
         springApplicationContextInitializer = new SpringApplicationContextInitializer(client, params);
         initialized.set(true);
       } else {
@@ -228,6 +233,7 @@ public class SonarLintRpcServerImpl implements SonarLintRpcServer {
         }
       }
       ThreadJobProcessorPool.getProcessors().forEach(JobProcessor::finish);
+      logChannel.close();
       launcherFuture.cancel(true);
       return null;
     });
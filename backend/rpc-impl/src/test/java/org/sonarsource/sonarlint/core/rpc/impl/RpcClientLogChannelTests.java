@@ -0,0 +1,202 @@
+/*
+ * SonarLint Core - RPC Implementation
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.rpc.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcClient;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogBatchParams;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogLevel;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogParams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.sonarsource.sonarlint.core.rpc.impl.RpcClientLogChannel.QUEUE_CAPACITY;
+
+class RpcClientLogChannelTests {
+
+  private final SonarLintRpcClient client = mock(SonarLintRpcClient.class);
+  private final List<LogParams> batchedLogs = Collections.synchronizedList(new ArrayList<>());
+  private final RpcClientLogChannel underTest = new RpcClientLogChannel(client);
+
+  @AfterEach
+  void stop() {
+    underTest.close();
+  }
+
+  @Test
+  void it_should_send_each_log_right_away_by_default() {
+    var log = log(LogLevel.INFO, "message");
+
+    underTest.send(log);
+
+    verify(client).log(log);
+    verify(client, never()).logBatch(any());
+  }
+
+  @Test
+  void it_should_send_logs_in_batches_in_order_once_enabled() {
+    recordBatches();
+    underTest.enableBatching();
+
+    var messages = new ArrayList<String>();
+    for (var i = 0; i < 1200; i++) {
+      messages.add("message " + i);
+      underTest.send(log(LogLevel.DEBUG, "message " + i));
+    }
+    underTest.close();
+
+    verify(client, never()).log(any());
+    assertThat(batchedLogs).extracting(LogParams::getMessage).containsExactlyElementsOf(messages);
+  }
+
+  @Test
+  void it_should_flush_periodically() throws InterruptedException {
+    var flushed = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      flushed.countDown();
+      return null;
+    }).when(client).logBatch(any());
+    underTest.enableBatching();
+
+    underTest.send(log(LogLevel.INFO, "message"));
+
+    assertThat(flushed.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void it_should_drop_least_important_logs_when_the_client_cannot_keep_up() throws InterruptedException {
+    var droppedRecordsMessage = "Some log records were dropped because the client could not keep up: INFO=" + (QUEUE_CAPACITY * 3 / 4) + ", DEBUG=" + (QUEUE_CAPACITY / 4);
+    var clientBlocked = new CountDownLatch(1);
+    var firstBatchReceived = new CountDownLatch(1);
+    var lastRecordReceived = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      firstBatchReceived.countDown();
+      clientBlocked.await();
+      var logs = invocation.<LogBatchParams>getArgument(0).getLogs();
+      batchedLogs.addAll(logs);
+      if (logs.stream().anyMatch(l -> l.getMessage().equals("error"))) {
+        lastRecordReceived.countDown();
+      }
+      return null;
+    }).when(client).logBatch(any());
+    underTest.enableBatching();
+    underTest.send(log(LogLevel.INFO, "first"));
+    assertThat(firstBatchReceived.await(5, TimeUnit.SECONDS)).isTrue();
+
+    for (var i = 0; i < QUEUE_CAPACITY; i++) {
+      underTest.send(log(LogLevel.DEBUG, "debug"));
+    }
+    for (var i = 0; i < QUEUE_CAPACITY; i++) {
+      underTest.send(log(LogLevel.INFO, "info"));
+    }
+    underTest.send(log(LogLevel.ERROR, "error"));
+    clientBlocked.countDown();
+
+    assertThat(lastRecordReceived.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(batchedLogs).filteredOn(l -> l.getLevel() == LogLevel.DEBUG).hasSize(QUEUE_CAPACITY * 3 / 4);
+    assertThat(batchedLogs).filteredOn(l -> l.getLevel() == LogLevel.INFO).hasSize(QUEUE_CAPACITY / 4 + 1);
+    assertThat(batchedLogs).extracting(LogParams::getMessage)
+      .contains("first", "error", droppedRecordsMessage);
+  }
+
+  @Test
+  void it_should_fall_back_to_individual_records_when_the_client_rejects_batches() throws InterruptedException {
+    var lastRecordReceived = new CountDownLatch(1);
+    doThrow(new IllegalStateException("unsupported")).when(client).logBatch(any());
+    doAnswer(invocation -> {
+      var log = invocation.<LogParams>getArgument(0);
+      batchedLogs.add(log);
+      if (log.getMessage().equals("second")) {
+        lastRecordReceived.countDown();
+      }
+      return null;
+    }).when(client).log(any());
+    underTest.enableBatching();
+
+    underTest.send(log(LogLevel.INFO, "first"));
+    underTest.send(log(LogLevel.INFO, "second"));
+
+    assertThat(lastRecordReceived.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(batchedLogs).extracting(LogParams::getMessage).containsExactly("first", "second");
+    verify(client, times(1)).logBatch(any());
+  }
+
+  @Test
+  void it_should_keep_sending_logs_in_order_while_closing() throws InterruptedException {
+    var clientBlocked = new CountDownLatch(1);
+    var pendingRecordsReceived = new CountDownLatch(1);
+    var lastRecordReceived = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      clientBlocked.await();
+      var logs = invocation.<LogBatchParams>getArgument(0).getLogs();
+      logs.forEach(log -> receive(log, pendingRecordsReceived, lastRecordReceived));
+      return null;
+    }).when(client).logBatch(any());
+    doAnswer(invocation -> {
+      receive(invocation.getArgument(0), pendingRecordsReceived, lastRecordReceived);
+      return null;
+    }).when(client).log(any());
+    underTest.enableBatching();
+    underTest.send(log(LogLevel.INFO, "before close"));
+
+    // the client is too slow for the pending records to be sent before the close timeout
+    underTest.close();
+    underTest.send(log(LogLevel.INFO, "during close"));
+    clientBlocked.countDown();
+    assertThat(pendingRecordsReceived.await(5, TimeUnit.SECONDS)).isTrue();
+    underTest.send(log(LogLevel.INFO, "after close"));
+
+    assertThat(lastRecordReceived.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(batchedLogs).extracting(LogParams::getMessage).containsExactly("before close", "during close", "after close");
+  }
+
+  private void receive(LogParams log, CountDownLatch pendingRecordsReceived, CountDownLatch lastRecordReceived) {
+    batchedLogs.add(log);
+    if (log.getMessage().equals("during close")) {
+      pendingRecordsReceived.countDown();
+    } else if (log.getMessage().equals("after close")) {
+      lastRecordReceived.countDown();
+    }
+  }
+
+  private void recordBatches() {
+    doAnswer(invocation -> {
+      batchedLogs.addAll(invocation.<LogBatchParams>getArgument(0).getLogs());
+      return null;
+    }).when(client).logBatch(any());
+  }
+
+  private static LogParams log(LogLevel level, String message) {
+    return new LogParams(level, message, null, null, Instant.now());
+  }
+}
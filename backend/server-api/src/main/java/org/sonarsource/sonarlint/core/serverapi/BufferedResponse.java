@@ -0,0 +1,98 @@
+/*
+ * SonarLint Core - Server API
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.serverapi;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.sonarsource.sonarlint.core.http.HttpClient;
+
+/**
+ * A response whose body is held in memory, so that it can be read after the underlying exchange is over
+ */
+class BufferedResponse implements HttpClient.Response {
+  private final int code;
+  private final String url;
+  private final byte[] body;
+  private final long receivedBodyBytes;
+
+  BufferedResponse(int code, String url, byte[] body) {
+    this(code, url, body, -1);
+  }
+
+  private BufferedResponse(int code, String url, byte[] body, long receivedBodyBytes) {
+    this.code = code;
+    this.url = url;
+    this.body = body;
+    this.receivedBodyBytes = receivedBodyBytes;
+  }
+
+  /**
+   * Reads the whole body of the given response, and closes it
+   */
+  static BufferedResponse readFully(HttpClient.Response toBeClosed) {
+    try (var response = toBeClosed; var bodyStream = response.bodyAsStream()) {
+      var body = bodyStream.readAllBytes();
+      return new BufferedResponse(response.code(), response.url(), body, response.receivedBodyBytes());
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read response body of " + toBeClosed.url() + ": " + e.getMessage(), e);
+    }
+  }
+
+  byte[] body() {
+    return body;
+  }
+
+  @Override
+  public int code() {
+    return code;
+  }
+
+  @Override
+  public String bodyAsString() {
+    return new String(body, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public InputStream bodyAsStream() {
+    return new ByteArrayInputStream(body);
+  }
+
+  @Override
+  public void close() {
+    // nothing to do
+  }
+
+  @Override
+  public String url() {
+    return url;
+  }
+
+  @Override
+  public long receivedBodyBytes() {
+    return receivedBodyBytes;
+  }
+
+  @Override
+  public long readBodyBytes() {
+    return receivedBodyBytes < 0 ? -1 : body.length;
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * SonarLint Core - Server API
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.serverapi;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
+import org.sonarsource.sonarlint.core.http.HttpClient;
+
+/**
+ * On-disk cache of server responses, revalidated with conditional requests. Only successful responses carrying an ETag or a Last-Modified
+ * validator are stored. The validators are sent back with the next request to the same URL, and a 304 answer replays the stored body.
+ * When the stored bodies exceed the maximum size, the least recently used entries are evicted.
+ */
+public class HttpResponseCache {
+
+  private static final SonarLintLogger LOG = SonarLintLogger.get();
+
+  static final String ETAG = "ETag";
+  static final String LAST_MODIFIED = "Last-Modified";
+  private static final String IF_NONE_MATCH = "If-None-Match";
+  private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+  private static final String BODY_FILE_EXTENSION = ".body";
+  private static final String VALIDATORS_FILE_EXTENSION = ".properties";
+  /**
+   * Maximum total size of the stored bodies, in bytes
+   */
+  static final String MAX_SIZE_PROPERTY = "sonarlint.internal.serverApi.httpCacheMaxSize";
+  private static final long DEFAULT_MAX_SIZE = 50L * 1024 * 1024;
+
+  private final Path cacheDir;
+  private final long maxSize;
+  private final Map<String, EndpointStats> statsByEndpoint = new ConcurrentHashMap<>();
+
+  public HttpResponseCache(Path cacheDir) {
+    this(cacheDir, Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+  }
+
+  HttpResponseCache(Path cacheDir, long maxSize) {
+    this.cacheDir = cacheDir;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @param url the absolute URL of the resource
+   * @param conditionalGet executes the GET request with the given additional headers
+   */
+  public HttpClient.Response get(String url, Function<Map<String, String>, HttpClient.Response> conditionalGet) {
+    var endpoint = StringUtils.substringBefore(url, "?");
+    var cached = readValidators(url);
+    var response = conditionalGet.apply(cached.map(HttpResponseCache::toConditionalHeaders).orElse(Map.of()));
+    if (cached.isPresent() && response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+      response.close();
+      var body = readBody(url);
+      if (body != null) {
+        recordLookup(endpoint, true);
+        return new BufferedResponse(HttpURLConnection.HTTP_OK, url, body);
+      }
+      evict(url);
+      response = conditionalGet.apply(Map.of());
+    }
+    recordLookup(endpoint, false);
+    if (!response.isSuccessful()) {
+      return response;
+    }
+    var etag = response.header(ETAG);
+    var lastModified = response.header(LAST_MODIFIED);
+    if (etag == null && lastModified == null) {
+      if (cached.isPresent()) {
+        evict(url);
+      }
+      return response;
+    }
+    var bufferedResponse = BufferedResponse.readFully(response);
+    store(url, etag, lastModified, bufferedResponse.body());
+    evictLeastRecentlyUsed();
+    return bufferedResponse;
+  }
+
+  public Map<String, Double> getHitRatesByEndpoint() {
+    var hitRates = new HashMap<String, Double>();
+    statsByEndpoint.forEach((endpoint, stats) -> hitRates.put(endpoint, stats.hitRate()));
+    return hitRates;
+  }
+
+  private void recordLookup(String endpoint, boolean hit) {
+    var stats = statsByEndpoint.computeIfAbsent(endpoint, k -> new EndpointStats());
+    var lookups = stats.lookups.incrementAndGet();
+    var hits = hit ? stats.hits.incrementAndGet() : stats.hits.get();
+    LOG.debug("HTTP cache {} for {} | hit rate={}/{}", hit ? "hit" : "miss", endpoint, hits, lookups);
+  }
+
+  private static Map<String, String> toConditionalHeaders(Properties validators) {
+    var headers = new HashMap<String, String>();
+    var etag = validators.getProperty(ETAG);
+    if (etag != null) {
+      headers.put(IF_NONE_MATCH, etag);
+    }
+    var lastModified = validators.getProperty(LAST_MODIFIED);
+    if (lastModified != null) {
+      headers.put(IF_MODIFIED_SINCE, lastModified);
+    }
+    return headers;
+  }
+
+  private Optional<Properties> readValidators(String url) {
+    var validatorsFile = entryFile(url, VALIDATORS_FILE_EXTENSION);
+    if (!Files.isRegularFile(validatorsFile)) {
+      return Optional.empty();
+    }
+    try (var input = Files.newInputStream(validatorsFile)) {
+      var validators = new Properties();
+      validators.load(input);
+      return Optional.of(validators);
+    } catch (IOException e) {
+      LOG.debug("Unable to read HTTP cache entry for " + url, e);
+      return Optional.empty();
+    }
+  }
+
+  @CheckForNull
+  private byte[] readBody(String url) {
+    try {
+      var bodyFile = entryFile(url, BODY_FILE_EXTENSION);
+      var body = Files.readAllBytes(bodyFile);
+      // the modification time of the body tracks the last use of the entry
+      Files.setLastModifiedTime(bodyFile, FileTime.fromMillis(System.currentTimeMillis()));
+      return body;
+    } catch (IOException e) {
+      LOG.debug("Unable to read HTTP cache entry for " + url, e);
+      return null;
+    }
+  }
+
+  private void store(String url, @Nullable String etag, @Nullable String lastModified, byte[] body) {
+    var validators = new Properties();
+    validators.setProperty("url", url);
+    if (etag != null) {
+      validators.setProperty(ETAG, etag);
+    }
+    if (lastModified != null) {
+      validators.setProperty(LAST_MODIFIED, lastModified);
+    }
+    try {
+      Files.createDirectories(cacheDir);
+      // the body goes first, so that validators are never found without their body
+      var bodyTmp = Files.createTempFile(cacheDir, "body", ".tmp");
+      Files.write(bodyTmp, body);
+      Files.move(bodyTmp, entryFile(url, BODY_FILE_EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      var validatorsTmp = Files.createTempFile(cacheDir, "validators", ".tmp");
+      try (var output = Files.newOutputStream(validatorsTmp)) {
+        validators.store(output, null);
+      }
+      Files.move(validatorsTmp, entryFile(url, VALIDATORS_FILE_EXTENSION), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOG.debug("Unable to store HTTP cache entry for " + url, e);
+      evict(url);
+    }
+  }
+
+  private void evict(String url) {
+    var entryName = entryName(url);
+    try {
+      evictEntry(entryName);
+    } catch (IOException e) {
+      LOG.debug("Unable to evict HTTP cache entry for " + url, e);
+    }
+  }
+
+  private synchronized void evictLeastRecentlyUsed() {
+    List<CachedBody> bodies;
+    try (var files = Files.list(cacheDir)) {
+      bodies = files
+        .filter(f -> f.getFileName().toString().endsWith(BODY_FILE_EXTENSION))
+        .map(HttpResponseCache::toCachedBody)
+        .filter(Objects::nonNull)
+        .sorted(Comparator.comparing(CachedBody::lastUse))
+        .collect(Collectors.toList());
+    } catch (IOException e) {
+      LOG.debug("Unable to list HTTP cache entries", e);
+      return;
+    }
+    var totalSize = bodies.stream().mapToLong(CachedBody::size).sum();
+    for (var body : bodies) {
+      if (totalSize <= maxSize) {
+        return;
+      }
+      try {
+        evictEntry(StringUtils.removeEnd(body.file.getFileName().toString(), BODY_FILE_EXTENSION));
+        totalSize -= body.size;
+      } catch (IOException e) {
+        LOG.debug("Unable to evict HTTP cache entry " + body.file, e);
+      }
+    }
+  }
+
+  @CheckForNull
+  private static CachedBody toCachedBody(Path bodyFile) {
+    try {
+      return new CachedBody(bodyFile, Files.size(bodyFile), Files.getLastModifiedTime(bodyFile));
+    } catch (IOException e) {
+      // concurrently evicted
+      return null;
+    }
+  }
+
+  private void evictEntry(String entryName) throws IOException {
+    Files.deleteIfExists(cacheDir.resolve(entryName + VALIDATORS_FILE_EXTENSION));
+    Files.deleteIfExists(cacheDir.resolve(entryName + BODY_FILE_EXTENSION));
+  }
+
+  private Path entryFile(String url, String extension) {
+    return cacheDir.resolve(entryName(url) + extension);
+  }
+
+  private static String entryName(String url) {
+    return Hashing.sha256().hashString(url, StandardCharsets.UTF_8).toString();
+  }
+
+  private static class CachedBody {
+    private final Path file;
+    private final long size;
+    private final FileTime lastUse;
+
+    private CachedBody(Path file, long size, FileTime lastUse) {
+      this.file = file;
+      this.size = size;
+      this.lastUse = lastUse;
+    }
+
+    private long size() {
+      return size;
+    }
+
+    private FileTime lastUse() {
+      return lastUse;
+    }
+  }
+
+  private static class EndpointStats {
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private double hitRate() {
+      var total = lookups.get();
+      return total == 0 ? 0 : ((double) hits.get() / total);
+    }
+  }
+}
@@ -27,9 +27,14 @@ import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -55,13 +60,47 @@ public class ServerApiHelper {
 
   public static final int PAGE_SIZE = 500;
   public static final int MAX_PAGES = 20;
+  /**
+   * Maximum number of pages requested at the same time by {@link #getPaginated}, once the total number of pages is known
+   */
+  static final String PAGINATION_CONCURRENCY_PROPERTY = "sonarlint.internal.serverApi.paginationConcurrency";
+  private static final int DEFAULT_PAGINATION_CONCURRENCY = 4;
+  private static final int MAX_PAGE_READERS = 8;
+  private static final AtomicInteger pageReaderCount = new AtomicInteger();
+  /**
+   * Reads the bodies of the prefetched pages. Reads are blocking, so they must not run in the common pool.
+   */
+  private static final ThreadPoolExecutor pageReaderExecutor = createPageReaderExecutor();
 
   private final HttpClient client;
   private final EndpointParams endpointParams;
+  @Nullable
+  private final HttpResponseCache responseCache;
+  private final int paginationConcurrency;
 
   public ServerApiHelper(EndpointParams endpointParams, HttpClient client) {
+    this(endpointParams, client, null);
+  }
+
+  /**
+   * @param responseCache when provided, used to revalidate the responses of {@link #getCacheable(String, SonarLintCancelMonitor)} instead of fetching them again
+   */
+  public ServerApiHelper(EndpointParams endpointParams, HttpClient client, @Nullable HttpResponseCache responseCache) {
     this.endpointParams = endpointParams;
     this.client = client;
+    this.responseCache = responseCache;
+    this.paginationConcurrency = Math.max(1, Integer.getInteger(PAGINATION_CONCURRENCY_PROPERTY, DEFAULT_PAGINATION_CONCURRENCY));
+  }
+
+  private static ThreadPoolExecutor createPageReaderExecutor() {
+    var executor = new ThreadPoolExecutor(MAX_PAGE_READERS, MAX_PAGE_READERS, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+      var thread = new Thread(r, "SonarLint Server API Page Reader " + pageReaderCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    // no thread is kept alive when nothing is being paginated
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   public boolean isSonarCloud() {
@@ -76,6 +115,30 @@ public class ServerApiHelper {
     return response;
   }
 
+  /**
+   * Same as {@link #get(String, SonarLintCancelMonitor)}, but the response is revalidated against the response cache, if any. Meant for
+   * slowly changing resources, that are requested again on each synchronization.
+   */
+  public HttpClient.Response getCacheable(String path, SonarLintCancelMonitor cancelMonitor) {
+    var response = responseCache != null ? cachedGet(path, responseCache, cancelMonitor) : rawGet(path, cancelMonitor);
+    if (!response.isSuccessful()) {
+      throw handleError(response);
+    }
+    return response;
+  }
+
+  /**
+   * Same as {@link #get(String, SonarLintCancelMonitor)}, but the body is transferred while it is being read, instead of being fully loaded in
+   * memory first. Meant for potentially large responses, that must be closed.
+   */
+  public HttpClient.Response getStream(String path, SonarLintCancelMonitor cancelMonitor) {
+    var response = rawGetStream(path, cancelMonitor);
+    if (!response.isSuccessful()) {
+      throw handleError(response);
+    }
+    return response;
+  }
+
   public HttpClient.Response post(String url, String contentType, String body, SonarLintCancelMonitor cancelMonitor) {
     var response = rawPost(url, contentType, body, cancelMonitor);
     if (!response.isSuccessful()) {
@@ -95,6 +158,26 @@ public class ServerApiHelper {
     return processResponse("GET", cancelMonitor, httpFuture, startTime, url);
   }
 
+  private HttpClient.Response cachedGet(String relativePath, HttpResponseCache cache, SonarLintCancelMonitor cancelMonitor) {
+    var url = buildEndpointUrl(relativePath);
+    return cache.get(url, conditionalHeaders -> {
+      var startTime = Instant.now();
+      var httpFuture = client.getAsync(url, conditionalHeaders);
+      return processResponse("GET", cancelMonitor, httpFuture, startTime, url);
+    });
+  }
+
+  /**
+   * Execute GET with a streamed body and don't check response
+   */
+  public HttpClient.Response rawGetStream(String relativePath, SonarLintCancelMonitor cancelMonitor) {
+    var startTime = Instant.now();
+    var url = buildEndpointUrl(relativePath);
+
+    var httpFuture = client.getStreamAsync(url);
+    return processResponse("GET", cancelMonitor, httpFuture, startTime, url);
+  }
+
   public HttpClient.Response rawPost(String relativePath, String contentType, String body, SonarLintCancelMonitor cancelMonitor) {
     var startTime = Instant.now();
     var url = buildEndpointUrl(relativePath);
@@ -185,21 +268,21 @@ public class ServerApiHelper {
     var page = new AtomicInteger(0);
     var stop = new AtomicBoolean(false);
     var loaded = new AtomicInteger(0);
-    do {
-      page.incrementAndGet();
-      var fullUrl = new StringBuilder(relativeUrlWithoutPaginationParams);
-      fullUrl.append(relativeUrlWithoutPaginationParams.contains("?") ? "&" : "?");
-      fullUrl.append("ps=" + PAGE_SIZE + "&p=").append(page);
-      ServerApiHelper.consumeTimed(
-        () -> rawGet(fullUrl.toString(), cancelChecker),
-        response -> processPage(relativeUrlWithoutPaginationParams, responseParser, getPagingTotal, itemExtractor, itemConsumer, limitToTwentyPages, page, stop, loaded,
-          response),
-        duration -> LOG.debug("Page downloaded in {}ms", duration));
-    } while (!stop.get() && !cancelChecker.isCanceled());
+    var lastPage = new AtomicInteger(0);
+    try (var pageFetcher = new PageFetcher(relativeUrlWithoutPaginationParams, cancelChecker)) {
+      do {
+        page.incrementAndGet();
+        ServerApiHelper.consumeTimed(
+          () -> pageFetcher.fetch(page.get(), lastPage.get()),
+          response -> processPage(relativeUrlWithoutPaginationParams, responseParser, getPagingTotal, itemExtractor, itemConsumer, limitToTwentyPages, page, stop, loaded,
+            lastPage, response),
+          duration -> LOG.debug("Page downloaded in {}ms", duration));
+      } while (!stop.get() && !cancelChecker.isCanceled());
+    }
   }
 
   private static <F, G> void processPage(String baseUrl, CheckedFunction<InputStream, G> responseParser, Function<G, Number> getPagingTotal, Function<G, List<F>> itemExtractor,
-    Consumer<F> itemConsumer, boolean limitToTwentyPages, AtomicInteger page, AtomicBoolean stop, AtomicInteger loaded,
+    Consumer<F> itemConsumer, boolean limitToTwentyPages, AtomicInteger page, AtomicBoolean stop, AtomicInteger loaded, AtomicInteger lastPage,
     HttpClient.Response response)
     throws IOException {
     if (!response.isSuccessful()) {
@@ -219,12 +302,85 @@ public class ServerApiHelper {
     var pagingTotal = getPagingTotal.apply(protoBufResponse).longValue();
     // SONAR-9150 Some WS used to miss the paging information, so iterate until response is empty
     stop.set(isEmpty || (pagingTotal > 0 && page.get() * PAGE_SIZE >= pagingTotal));
+    if (pagingTotal > 0) {
+      var totalPages = (int) Math.min(Integer.MAX_VALUE, (pagingTotal + PAGE_SIZE - 1) / PAGE_SIZE);
+      lastPage.set(limitToTwentyPages ? Math.min(totalPages, MAX_PAGES) : totalPages);
+    }
     if (!stop.get() && limitToTwentyPages && page.get() >= MAX_PAGES) {
       stop.set(true);
       LOG.debug("Limiting number of requested pages from '{}' to {}. Some of the data won't be fetched", baseUrl, MAX_PAGES);
     }
   }
 
+  private String pageUrl(String relativeUrlWithoutPaginationParams, int page) {
+    var fullUrl = new StringBuilder(relativeUrlWithoutPaginationParams);
+    fullUrl.append(relativeUrlWithoutPaginationParams.contains("?") ? "&" : "?");
+    fullUrl.append("ps=" + PAGE_SIZE + "&p=").append(page);
+    return fullUrl.toString();
+  }
+
+  /**
+   * Requests the pages following the one being processed ahead of time, as soon as the total number of pages is known. Prefetched pages are
+   * fully read in the background, while the page being processed is streamed. Pages are still handed over in order.
+   * Only meant to be used from the thread iterating over the pages.
+   */
+  private class PageFetcher implements AutoCloseable {
+    private final String relativeUrlWithoutPaginationParams;
+    private final SonarLintCancelMonitor cancelMonitor;
+    private final Map<Integer, PendingPage> pendingPages = new HashMap<>();
+    private int lastRequestedPage;
+
+    private PageFetcher(String relativeUrlWithoutPaginationParams, SonarLintCancelMonitor cancelMonitor) {
+      this.relativeUrlWithoutPaginationParams = relativeUrlWithoutPaginationParams;
+      this.cancelMonitor = cancelMonitor;
+    }
+
+    /**
+     * @param lastPage the last page that will be requested, or 0 if not known yet
+     */
+    HttpClient.Response fetch(int page, int lastPage) {
+      var prefetchUpTo = Math.max(page, Math.min(page + paginationConcurrency - 1, lastPage));
+      while (lastRequestedPage < prefetchUpTo) {
+        lastRequestedPage++;
+        pendingPages.put(lastRequestedPage, request(lastRequestedPage, lastRequestedPage > page));
+      }
+      var pendingPage = pendingPages.remove(page);
+      return processResponse("GET", cancelMonitor, pendingPage.response, pendingPage.startTime, pendingPage.url);
+    }
+
+    private PendingPage request(int page, boolean prefetch) {
+      var startTime = Instant.now();
+      var url = buildEndpointUrl(pageUrl(relativeUrlWithoutPaginationParams, page));
+      var exchange = client.getStreamAsync(url);
+      if (!prefetch) {
+        return new PendingPage(url, startTime, exchange, exchange);
+      }
+      cancelMonitor.onCancel(() -> exchange.cancel(true));
+      return new PendingPage(url, startTime, exchange, exchange.thenApplyAsync(BufferedResponse::readFully, pageReaderExecutor));
+    }
+
+    @Override
+    public void close() {
+      // pages that were prefetched but are not needed anymore
+      pendingPages.values().forEach(pendingPage -> pendingPage.exchange.cancel(true));
+      pendingPages.clear();
+    }
+  }
+
+  private static class PendingPage {
+    private final String url;
+    private final Instant startTime;
+    private final CompletableFuture<HttpClient.Response> exchange;
+    private final CompletableFuture<HttpClient.Response> response;
+
+    private PendingPage(String url, Instant startTime, CompletableFuture<HttpClient.Response> exchange, CompletableFuture<HttpClient.Response> response) {
+      this.url = url;
+      this.startTime = startTime;
+      this.exchange = exchange;
+      this.response = response;
+    }
+  }
+
   public HttpClient.AsyncRequest getEventStream(String path, HttpConnectionListener connectionListener, Consumer<String> messageConsumer) {
     return client.getEventStream(buildEndpointUrl(path),
       connectionListener,
@@ -242,6 +398,7 @@ public class ServerApiHelper {
     G result;
     try (var response = responseSupplier.get()) {
       result = responseProcessor.apply(response);
+      logTransferredBytes(response, startTime);
     } catch (IOException e) {
       throw new IllegalStateException("Unable to parse WS response: " + e.getMessage(), e);
     }
@@ -249,6 +406,14 @@ public class ServerApiHelper {
     return result;
   }
 
+  private static void logTransferredBytes(HttpClient.Response response, Instant startTime) {
+    var receivedBytes = response.receivedBodyBytes();
+    if (receivedBytes >= 0) {
+      var duration = Duration.between(startTime, Instant.now());
+      LOG.debug("{} | body transfer time={}ms, received={} bytes, decompressed={} bytes", response.url(), duration.toMillis(), receivedBytes, response.readBodyBytes());
+    }
+  }
+
   public static void consumeTimed(Supplier<HttpClient.Response> responseSupplier, IOConsumer<HttpClient.Response> responseConsumer,
     LongConsumer durationConsumer) {
     processTimed(responseSupplier, r -> {
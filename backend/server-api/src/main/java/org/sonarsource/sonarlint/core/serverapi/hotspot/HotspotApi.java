@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
@@ -98,12 +99,23 @@ public class HotspotApi {
 
   public HotspotApi.HotspotsPullResult pullHotspots(String projectKey, String branchName, Set<SonarLanguage> enabledLanguages, @Nullable Long changedSince
     , SonarLintCancelMonitor cancelMonitor) {
+    List<Hotspots.HotspotLite> hotspots = new ArrayList<>();
+    var timestamp = pullHotspots(projectKey, branchName, enabledLanguages, changedSince, hotspots::add, cancelMonitor);
+    return new HotspotApi.HotspotsPullResult(timestamp, hotspots);
+  }
+
+  /**
+   * Same as {@link #pullHotspots(String, String, Set, Long, SonarLintCancelMonitor)}, but hotspots are passed to the consumer as soon as they are parsed
+   */
+  public Hotspots.HotspotPullQueryTimestamp pullHotspots(String projectKey, String branchName, Set<SonarLanguage> enabledLanguages, @Nullable Long changedSince,
+    Consumer<Hotspots.HotspotLite> hotspotConsumer, SonarLintCancelMonitor cancelMonitor) {
     return ServerApiHelper.processTimed(
-      () -> helper.get(getPullHotspotsUrl(projectKey, branchName, enabledLanguages, changedSince), cancelMonitor),
+      () -> helper.getStream(getPullHotspotsUrl(projectKey, branchName, enabledLanguages, changedSince), cancelMonitor),
       response -> {
         var input = response.bodyAsStream();
         var timestamp = Hotspots.HotspotPullQueryTimestamp.parseDelimitedFrom(input);
-        return new HotspotApi.HotspotsPullResult(timestamp, readMessages(input, Hotspots.HotspotLite.parser()));
+        readMessages(input, Hotspots.HotspotLite.parser(), hotspotConsumer);
+        return timestamp;
       },
       duration -> LOG.debug("Pulled issues in {}ms", duration));
   }
@@ -29,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.sonar.scanner.protocol.input.ScannerInput;
@@ -178,12 +179,23 @@ public class IssueApi {
 
   public IssuesPullResult pullIssues(String projectKey, String branchName, Set<SonarLanguage> enabledLanguages, @Nullable Long changedSince,
     SonarLintCancelMonitor cancelMonitor) {
+    List<Issues.IssueLite> issues = new ArrayList<>();
+    var timestamp = pullIssues(projectKey, branchName, enabledLanguages, changedSince, issues::add, cancelMonitor);
+    return new IssuesPullResult(timestamp, issues);
+  }
+
+  /**
+   * Same as {@link #pullIssues(String, String, Set, Long, SonarLintCancelMonitor)}, but issues are passed to the consumer as soon as they are parsed
+   */
+  public Issues.IssuesPullQueryTimestamp pullIssues(String projectKey, String branchName, Set<SonarLanguage> enabledLanguages, @Nullable Long changedSince,
+    Consumer<Issues.IssueLite> issueConsumer, SonarLintCancelMonitor cancelMonitor) {
     return ServerApiHelper.processTimed(
-      () -> serverApiHelper.get(getPullIssuesUrl(projectKey, branchName, enabledLanguages, changedSince), cancelMonitor),
+      () -> serverApiHelper.getStream(getPullIssuesUrl(projectKey, branchName, enabledLanguages, changedSince), cancelMonitor),
       response -> {
         var input = response.bodyAsStream();
         var timestamp = Issues.IssuesPullQueryTimestamp.parseDelimitedFrom(input);
-        return new IssuesPullResult(timestamp, readMessages(input, Issues.IssueLite.parser()));
+        readMessages(input, Issues.IssueLite.parser(), issueConsumer);
+        return timestamp;
       },
       duration -> LOG.debug("Pulled issues in {}ms", duration));
   }
@@ -222,12 +234,23 @@ public class IssueApi {
 
   public TaintIssuesPullResult pullTaintIssues(String projectKey, String branchName, Set<SonarLanguage> enabledLanguages, @Nullable Long changedSince,
     SonarLintCancelMonitor cancelMonitor) {
+    List<Issues.TaintVulnerabilityLite> taintIssues = new ArrayList<>();
+    var timestamp = pullTaintIssues(projectKey, branchName, enabledLanguages, changedSince, taintIssues::add, cancelMonitor);
+    return new TaintIssuesPullResult(timestamp, taintIssues);
+  }
+
+  /**
+   * Same as {@link #pullTaintIssues(String, String, Set, Long, SonarLintCancelMonitor)}, but issues are passed to the consumer as soon as they are parsed
+   */
+  public Issues.TaintVulnerabilityPullQueryTimestamp pullTaintIssues(String projectKey, String branchName, Set<SonarLanguage> enabledLanguages, @Nullable Long changedSince,
+    Consumer<Issues.TaintVulnerabilityLite> taintIssueConsumer, SonarLintCancelMonitor cancelMonitor) {
     return ServerApiHelper.processTimed(
-      () -> serverApiHelper.get(getPullTaintIssuesUrl(projectKey, branchName, enabledLanguages, changedSince), cancelMonitor),
+      () -> serverApiHelper.getStream(getPullTaintIssuesUrl(projectKey, branchName, enabledLanguages, changedSince), cancelMonitor),
       response -> {
         var input = response.bodyAsStream();
         var timestamp = Issues.TaintVulnerabilityPullQueryTimestamp.parseDelimitedFrom(input);
-        return new TaintIssuesPullResult(timestamp, readMessages(input, Issues.TaintVulnerabilityLite.parser()));
+        readMessages(input, Issues.TaintVulnerabilityLite.parser(), taintIssueConsumer);
+        return timestamp;
       },
       duration -> LOG.debug("Pulled taint issues in {}ms", duration));
   }
@@ -39,7 +39,7 @@ public class PluginsApi {
 
   public List<ServerPlugin> getInstalled(SonarLintCancelMonitor cancelMonitor) {
     return ServerApiHelper.processTimed(
-      () -> helper.get("/api/plugins/installed", cancelMonitor),
+      () -> helper.getCacheable("/api/plugins/installed", cancelMonitor),
       response -> {
         var plugins = new Gson().fromJson(response.bodyAsString(), InstalledPluginsPayload.class);
         return Arrays.stream(plugins.plugins).map(PluginsApi::toInstalledPlugin).collect(Collectors.toList());
@@ -54,7 +54,7 @@ public class PluginsApi {
   public void getPlugin(String key, ServerApiHelper.IOConsumer<InputStream> pluginFileConsumer, SonarLintCancelMonitor cancelMonitor) {
     var url = "api/plugins/download?plugin=" + key;
     ServerApiHelper.consumeTimed(
-      () -> helper.get(url, cancelMonitor),
+      () -> helper.getStream(url, cancelMonitor),
       response -> pluginFileConsumer.accept(response.bodyAsStream()),
       duration -> LOG.info("Downloaded '{}' in {}ms", key, duration));
   }
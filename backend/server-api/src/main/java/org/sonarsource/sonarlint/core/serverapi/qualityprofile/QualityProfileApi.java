@@ -48,7 +48,7 @@ public class QualityProfileApi {
       .ifPresent(org -> url.append("&organization=").append(UrlUtils.urlEncode(org)));
     try {
       qpResponse = ServerApiHelper.processTimed(
-        () -> helper.get(url.toString(), cancelMonitor),
+        () -> helper.getCacheable(url.toString(), cancelMonitor),
         response -> Qualityprofiles.SearchWsResponse.parseFrom(response.bodyAsStream()),
         duration -> LOG.debug("Downloaded project quality profiles in {}ms", duration));
       return qpResponse.getProfilesList().stream().map(QualityProfileApi::adapt).collect(Collectors.toList());
@@ -66,7 +66,7 @@ public class RulesApi {
   public Optional<ServerRule> getRule(String ruleKey, SonarLintCancelMonitor cancelMonitor) {
     var builder = new StringBuilder(RULE_SHOW_URL + ruleKey);
     serverApiHelper.getOrganizationKey().ifPresent(org -> builder.append("&organization=").append(UrlUtils.urlEncode(org)));
-    try (var response = serverApiHelper.get(builder.toString(), cancelMonitor)) {
+    try (var response = serverApiHelper.getCacheable(builder.toString(), cancelMonitor)) {
       var rule = Rules.ShowResponse.parseFrom(response.bodyAsStream()).getRule();
       return Optional.of(new ServerRule(rule.getName(), IssueSeverity.valueOf(rule.getSeverity()), RuleType.valueOf(rule.getType().name()), rule.getLang(), rule.getHtmlDesc(),
         convertDescriptionSections(rule),
@@ -47,7 +47,7 @@ public class SettingsApi {
     url.append(API_SETTINGS_PATH);
     url.append("?component=").append(UrlUtils.urlEncode(projectKey));
     ServerApiHelper.consumeTimed(
-      () -> helper.get(url.toString(), cancelMonitor),
+      () -> helper.getCacheable(url.toString(), cancelMonitor),
       response -> {
         try (var is = response.bodyAsStream()) {
           var values = Settings.ValuesWsResponse.parseFrom(is);
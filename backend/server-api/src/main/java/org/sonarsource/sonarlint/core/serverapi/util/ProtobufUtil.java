@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ProtobufUtil {
   private ProtobufUtil() {
@@ -35,6 +36,14 @@ public class ProtobufUtil {
 
   public static <T extends Message> List<T> readMessages(InputStream input, Parser<T> parser) {
     List<T> list = new ArrayList<>();
+    readMessages(input, parser, list::add);
+    return list;
+  }
+
+  /**
+   * Parse delimited messages one at a time, without keeping them in memory.
+   */
+  public static <T extends Message> void readMessages(InputStream input, Parser<T> parser, Consumer<T> messageConsumer) {
     while (true) {
       T message;
       try {
@@ -45,9 +54,8 @@ public class ProtobufUtil {
       if (message == null) {
         break;
       }
-      list.add(message);
+      messageConsumer.accept(message);
     }
-    return list;
   }
 
   public static <T extends Message> void writeMessages(OutputStream output, Iterable<T> messages) {
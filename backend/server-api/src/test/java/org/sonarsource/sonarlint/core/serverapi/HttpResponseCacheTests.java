@@ -0,0 +1,171 @@
+/*
+ * SonarLint Core - Server API
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.serverapi;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import mockwebserver3.MockResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.commons.progress.SonarLintCancelMonitor;
+import org.sonarsource.sonarlint.core.http.HttpClient;
+import org.sonarsource.sonarlint.core.http.HttpClientProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HttpResponseCacheTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  @RegisterExtension
+  static MockWebServerExtensionWithProtobuf mockServer = new MockWebServerExtensionWithProtobuf();
+
+  @TempDir
+  Path cacheDir;
+
+  private HttpResponseCache responseCache;
+  private ServerApiHelper underTest;
+
+  @BeforeEach
+  void prepare() {
+    responseCache = new HttpResponseCache(cacheDir);
+    underTest = new ServerApiHelper(mockServer.endpointParams(), HttpClientProvider.forTesting().getHttpClient(), responseCache);
+  }
+
+  @Test
+  void should_replay_cached_body_when_not_modified() {
+    mockServer.addResponse("/api/settings/values?keys=foo", new MockResponse().setBody("{\"settings\":[]}").setHeader("ETag", "\"v1\""));
+    try (var response = underTest.getCacheable("/api/settings/values?keys=foo", new SonarLintCancelMonitor())) {
+      assertThat(response.bodyAsString()).isEqualTo("{\"settings\":[]}");
+    }
+    assertThat(mockServer.takeRequest().getHeader("If-None-Match")).isNull();
+
+    mockServer.addResponse("/api/settings/values?keys=foo", new MockResponse().setResponseCode(304));
+    try (var response = underTest.getCacheable("/api/settings/values?keys=foo", new SonarLintCancelMonitor())) {
+      assertThat(response.code()).isEqualTo(200);
+      assertThat(response.bodyAsString()).isEqualTo("{\"settings\":[]}");
+    }
+    assertThat(mockServer.takeRequest().getHeader("If-None-Match")).isEqualTo("\"v1\"");
+
+    assertThat(responseCache.getHitRatesByEndpoint()).containsOnly(entry(mockServer.url("/api/settings/values"), 0.5));
+  }
+
+  @Test
+  void should_revalidate_with_last_modified_and_refresh_entry_when_modified() {
+    mockServer.addResponse("/api/system/status", new MockResponse().setBody("v1").setHeader("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT"));
+    underTest.getCacheable("/api/system/status", new SonarLintCancelMonitor()).close();
+    mockServer.takeRequest();
+
+    mockServer.addResponse("/api/system/status", new MockResponse().setBody("v2").setHeader("Last-Modified", "Thu, 22 Oct 2015 07:28:00 GMT"));
+    try (var response = underTest.getCacheable("/api/system/status", new SonarLintCancelMonitor())) {
+      assertThat(response.bodyAsString()).isEqualTo("v2");
+    }
+    assertThat(mockServer.takeRequest().getHeader("If-Modified-Since")).isEqualTo("Wed, 21 Oct 2015 07:28:00 GMT");
+
+    mockServer.addResponse("/api/system/status", new MockResponse().setResponseCode(304));
+    try (var response = underTest.getCacheable("/api/system/status", new SonarLintCancelMonitor())) {
+      assertThat(response.bodyAsString()).isEqualTo("v2");
+    }
+    assertThat(mockServer.takeRequest().getHeader("If-Modified-Since")).isEqualTo("Thu, 22 Oct 2015 07:28:00 GMT");
+  }
+
+  @Test
+  void should_not_store_responses_without_validators() throws Exception {
+    mockServer.addStringResponse("/api/plugins/installed", "{\"plugins\":[]}");
+
+    try (var response = underTest.getCacheable("/api/plugins/installed", new SonarLintCancelMonitor())) {
+      assertThat(response.bodyAsString()).isEqualTo("{\"plugins\":[]}");
+    }
+
+    try (var files = Files.list(cacheDir)) {
+      assertThat(files).isEmpty();
+    }
+  }
+
+  @Test
+  void should_refetch_when_cached_body_is_lost() throws Exception {
+    mockServer.addResponse("/api/qualityprofiles/search.protobuf", new MockResponse().setBody("v1").setHeader("ETag", "\"v1\""));
+    underTest.getCacheable("/api/qualityprofiles/search.protobuf", new SonarLintCancelMonitor()).close();
+    try (var files = Files.list(cacheDir)) {
+      files.filter(f -> f.toString().endsWith(".body")).forEach(f -> f.toFile().delete());
+    }
+    var notModified = mock(HttpClient.Response.class);
+    when(notModified.code()).thenReturn(304);
+    var refreshed = mock(HttpClient.Response.class);
+    when(refreshed.code()).thenReturn(200);
+    when(refreshed.isSuccessful()).thenReturn(true);
+    List<Map<String, String>> sentHeaders = new ArrayList<>();
+
+    var response = responseCache.get(mockServer.url("/api/qualityprofiles/search.protobuf"), headers -> {
+      sentHeaders.add(headers);
+      return sentHeaders.size() == 1 ? notModified : refreshed;
+    });
+
+    assertThat(response).isSameAs(refreshed);
+    assertThat(sentHeaders).containsExactly(Map.of("If-None-Match", "\"v1\""), Map.of());
+    verify(notModified).close();
+  }
+
+  @Test
+  void should_not_cache_responses_of_non_cacheable_requests() throws Exception {
+    mockServer.addResponse("/api/sources/raw?key=foo", new MockResponse().setBody("source").setHeader("ETag", "\"v1\""));
+
+    try (var response = underTest.get("/api/sources/raw?key=foo", new SonarLintCancelMonitor())) {
+      assertThat(response.bodyAsString()).isEqualTo("source");
+    }
+
+    assertThat(cacheDir).isEmptyDirectory();
+    assertThat(responseCache.getHitRatesByEndpoint()).isEmpty();
+  }
+
+  @Test
+  void should_evict_least_recently_used_entries_when_exceeding_max_size() throws Exception {
+    var boundedCache = new HttpResponseCache(cacheDir, 5);
+    var cachingHelper = new ServerApiHelper(mockServer.endpointParams(), HttpClientProvider.forTesting().getHttpClient(), boundedCache);
+    mockServer.addResponse("/api/rules/show.protobuf?key=java:S1", new MockResponse().setBody("rule1").setHeader("ETag", "\"v1\""));
+    cachingHelper.getCacheable("/api/rules/show.protobuf?key=java:S1", new SonarLintCancelMonitor()).close();
+    mockServer.takeRequest();
+    try (var files = Files.list(cacheDir)) {
+      files.forEach(f -> f.toFile().setLastModified(System.currentTimeMillis() - 60_000));
+    }
+
+    mockServer.addResponse("/api/rules/show.protobuf?key=java:S2", new MockResponse().setBody("rule2").setHeader("ETag", "\"v1\""));
+    cachingHelper.getCacheable("/api/rules/show.protobuf?key=java:S2", new SonarLintCancelMonitor()).close();
+    mockServer.takeRequest();
+
+    try (var files = Files.list(cacheDir)) {
+      assertThat(files).hasSize(2);
+    }
+    mockServer.addResponse("/api/rules/show.protobuf?key=java:S1", new MockResponse().setBody("rule1").setHeader("ETag", "\"v1\""));
+    cachingHelper.getCacheable("/api/rules/show.protobuf?key=java:S1", new SonarLintCancelMonitor()).close();
+    assertThat(mockServer.takeRequest().getHeader("If-None-Match")).isNull();
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * SonarLint Core - Server API
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.serverapi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.commons.progress.SonarLintCancelMonitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.sonarsource.sonarlint.core.serverapi.ServerApiHelper.MAX_PAGES;
+import static org.sonarsource.sonarlint.core.serverapi.ServerApiHelper.PAGE_SIZE;
+
+class ServerApiHelperTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  @RegisterExtension
+  static MockWebServerExtensionWithProtobuf mockServer = new MockWebServerExtensionWithProtobuf();
+
+  @Test
+  void should_deliver_prefetched_pages_in_order() {
+    var total = 5 * PAGE_SIZE;
+    for (var page = 1; page <= 5; page++) {
+      mockServer.addStringResponse("/api/items?ps=500&p=" + page, total + ";" + "p" + page + "a,p" + page + "b");
+    }
+
+    var items = getAllItems(false);
+
+    assertThat(items).containsExactly("p1a", "p1b", "p2a", "p2b", "p3a", "p3b", "p4a", "p4b", "p5a", "p5b");
+    assertThat(mockServer.getRequestCount()).isEqualTo(5);
+  }
+
+  @Test
+  void should_not_prefetch_beyond_max_pages() {
+    var total = 30 * PAGE_SIZE;
+    for (var page = 1; page <= 30; page++) {
+      mockServer.addStringResponse("/api/items?ps=500&p=" + page, total + ";" + "p" + page);
+    }
+
+    var items = getAllItems(true);
+
+    assertThat(items).containsExactlyElementsOf(IntStream.rangeClosed(1, MAX_PAGES).mapToObj(page -> "p" + page).collect(Collectors.toList()));
+    assertThat(mockServer.getRequestCount()).isEqualTo(MAX_PAGES);
+  }
+
+  @Test
+  void should_iterate_sequentially_until_empty_page_when_total_is_unknown() {
+    mockServer.addStringResponse("/api/items?ps=500&p=1", "0;p1");
+    mockServer.addStringResponse("/api/items?ps=500&p=2", "0;p2");
+    mockServer.addStringResponse("/api/items?ps=500&p=3", "0;");
+
+    var items = getAllItems(false);
+
+    assertThat(items).containsExactly("p1", "p2");
+    assertThat(mockServer.getRequestCount()).isEqualTo(3);
+  }
+
+  @Test
+  void should_stop_when_a_page_is_empty_and_discard_prefetched_ones() {
+    var total = 4 * PAGE_SIZE;
+    mockServer.addStringResponse("/api/items?ps=500&p=1", total + ";p1");
+    mockServer.addStringResponse("/api/items?ps=500&p=2", total + ";");
+    mockServer.addStringResponse("/api/items?ps=500&p=3", total + ";p3");
+    mockServer.addStringResponse("/api/items?ps=500&p=4", total + ";p4");
+
+    var items = getAllItems(false);
+
+    assertThat(items).containsExactly("p1");
+  }
+
+  private static List<String> getAllItems(boolean limitToTwentyPages) {
+    var items = new ArrayList<String>();
+    mockServer.serverApiHelper().getPaginated("api/items",
+      body -> new String(body.readAllBytes(), StandardCharsets.UTF_8).split(";", -1),
+      page -> Long.parseLong(page[0]),
+      page -> page[1].isEmpty() ? List.of() : Arrays.asList(page[1].split(",")),
+      items::add,
+      limitToTwentyPages,
+      new SonarLintCancelMonitor());
+    return items;
+  }
+}
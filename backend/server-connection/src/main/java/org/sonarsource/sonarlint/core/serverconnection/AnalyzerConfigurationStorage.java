@@ -19,11 +19,17 @@
  */
 package org.sonarsource.sonarlint.core.serverconnection;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
 import org.sonarsource.sonarlint.core.commons.IssueSeverity;
 import org.sonarsource.sonarlint.core.commons.log.SonarLintLogger;
 import org.sonarsource.sonarlint.core.serverapi.rules.ServerActiveRule;
@@ -34,10 +40,16 @@ import org.sonarsource.sonarlint.core.serverconnection.storage.StorageException;
 
 import static org.sonarsource.sonarlint.core.serverconnection.storage.ProtobufFileUtil.writeToFile;
 
+/**
+ * Keeps an in-memory snapshot of the last configuration read or written, so that repeated reads do not parse the storage file again.
+ * The snapshot is replaced on {@link #store(AnalyzerConfiguration)} and {@link #update(UnaryOperator)}, and dropped when the file is modified
+ * by another process.
+ */
 public class AnalyzerConfigurationStorage {
   private static final SonarLintLogger LOG = SonarLintLogger.get();
   private final RWLock rwLock = new RWLock();
   private final Path storageFilePath;
+  private volatile Snapshot snapshot;
 
   public AnalyzerConfigurationStorage(Path projectStorageRoot) {
     this.storageFilePath = projectStorageRoot.resolve("analyzer_config.pb");
@@ -51,7 +63,7 @@ public class AnalyzerConfigurationStorage {
     FileUtils.mkdirs(storageFilePath.getParent());
     var data = adapt(analyzerConfiguration);
     LOG.debug("Storing project analyzer configuration in {}", storageFilePath);
-    rwLock.write(() -> writeToFile(data, storageFilePath));
+    rwLock.write(() -> writeAndKeepSnapshot(data));
     LOG.debug("Stored project analyzer configuration");
   }
 
@@ -65,7 +77,17 @@ public class AnalyzerConfigurationStorage {
   }
 
   public AnalyzerConfiguration read() {
-    return adapt(rwLock.read(() -> readConfiguration(storageFilePath)));
+    var currentSnapshot = snapshot;
+    if (currentSnapshot != null && currentSnapshot.isUpToDate(storageFilePath)) {
+      return currentSnapshot.configuration;
+    }
+    return rwLock.read(() -> {
+      var fileState = FileState.of(storageFilePath);
+      var configuration = adapt(readConfiguration(storageFilePath));
+      // writers of this process hold the write lock, so they cannot change the file between the state check and the read
+      snapshot = fileState == null ? null : new Snapshot(fileState, configuration);
+      return configuration;
+    });
   }
 
   public void update(UnaryOperator<AnalyzerConfiguration> updater) {
@@ -78,11 +100,20 @@ public class AnalyzerConfigurationStorage {
         LOG.warn("Unable to read storage. Creating a new one.", e);
         config = Sonarlint.AnalyzerConfiguration.newBuilder().build();
       }
-      writeToFile(adapt(updater.apply(adapt(config))), storageFilePath);
+      writeAndKeepSnapshot(adapt(updater.apply(adapt(config))));
       LOG.debug("Storing project data in {}", storageFilePath);
     });
   }
 
+  private void writeAndKeepSnapshot(Sonarlint.AnalyzerConfiguration data) {
+    snapshot = null;
+    writeToFile(data, storageFilePath);
+    var fileState = FileState.of(storageFilePath);
+    if (fileState != null) {
+      snapshot = new Snapshot(fileState, adapt(data));
+    }
+  }
+
   private static Sonarlint.AnalyzerConfiguration readConfiguration(Path projectFilePath) {
     return ProtobufFileUtil.readFile(projectFilePath, Sonarlint.AnalyzerConfiguration.parser());
   }
@@ -133,4 +164,55 @@ public class AnalyzerConfigurationStorage {
       .putAllParams(rule.getParams())
       .build();
   }
+
+  private static class Snapshot {
+    private final FileState fileState;
+    private final AnalyzerConfiguration configuration;
+
+    private Snapshot(FileState fileState, AnalyzerConfiguration configuration) {
+      this.fileState = fileState;
+      this.configuration = configuration;
+    }
+
+    private boolean isUpToDate(Path storageFilePath) {
+      return fileState.equals(FileState.of(storageFilePath));
+    }
+  }
+
+  private static class FileState {
+    private final FileTime lastModifiedTime;
+    private final long size;
+
+    private FileState(FileTime lastModifiedTime, long size) {
+      this.lastModifiedTime = lastModifiedTime;
+      this.size = size;
+    }
+
+    @CheckForNull
+    private static FileState of(Path file) {
+      try {
+        var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return new FileState(attributes.lastModifiedTime(), attributes.size());
+      } catch (IOException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof FileState)) {
+        return false;
+      }
+      var that = (FileState) o;
+      return size == that.size && lastModifiedTime.equals(that.lastModifiedTime);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(lastModifiedTime, size);
+    }
+  }
 }
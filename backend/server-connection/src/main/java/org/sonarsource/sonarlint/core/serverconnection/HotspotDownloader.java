@@ -21,10 +21,12 @@ package org.sonarsource.sonarlint.core.serverconnection;
 
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
 import org.sonarsource.sonarlint.core.commons.HotspotReviewStatus;
 import org.sonarsource.sonarlint.core.commons.VulnerabilityProbability;
 import org.sonarsource.sonarlint.core.commons.api.SonarLanguage;
@@ -34,8 +36,6 @@ import org.sonarsource.sonarlint.core.serverapi.hotspot.HotspotApi;
 import org.sonarsource.sonarlint.core.serverapi.hotspot.ServerHotspot;
 import org.sonarsource.sonarlint.core.serverapi.proto.sonarqube.ws.Hotspots;
 
-import static java.util.function.Predicate.not;
-
 public class HotspotDownloader {
 
   private final Set<SonarLanguage> enabledLanguages;
@@ -52,19 +52,22 @@ public class HotspotDownloader {
    * @return List of hotspots. It can be empty but never null.
    */
   public PullResult downloadFromPull(HotspotApi hotspotApi, String projectKey, String branchName, Optional<Instant> lastSync, SonarLintCancelMonitor cancelMonitor) {
-    var apiResult = hotspotApi.pullHotspots(projectKey, branchName, enabledLanguages, lastSync.map(Instant::toEpochMilli).orElse(null), cancelMonitor);
-    var changedHotspots = apiResult.getHotspots()
-      .stream()
-      .filter(not(Hotspots.HotspotLite::getClosed))
-      .map(HotspotDownloader::convertLiteHotspot)
-      .collect(Collectors.toList());
-    var closedIssueKeys = apiResult.getHotspots()
-      .stream()
-      .filter(Hotspots.HotspotLite::getClosed)
-      .map(Hotspots.HotspotLite::getKey)
-      .collect(Collectors.toSet());
-
-    return new PullResult(Instant.ofEpochMilli(apiResult.getTimestamp().getQueryTimestamp()), changedHotspots, closedIssueKeys);
+    return downloadFromPull(hotspotApi, projectKey, branchName, lastSync, Integer.MAX_VALUE, (changedHotspots, closedHotspotKeys) -> {
+    }, cancelMonitor);
+  }
+
+  /**
+   * Same as {@link #downloadFromPull(HotspotApi, String, String, Optional, SonarLintCancelMonitor)}, but hotspots are converted while the response is parsed.
+   * Each time <code>batchSize</code> hotspots have been collected, they are passed to the batch consumer, so that they don't have to be all kept in memory.
+   *
+   * @return the hotspots of the last batch, that were not passed to the consumer
+   */
+  public PullResult downloadFromPull(HotspotApi hotspotApi, String projectKey, String branchName, Optional<Instant> lastSync, int batchSize,
+    BiConsumer<List<ServerHotspot>, Set<String>> batchConsumer, SonarLintCancelMonitor cancelMonitor) {
+    var batch = new Batch(batchSize, batchConsumer);
+    var timestamp = hotspotApi.pullHotspots(projectKey, branchName, enabledLanguages, lastSync.map(Instant::toEpochMilli).orElse(null), batch::add, cancelMonitor);
+
+    return new PullResult(Instant.ofEpochMilli(timestamp.getQueryTimestamp()), batch.changedHotspots, batch.closedHotspotKeys);
   }
 
   private static ServerHotspot convertLiteHotspot(Hotspots.HotspotLite liteHotspotFromWs) {
@@ -98,6 +101,31 @@ public class HotspotDownloader {
     );
   }
 
+  private static class Batch {
+    private final int size;
+    private final BiConsumer<List<ServerHotspot>, Set<String>> consumer;
+    private List<ServerHotspot> changedHotspots = new ArrayList<>();
+    private Set<String> closedHotspotKeys = new HashSet<>();
+
+    private Batch(int size, BiConsumer<List<ServerHotspot>, Set<String>> consumer) {
+      this.size = size;
+      this.consumer = consumer;
+    }
+
+    private void add(Hotspots.HotspotLite hotspot) {
+      if (hotspot.getClosed()) {
+        closedHotspotKeys.add(hotspot.getKey());
+      } else {
+        changedHotspots.add(convertLiteHotspot(hotspot));
+      }
+      if (changedHotspots.size() + closedHotspotKeys.size() >= size) {
+        consumer.accept(changedHotspots, closedHotspotKeys);
+        changedHotspots = new ArrayList<>();
+        closedHotspotKeys = new HashSet<>();
+      }
+    }
+  }
+
   public static class PullResult {
     private final Instant queryTimestamp;
     private final List<ServerHotspot> changedHotspots;
@@ -22,10 +22,11 @@ package org.sonarsource.sonarlint.core.serverconnection;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 import org.sonar.scanner.protocol.input.ScannerInput;
 import org.sonarsource.sonarlint.core.commons.IssueSeverity;
@@ -42,8 +43,6 @@ import org.sonarsource.sonarlint.core.serverconnection.issues.LineLevelServerIss
 import org.sonarsource.sonarlint.core.serverconnection.issues.RangeLevelServerIssue;
 import org.sonarsource.sonarlint.core.serverconnection.issues.ServerIssue;
 
-import static java.util.function.Predicate.not;
-
 public class IssueDownloader {
 
   private final Set<SonarLanguage> enabledLanguages;
@@ -90,26 +89,29 @@ public class IssueDownloader {
    * @return List of issues. It can be empty but never null.
    */
   public PullResult downloadFromPull(ServerApi serverApi, String projectKey, String branchName, Optional<Instant> lastSync, SonarLintCancelMonitor cancelMonitor) {
+    return downloadFromPull(serverApi, projectKey, branchName, lastSync, Integer.MAX_VALUE, (changedIssues, closedIssueKeys) -> {
+    }, cancelMonitor);
+  }
+
+  /**
+   * Same as {@link #downloadFromPull(ServerApi, String, String, Optional, SonarLintCancelMonitor)}, but issues are converted while the response is parsed.
+   * Each time <code>batchSize</code> issues have been collected, they are passed to the batch consumer, so that they don't have to be all kept in memory.
+   *
+   * @return the issues of the last batch, that were not passed to the consumer
+   */
+  public PullResult downloadFromPull(ServerApi serverApi, String projectKey, String branchName, Optional<Instant> lastSync, int batchSize,
+    BiConsumer<List<ServerIssue<?>>, Set<String>> batchConsumer, SonarLintCancelMonitor cancelMonitor) {
     var issueApi = serverApi.issue();
 
-    var apiResult = issueApi.pullIssues(projectKey, branchName, enabledLanguages, lastSync.map(Instant::toEpochMilli).orElse(null), cancelMonitor);
-    // Ignore project level issues
-    List<ServerIssue<?>> changedIssues = apiResult.getIssues()
-      .stream()
+    var batch = new Batch(batchSize, batchConsumer);
+    var timestamp = issueApi.pullIssues(projectKey, branchName, enabledLanguages, lastSync.map(Instant::toEpochMilli).orElse(null), issue -> {
       // Ignore project level issues
-      .filter(i -> i.getMainLocation().hasFilePath())
-      .filter(not(IssueLite::getClosed))
-      .map(IssueDownloader::convertLiteIssue)
-      .collect(Collectors.toList());
-    var closedIssueKeys = apiResult.getIssues()
-      .stream()
-      // Ignore project level issues
-      .filter(i -> i.getMainLocation().hasFilePath())
-      .filter(IssueLite::getClosed)
-      .map(IssueLite::getKey)
-      .collect(Collectors.toSet());
+      if (issue.getMainLocation().hasFilePath()) {
+        batch.add(issue);
+      }
+    }, cancelMonitor);
 
-    return new PullResult(Instant.ofEpochMilli(apiResult.getTimestamp().getQueryTimestamp()), changedIssues, closedIssueKeys);
+    return new PullResult(Instant.ofEpochMilli(timestamp.getQueryTimestamp()), batch.changedIssues, batch.closedIssueKeys);
   }
 
   private static ServerIssue<?> convertBatchIssue(ScannerInput.ServerIssue batchIssueFromWs) {
@@ -149,6 +151,31 @@ public class IssueDownloader {
     return new TextRangeWithHash(textRange.getStartLine(), textRange.getStartLineOffset(), textRange.getEndLine(), textRange.getEndLineOffset(), textRange.getHash());
   }
 
+  private static class Batch {
+    private final int size;
+    private final BiConsumer<List<ServerIssue<?>>, Set<String>> consumer;
+    private List<ServerIssue<?>> changedIssues = new ArrayList<>();
+    private Set<String> closedIssueKeys = new HashSet<>();
+
+    private Batch(int size, BiConsumer<List<ServerIssue<?>>, Set<String>> consumer) {
+      this.size = size;
+      this.consumer = consumer;
+    }
+
+    private void add(IssueLite issue) {
+      if (issue.getClosed()) {
+        closedIssueKeys.add(issue.getKey());
+      } else {
+        changedIssues.add(convertLiteIssue(issue));
+      }
+      if (changedIssues.size() + closedIssueKeys.size() >= size) {
+        consumer.accept(changedIssues, closedIssueKeys);
+        changedIssues = new ArrayList<>();
+        closedIssueKeys = new HashSet<>();
+      }
+    }
+  }
+
   public static class PullResult {
     private final Instant queryTimestamp;
     private final List<ServerIssue<?>> changedIssues;
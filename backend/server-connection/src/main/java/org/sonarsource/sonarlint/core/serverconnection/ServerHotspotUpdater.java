@@ -33,6 +33,8 @@ import static org.sonarsource.sonarlint.core.serverconnection.ServerUpdaterUtils
 public class ServerHotspotUpdater {
 
   private static final SonarLintLogger LOG = SonarLintLogger.get();
+  // number of pulled findings merged in the storage at once
+  private static final int PULL_BATCH_SIZE = 1000;
 
   private final ConnectionStorage storage;
   private final HotspotDownloader hotspotDownloader;
@@ -70,8 +72,10 @@ public class ServerHotspotUpdater {
 
     lastSync = computeLastSync(enabledLanguages, lastSync, storage.project(projectKey).findings().getLastHotspotEnabledLanguages(branchName));
 
-    var result = hotspotDownloader.downloadFromPull(hotspotApi, projectKey, branchName, lastSync, cancelMonitor);
-    storage.project(projectKey).findings().mergeHotspots(branchName, result.getChangedHotspots(), result.getClosedHotspotKeys(),
-      result.getQueryTimestamp(), enabledLanguages);
+    var findings = storage.project(projectKey).findings();
+    var result = hotspotDownloader.downloadFromPull(hotspotApi, projectKey, branchName, lastSync, PULL_BATCH_SIZE,
+      (changedHotspots, closedHotspotKeys) -> findings.mergeHotspots(branchName, changedHotspots, closedHotspotKeys), cancelMonitor);
+    // the sync timestamp is only stored with the last batch, so that an interrupted pull is restarted from the previous sync
+    findings.mergeHotspots(branchName, result.getChangedHotspots(), result.getClosedHotspotKeys(), result.getQueryTimestamp(), enabledLanguages);
   }
 }
@@ -40,6 +40,8 @@ import static org.sonarsource.sonarlint.core.serverconnection.ServerUpdaterUtils
 public class ServerIssueUpdater {
 
   private static final SonarLintLogger LOG = SonarLintLogger.get();
+  // number of pulled findings merged in the storage at once
+  private static final int PULL_BATCH_SIZE = 1000;
 
   private final ConnectionStorage storage;
   private final IssueDownloader issueDownloader;
@@ -65,9 +67,11 @@ public class ServerIssueUpdater {
 
     lastSync = computeLastSync(enabledLanguages, lastSync, storage.project(projectKey).findings().getLastIssueEnabledLanguages(branchName));
 
-    var result = issueDownloader.downloadFromPull(serverApi, projectKey, branchName, lastSync, cancelMonitor);
-    storage.project(projectKey).findings().mergeIssues(branchName, result.getChangedIssues(), result.getClosedIssueKeys(),
-      result.getQueryTimestamp(), enabledLanguages);
+    var findings = storage.project(projectKey).findings();
+    var result = issueDownloader.downloadFromPull(serverApi, projectKey, branchName, lastSync, PULL_BATCH_SIZE,
+      (changedIssues, closedIssueKeys) -> findings.mergeIssues(branchName, changedIssues, closedIssueKeys), cancelMonitor);
+    // the sync timestamp is only stored with the last batch, so that an interrupted pull is restarted from the previous sync
+    findings.mergeIssues(branchName, result.getChangedIssues(), result.getClosedIssueKeys(), result.getQueryTimestamp(), enabledLanguages);
   }
 
   public UpdateSummary<ServerTaintIssue> syncTaints(ServerApi serverApi, String projectKey, String branchName, Set<SonarLanguage> enabledLanguages,
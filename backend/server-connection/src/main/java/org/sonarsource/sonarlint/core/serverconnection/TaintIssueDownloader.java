@@ -24,6 +24,7 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -57,8 +58,6 @@ import org.sonarsource.sonarlint.core.serverapi.source.SourceApi;
 import org.sonarsource.sonarlint.core.serverapi.util.ServerApiUtils;
 import org.sonarsource.sonarlint.core.serverconnection.issues.ServerTaintIssue;
 
-import static java.util.function.Predicate.not;
-
 public class TaintIssueDownloader {
 
   private static final Pattern MATCH_ALL_WHITESPACES = Pattern.compile("\\s");
@@ -97,23 +96,21 @@ public class TaintIssueDownloader {
   public PullTaintResult downloadTaintFromPull(ServerApi serverApi, String projectKey, String branchName, Optional<Instant> lastSync, SonarLintCancelMonitor cancelMonitor) {
     var issueApi = serverApi.issue();
 
-    var apiResult = issueApi.pullTaintIssues(projectKey, branchName, enabledLanguages, lastSync.map(Instant::toEpochMilli).orElse(null), cancelMonitor);
-    var changedIssues = apiResult.getTaintIssues()
-      .stream()
-      // Ignore project level issues
-      .filter(i -> i.getMainLocation().hasFilePath())
-      .filter(not(TaintVulnerabilityLite::getClosed))
-      .map(TaintIssueDownloader::convertLiteTaintIssue)
-      .collect(Collectors.toList());
-    var closedIssueKeys = apiResult.getTaintIssues()
-      .stream()
+    List<ServerTaintIssue> changedIssues = new ArrayList<>();
+    Set<String> closedIssueKeys = new HashSet<>();
+    var timestamp = issueApi.pullTaintIssues(projectKey, branchName, enabledLanguages, lastSync.map(Instant::toEpochMilli).orElse(null), taintIssue -> {
       // Ignore project level issues
-      .filter(i -> i.getMainLocation().hasFilePath())
-      .filter(TaintVulnerabilityLite::getClosed)
-      .map(TaintVulnerabilityLite::getKey)
-      .collect(Collectors.toSet());
+      if (!taintIssue.getMainLocation().hasFilePath()) {
+        return;
+      }
+      if (taintIssue.getClosed()) {
+        closedIssueKeys.add(taintIssue.getKey());
+      } else {
+        changedIssues.add(convertLiteTaintIssue(taintIssue));
+      }
+    }, cancelMonitor);
 
-    return new PullTaintResult(Instant.ofEpochMilli(apiResult.getTimestamp().getQueryTimestamp()), changedIssues, closedIssueKeys);
+    return new PullTaintResult(Instant.ofEpochMilli(timestamp.getQueryTimestamp()), changedIssues, closedIssueKeys);
   }
 
   @CheckForNull
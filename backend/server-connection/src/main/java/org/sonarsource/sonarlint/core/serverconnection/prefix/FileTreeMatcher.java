@@ -58,12 +58,12 @@ public class FileTreeMatcher {
     return higherScoreResult(resultScores);
   }
 
-  private static double computeScore(@Nullable Double currentScore, ReversePathTree.Match match) {
+  static double computeScore(@Nullable Double currentScore, ReversePathTree.Match match) {
     var matchScore = (double) match.matchLen() / match.matchPrefixes().size();
     return currentScore != null ? (currentScore.doubleValue() + matchScore) : matchScore;
   }
 
-  private static Path getIdePrefix(Path idePath, ReversePathTree.Match match) {
+  static Path getIdePrefix(Path idePath, ReversePathTree.Match match) {
     var prefixLen = depth(idePath) - match.matchLen();
     if (prefixLen > 0) {
       return idePath.subpath(0, depth(idePath) - match.matchLen());
@@ -71,7 +71,7 @@ public class FileTreeMatcher {
     return Paths.get("");
   }
 
-  private static Result higherScoreResult(Map<Result, Double> prefixes) {
+  static Result higherScoreResult(Map<Result, Double> prefixes) {
     // Prefere higher score
     Comparator<Map.Entry<Result, Double>> c = Comparator.comparing(Map.Entry::getValue);
     c = c
@@ -0,0 +1,101 @@
+/*
+ * SonarLint Core - Server Connection
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.serverconnection.prefix;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Same matching as {@link FileTreeMatcher}, but the IDE paths can be added and removed one by one without matching again all the other
+ * paths. The server paths are indexed once, and the contribution of each IDE path to the score of the results is remembered, so that it
+ * can be withdrawn when the path is removed.
+ */
+public class IncrementalFileTreeMatcher {
+  private final ReversePathTree serverPathTree = new ReversePathTree();
+  private final Map<Path, Contribution> contributionsByIdePath = new HashMap<>();
+  private final Map<FileTreeMatcher.Result, Double> resultScores = new LinkedHashMap<>();
+  private final Map<FileTreeMatcher.Result, Integer> contributorsCountByResult = new HashMap<>();
+
+  public IncrementalFileTreeMatcher(Collection<Path> serverRelativePaths) {
+    serverRelativePaths.forEach(serverPathTree::index);
+  }
+
+  /**
+   * Adding a path that was already added has no effect
+   */
+  public synchronized void addIdePath(Path ideRelativePath) {
+    if (contributionsByIdePath.containsKey(ideRelativePath)) {
+      return;
+    }
+    var match = serverPathTree.findLongestSuffixMatches(ideRelativePath);
+    if (match.matchLen() == 0) {
+      contributionsByIdePath.put(ideRelativePath, Contribution.NONE);
+      return;
+    }
+    var idePrefix = FileTreeMatcher.getIdePrefix(ideRelativePath, match);
+    var matchScore = FileTreeMatcher.computeScore(null, match);
+    List<FileTreeMatcher.Result> results = new ArrayList<>();
+    for (Path sqPrefix : match.matchPrefixes()) {
+      var result = new FileTreeMatcher.Result(idePrefix, sqPrefix);
+      resultScores.merge(result, matchScore, Double::sum);
+      contributorsCountByResult.merge(result, 1, Integer::sum);
+      results.add(result);
+    }
+    contributionsByIdePath.put(ideRelativePath, new Contribution(results, matchScore));
+  }
+
+  public synchronized void removeIdePath(Path ideRelativePath) {
+    var contribution = contributionsByIdePath.remove(ideRelativePath);
+    if (contribution == null) {
+      return;
+    }
+    for (var result : contribution.results) {
+      var remainingContributors = contributorsCountByResult.merge(result, -1, Integer::sum);
+      if (remainingContributors == 0) {
+        // don't keep rounding errors around
+        contributorsCountByResult.remove(result);
+        resultScores.remove(result);
+      } else {
+        resultScores.merge(result, -contribution.score, Double::sum);
+      }
+    }
+  }
+
+  public synchronized FileTreeMatcher.Result currentMatch() {
+    return FileTreeMatcher.higherScoreResult(resultScores);
+  }
+
+  private static class Contribution {
+    private static final Contribution NONE = new Contribution(List.of(), 0);
+
+    private final List<FileTreeMatcher.Result> results;
+    private final double score;
+
+    private Contribution(List<FileTreeMatcher.Result> results, double score) {
+      this.results = results;
+      this.score = score;
+    }
+  }
+}
@@ -65,6 +65,12 @@ public interface ProjectServerIssueStore {
    */
   void mergeIssues(String branchName, List<ServerIssue<?>> issuesToMerge, Set<String> closedIssueKeysToDelete, Instant syncTimestamp, Set<SonarLanguage> enabledLanguages);
 
+  /**
+   * Merge a batch of an ongoing issue pull, without updating the last sync timestamp.
+   * The pull is completed by {@link #mergeIssues(String, List, Set, Instant, Set)} with the last batch.
+   */
+  void mergeIssues(String branchName, List<ServerIssue<?>> issuesToMerge, Set<String> closedIssueKeysToDelete);
+
   /**
    * Merge provided taint issues to stored ones for the given project:
    *  - new issues are added
@@ -81,6 +87,12 @@ public interface ProjectServerIssueStore {
    */
   void mergeHotspots(String branchName, List<ServerHotspot> hotspotsToMerge, Set<String> closedHotspotKeysToDelete, Instant syncTimestamp, Set<SonarLanguage> enabledLanguages);
 
+  /**
+   * Merge a batch of an ongoing hotspot pull, without updating the last sync timestamp.
+   * The pull is completed by {@link #mergeHotspots(String, List, Set, Instant, Set)} with the last batch.
+   */
+  void mergeHotspots(String branchName, List<ServerHotspot> hotspotsToMerge, Set<String> closedHotspotKeysToDelete);
+
   /**
    * Return the timestamp of the last issue sync for a given branch.
    * @return empty if the issues of the branch have never been pulled
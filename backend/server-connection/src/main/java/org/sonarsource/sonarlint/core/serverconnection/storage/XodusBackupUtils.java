@@ -0,0 +1,171 @@
+/*
+ * SonarLint Core - Server Connection
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.serverconnection.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import jetbrains.exodus.backup.Backupable;
+import jetbrains.exodus.backup.VirtualFileDescriptor;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Backup of a Xodus database as a plain copy of its files.
+ * Xodus only appends to its log files, and old files are never modified, so only the new files and the last one have to be copied
+ * on each backup, instead of compressing the whole database.
+ */
+public class XodusBackupUtils {
+
+  private static final String TMP_SUFFIX = ".tmp";
+  private static final String LOCK_FILE = "backup.lock";
+
+  private XodusBackupUtils() {
+  }
+
+  /**
+   * Copy the backup into the destination directory. Fall back to the tarball created by older versions if there is no backup directory,
+   * or if the tarball was written after the last backup into the directory, by an older version sharing the same storage.
+   * The copy holds a shared lock, so that it does not read the files of a backup in progress.
+   */
+  public static synchronized void restore(Path backupDir, Path legacyBackupFile, Path destinationDir) throws IOException {
+    if (Files.isDirectory(backupDir) && !isLegacyBackupNewer(backupDir, legacyBackupFile)) {
+      try (var lockChannel = FileChannel.open(backupDir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        var lock = lockChannel.lock(0, Long.MAX_VALUE, true)) {
+        for (var backupFile : listBackupFiles(backupDir)) {
+          var destinationFile = destinationDir.resolve(backupDir.relativize(backupFile));
+          Files.createDirectories(destinationFile.getParent());
+          // keep the last modification time, used to detect unchanged files on the next backup
+          Files.copy(backupFile, destinationFile, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+      }
+    } else if (Files.isRegularFile(legacyBackupFile)) {
+      TarGzUtils.extractTarGz(legacyBackupFile, destinationDir);
+    }
+  }
+
+  /**
+   * The lock file is touched at the end of each backup into the directory, so it tells when the last one completed.
+   */
+  private static boolean isLegacyBackupNewer(Path backupDir, Path legacyBackupFile) throws IOException {
+    if (!Files.isRegularFile(legacyBackupFile)) {
+      return false;
+    }
+    var lockFile = backupDir.resolve(LOCK_FILE);
+    return !Files.isRegularFile(lockFile) || Files.getLastModifiedTime(legacyBackupFile).compareTo(Files.getLastModifiedTime(lockFile)) > 0;
+  }
+
+  /**
+   * Update the backup directory so that it contains the same files as the database. Unchanged files are not copied again,
+   * files that are no longer part of the database are deleted. Each file is replaced atomically, so that a crash during the backup
+   * leaves readable files, that Xodus recovers on startup.
+   * Several instances of the same database can be backed up concurrently, backups are serialized so that their files are not mixed.
+   */
+  public static synchronized void backup(Backupable database, Path backupDir, Path legacyBackupFile) throws Exception {
+    Files.createDirectories(backupDir);
+    var lockFile = backupDir.resolve(LOCK_FILE);
+    try (var lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      var lock = lockChannel.lock()) {
+      backup(database, backupDir);
+      Files.setLastModifiedTime(lockFile, FileTime.from(Instant.now()));
+    }
+    Files.deleteIfExists(legacyBackupFile);
+  }
+
+  private static void backup(Backupable database, Path backupDir) throws Exception {
+    var strategy = database.getBackupStrategy();
+    strategy.beforeBackup();
+    try {
+      Set<Path> backedUpFiles = new HashSet<>();
+      for (var descriptor : strategy.getContents()) {
+        if (strategy.isInterrupted()) {
+          throw new IllegalStateException("Backup of " + backupDir + " was interrupted");
+        }
+        if (!descriptor.hasContent()) {
+          continue;
+        }
+        var size = Math.min(descriptor.getFileSize(), strategy.acceptFile(descriptor));
+        if (size > 0) {
+          var backupFile = backupFile(backupDir, descriptor);
+          backedUpFiles.add(backupFile);
+          if (!isUnchanged(backupFile, descriptor, size)) {
+            copy(descriptor, size, backupFile);
+          }
+        }
+      }
+      for (var file : listBackupFiles(backupDir)) {
+        if (!backedUpFiles.contains(file)) {
+          Files.delete(file);
+        }
+      }
+    } catch (Exception e) {
+      strategy.onError(e);
+      throw e;
+    } finally {
+      strategy.afterBackup();
+    }
+  }
+
+  private static Path backupFile(Path backupDir, VirtualFileDescriptor descriptor) throws IOException {
+    var backupFile = backupDir.resolve(descriptor.getPath() + descriptor.getName()).normalize();
+    if (!backupFile.startsWith(backupDir.normalize())) {
+      throw new IOException("File is outside of the backup dir: " + descriptor.getPath() + descriptor.getName());
+    }
+    return backupFile;
+  }
+
+  private static boolean isUnchanged(Path backupFile, VirtualFileDescriptor descriptor, long size) throws IOException {
+    return Files.isRegularFile(backupFile)
+      && Files.size(backupFile) == size
+      && Files.getLastModifiedTime(backupFile).toMillis() == descriptor.getTimeStamp();
+  }
+
+  private static void copy(VirtualFileDescriptor descriptor, long size, Path backupFile) throws IOException {
+    Files.createDirectories(backupFile.getParent());
+    var tmpFile = Files.createTempFile(backupFile.getParent(), backupFile.getFileName().toString(), TMP_SUFFIX);
+    var in = descriptor.getInputStream();
+    try (var out = Files.newOutputStream(tmpFile)) {
+      IOUtils.copyLarge(in, out, 0, size);
+    } finally {
+      if (descriptor.shouldCloseStream()) {
+        in.close();
+      }
+    }
+    Files.setLastModifiedTime(tmpFile, FileTime.fromMillis(descriptor.getTimeStamp()));
+    Files.move(tmpFile, backupFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static List<Path> listBackupFiles(Path backupDir) throws IOException {
+    try (var files = Files.walk(backupDir)) {
+      return files
+        .filter(Files::isRegularFile)
+        .filter(file -> !file.getFileName().toString().endsWith(TMP_SUFFIX) && !file.getFileName().toString().equals(LOCK_FILE))
+        .collect(Collectors.toList());
+    }
+  }
+}
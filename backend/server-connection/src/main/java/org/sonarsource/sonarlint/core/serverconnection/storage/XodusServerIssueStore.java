@@ -25,7 +25,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
@@ -35,8 +34,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import jetbrains.exodus.entitystore.Entity;
@@ -47,7 +48,6 @@ import jetbrains.exodus.entitystore.StoreTransaction;
 import jetbrains.exodus.entitystore.StoreTransactionalExecutable;
 import jetbrains.exodus.env.EnvironmentConfig;
 import jetbrains.exodus.env.Environments;
-import jetbrains.exodus.util.CompressBackupUtil;
 import org.apache.commons.io.FileUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -81,9 +81,10 @@ import static org.sonarsource.sonarlint.core.serverconnection.storage.StorageUti
 
 public class XodusServerIssueStore implements ProjectServerIssueStore {
 
-  static final int CURRENT_SCHEMA_VERSION = 2;
+  static final int CURRENT_SCHEMA_VERSION = 3;
 
   private static final String BACKUP_TAR_GZ = "backup.tar.gz";
+  private static final String BACKUP_DIR = "backup";
 
   private static final String HOTSPOTS = "hotspots";
 
@@ -123,6 +124,8 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
   private static final String VULNERABILITY_PROBABILITY_PROPERTY_NAME = "vulnerabilityProbability";
   private static final String TYPE_PROPERTY_NAME = "type";
   private static final String PATH_PROPERTY_NAME = "path";
+  // indexed lookup key of a file, made of the branch entity id and the file path
+  private static final String BRANCH_AND_PATH_PROPERTY_NAME = "branchAndPath";
   private static final String NAME_PROPERTY_NAME = "name";
   private static final String LAST_ISSUE_SYNC_PROPERTY_NAME = "lastIssueSync";
   private static final String LAST_ISSUE_ENABLED_LANGUAGES = "lastIssueEnabledLanguages";
@@ -142,6 +145,8 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
 
   private final Path backupFile;
 
+  private final Path backupDir;
+
   private final Path xodusDbDir;
 
   public XodusServerIssueStore(Path backupDir, Path workDir) throws IOException {
@@ -151,12 +156,15 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
   XodusServerIssueStore(Path backupDir, Path workDir, StoreTransactionalExecutable afterInit) throws IOException {
     xodusDbDir = Files.createTempDirectory(workDir, "xodus-issue-store");
     backupFile = backupDir.resolve(BACKUP_TAR_GZ);
-    if (Files.isRegularFile(backupFile)) {
-      LOG.debug("Restoring previous server issue database from {}", backupFile);
+    this.backupDir = backupDir.resolve(BACKUP_DIR);
+    if (Files.isDirectory(this.backupDir) || Files.isRegularFile(backupFile)) {
+      LOG.debug("Restoring previous server issue database from {}", backupDir);
       try {
-        TarGzUtils.extractTarGz(backupFile, xodusDbDir);
+        XodusBackupUtils.restore(this.backupDir, backupFile, xodusDbDir);
       } catch (Exception e) {
-        LOG.error("Unable to restore backup {}", backupFile);
+        LOG.error("Unable to restore backup {}", backupDir);
+        FileUtils.deleteQuietly(xodusDbDir.toFile());
+        Files.createDirectories(xodusDbDir);
       }
     }
     LOG.debug("Starting server issue database from {}", xodusDbDir);
@@ -317,8 +325,7 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
 
   private <G> List<G> loadIssue(String branchName, Path filePath, String linkName, Function<Entity, G> adapter) {
     return entityStore.computeInReadonlyTransaction(txn -> findUnique(txn, BRANCH_ENTITY_TYPE, NAME_PROPERTY_NAME, branchName)
-      .map(branch -> branch.getLinks(BRANCH_TO_FILES_LINK_NAME))
-      .flatMap(files -> findUniqueAmong(files, PATH_PROPERTY_NAME, filePath.toString()))
+      .flatMap(branch -> findFile(txn, branch, filePath.toString()))
       .map(fileToLoad -> fileToLoad.getLinks(linkName))
       .map(issueEntities -> StreamSupport.stream(issueEntities.spliterator(), false)
         .map(adapter)
@@ -346,19 +353,30 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
 
   @Override
   public void mergeIssues(String branchName, List<ServerIssue<?>> issuesToMerge, Set<String> closedIssueKeysToDelete, Instant syncTimestamp, Set<SonarLanguage> enabledLanguages) {
-    var issuesByFilePath = issuesToMerge.stream().collect(Collectors.groupingBy(ServerIssue::getFilePath));
-    timed(mergedMessage(issuesToMerge.size(), closedIssueKeysToDelete.size(), ISSUES), () -> entityStore.executeInTransaction(txn -> {
-      var branch = getOrCreateBranch(branchName, txn);
-      issuesByFilePath.forEach((filePath, issues) -> {
-        var fileEntity = getOrCreateFile(branch, filePath, txn);
-        issues.forEach(issue -> updateOrCreateIssue(fileEntity, issue, txn));
-        txn.flush();
-      });
-      closedIssueKeysToDelete.forEach(issueKey -> remove(issueKey, txn));
+    mergeIssues(branchName, issuesToMerge, closedIssueKeysToDelete, branch -> {
       branch.setProperty(LAST_ISSUE_SYNC_PROPERTY_NAME, syncTimestamp);
 
       String serializedLanguages = getSerializedLanguages(enabledLanguages);
       branch.setProperty(LAST_ISSUE_ENABLED_LANGUAGES, serializedLanguages);
+    });
+  }
+
+  @Override
+  public void mergeIssues(String branchName, List<ServerIssue<?>> issuesToMerge, Set<String> closedIssueKeysToDelete) {
+    mergeIssues(branchName, issuesToMerge, closedIssueKeysToDelete, branch -> {
+    });
+  }
+
+  private void mergeIssues(String branchName, List<ServerIssue<?>> issuesToMerge, Set<String> closedIssueKeysToDelete, Consumer<Entity> branchUpdater) {
+    var issuesByFilePath = issuesToMerge.stream().collect(Collectors.groupingBy(ServerIssue::getFilePath));
+    timed(mergedMessage(issuesToMerge.size(), closedIssueKeysToDelete.size(), ISSUES), () -> executeInFlushingTransaction(txn -> {
+      var branch = getOrCreateBranch(branchName, txn);
+      if (!writeFileByFile(txn, branch, issuesByFilePath, (fileEntity, issues) -> issues.forEach(issue -> updateOrCreateIssue(fileEntity, issue, txn)))) {
+        return false;
+      }
+      closedIssueKeysToDelete.forEach(issueKey -> remove(issueKey, txn));
+      branchUpdater.accept(branch);
+      return true;
     }));
   }
 
@@ -366,36 +384,47 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
   public void mergeTaintIssues(String branchName, List<ServerTaintIssue> issuesToMerge, Set<String> closedIssueKeysToDelete,
     Instant syncTimestamp, Set<SonarLanguage> enabledLanguages) {
     var issuesByFilePath = issuesToMerge.stream().collect(Collectors.groupingBy(ServerTaintIssue::getFilePath));
-    timed(mergedMessage(issuesToMerge.size(), closedIssueKeysToDelete.size(), "taint issues"), () -> entityStore.executeInTransaction(txn -> {
+    timed(mergedMessage(issuesToMerge.size(), closedIssueKeysToDelete.size(), "taint issues"), () -> executeInFlushingTransaction(txn -> {
       var branch = getOrCreateBranch(branchName, txn);
-      issuesByFilePath.forEach((filePath, issues) -> {
-        var fileEntity = getOrCreateFile(branch, filePath, txn);
-        issues.forEach(issue -> updateOrCreateTaintIssue(branch, fileEntity, issue, txn));
-        txn.flush();
-      });
+      if (!writeFileByFile(txn, branch, issuesByFilePath,
+        (fileEntity, issues) -> issues.forEach(issue -> updateOrCreateTaintIssue(branch, fileEntity, issue, txn)))) {
+        return false;
+      }
       closedIssueKeysToDelete.forEach(issueKey -> removeTaint(issueKey, txn));
       branch.setProperty(LAST_TAINT_SYNC_PROPERTY_NAME, syncTimestamp);
 
       String serializedLanguages = getSerializedLanguages(enabledLanguages);
       branch.setProperty(LAST_TAINT_ENABLED_LANGUAGES, serializedLanguages);
+      return true;
     }));
   }
 
   @Override
   public void mergeHotspots(String branchName, List<ServerHotspot> hotspotsToMerge, Set<String> closedHotspotKeysToDelete, Instant syncTimestamp, Set<SonarLanguage> enabledLanguages) {
-    var hotspotsByFilePath = hotspotsToMerge.stream().collect(Collectors.groupingBy(ServerHotspot::getFilePath));
-    timed(mergedMessage(hotspotsToMerge.size(), closedHotspotKeysToDelete.size(), HOTSPOTS), () -> entityStore.executeInTransaction(txn -> {
-      var branch = getOrCreateBranch(branchName, txn);
-      hotspotsByFilePath.forEach((filePath, hotspots) -> {
-        var fileEntity = getOrCreateFile(branch, filePath, txn);
-        hotspots.forEach(hotspot -> updateOrCreateHotspot(fileEntity, hotspot, txn));
-        txn.flush();
-      });
-      closedHotspotKeysToDelete.forEach(hotspotKey -> removeHotspot(hotspotKey, txn));
+    mergeHotspots(branchName, hotspotsToMerge, closedHotspotKeysToDelete, branch -> {
       branch.setProperty(LAST_HOTSPOT_SYNC_PROPERTY_NAME, syncTimestamp);
 
       String serializedLanguages = getSerializedLanguages(enabledLanguages);
       branch.setProperty(LAST_HOTSPOT_ENABLED_LANGUAGES, serializedLanguages);
+    });
+  }
+
+  @Override
+  public void mergeHotspots(String branchName, List<ServerHotspot> hotspotsToMerge, Set<String> closedHotspotKeysToDelete) {
+    mergeHotspots(branchName, hotspotsToMerge, closedHotspotKeysToDelete, branch -> {
+    });
+  }
+
+  private void mergeHotspots(String branchName, List<ServerHotspot> hotspotsToMerge, Set<String> closedHotspotKeysToDelete, Consumer<Entity> branchUpdater) {
+    var hotspotsByFilePath = hotspotsToMerge.stream().collect(Collectors.groupingBy(ServerHotspot::getFilePath));
+    timed(mergedMessage(hotspotsToMerge.size(), closedHotspotKeysToDelete.size(), HOTSPOTS), () -> executeInFlushingTransaction(txn -> {
+      var branch = getOrCreateBranch(branchName, txn);
+      if (!writeFileByFile(txn, branch, hotspotsByFilePath, (fileEntity, hotspots) -> hotspots.forEach(hotspot -> updateOrCreateHotspot(fileEntity, hotspot, txn)))) {
+        return false;
+      }
+      closedHotspotKeysToDelete.forEach(hotspotKey -> removeHotspot(hotspotKey, txn));
+      branchUpdater.accept(branch);
+      return true;
     }));
   }
 
@@ -456,7 +485,7 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
   @Override
   public void replaceAllIssuesOfBranch(String branchName, List<ServerIssue<?>> issues) {
     var issuesByFile = issues.stream().collect(Collectors.groupingBy(ServerIssue::getFilePath));
-    timed(wroteMessage(issues.size(), ISSUES), () -> entityStore.executeInTransaction(txn -> {
+    timed(wroteMessage(issues.size(), ISSUES), () -> executeInFlushingTransaction(txn -> {
       var branch = getOrCreateBranch(branchName, txn);
       branch.getLinks(BRANCH_TO_FILES_LINK_NAME).forEach(fileEntity -> {
         var entityFilePathStr = ((String) fileEntity.getProperty(PATH_PROPERTY_NAME));
@@ -465,19 +494,14 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
           deleteAllIssuesOfFile(txn, fileEntity);
         }
       });
-      txn.flush();
-      issuesByFile.forEach((filePath, fileIssues) -> {
-        var fileEntity = getOrCreateFile(branch, filePath, txn);
-        replaceAllIssuesOfFile(fileIssues, txn, fileEntity);
-        txn.flush();
-      });
+      return txn.flush() && writeFileByFile(txn, branch, issuesByFile, (fileEntity, fileIssues) -> replaceAllIssuesOfFile(fileIssues, txn, fileEntity));
     }));
   }
 
   @Override
   public void replaceAllHotspotsOfBranch(String branchName, Collection<ServerHotspot> serverHotspots) {
     var hotspotsByFile = serverHotspots.stream().collect(Collectors.groupingBy(ServerHotspot::getFilePath));
-    timed(wroteMessage(serverHotspots.size(), HOTSPOTS), () -> entityStore.executeInTransaction(txn -> {
+    timed(wroteMessage(serverHotspots.size(), HOTSPOTS), () -> executeInFlushingTransaction(txn -> {
       var branch = getOrCreateBranch(branchName, txn);
       branch.getLinks(BRANCH_TO_FILES_LINK_NAME).forEach(fileEntity -> {
         var entityFilePathStr = ((String) fileEntity.getProperty(PATH_PROPERTY_NAME));
@@ -486,12 +510,7 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
           deleteAllHotspotsOfFile(txn, fileEntity);
         }
       });
-      txn.flush();
-      hotspotsByFile.forEach((filePath, fileIssues) -> {
-        var fileEntity = getOrCreateFile(branch, filePath, txn);
-        replaceAllHotspotsOfFile(fileIssues, txn, fileEntity);
-        txn.flush();
-      });
+      return txn.flush() && writeFileByFile(txn, branch, hotspotsByFile, (fileEntity, fileIssues) -> replaceAllHotspotsOfFile(fileIssues, txn, fileEntity));
     }));
   }
 
@@ -590,18 +609,44 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
   @Override
   public void replaceAllTaintsOfBranch(String branchName, List<ServerTaintIssue> taintIssues) {
     var taintsByFile = taintIssues.stream().collect(Collectors.groupingBy(ServerTaintIssue::getFilePath));
-    timed(wroteMessage(taintIssues.size(), "taints"), () -> entityStore.executeInTransaction(txn -> {
+    timed(wroteMessage(taintIssues.size(), "taints"), () -> executeInFlushingTransaction(txn -> {
       var branch = getOrCreateBranch(branchName, txn);
       deleteAllTaintsOfBranch(branch, taintsByFile.keySet());
-      txn.flush();
-      taintsByFile.forEach((filePath, fileIssues) -> {
-        var fileEntity = getOrCreateFile(branch, filePath, txn);
-        fileIssues.forEach(issue -> updateOrCreateTaintIssue(branch, fileEntity, issue, txn));
-        txn.flush();
-      });
+      return txn.flush() && writeFileByFile(txn, branch, taintsByFile,
+        (fileEntity, fileIssues) -> fileIssues.forEach(issue -> updateOrCreateTaintIssue(branch, fileEntity, issue, txn)));
     }));
   }
 
+  /**
+   * Executes writes that flush the transaction along the way, to keep it small. An intermediate flush fails when a concurrent transaction
+   * modified the same data, and the transaction is then reverted to the latest snapshot. In this case the writes are executed again from the
+   * start, so that none of them is lost.
+   *
+   * @param writes returns false when an intermediate flush failed
+   */
+  private void executeInFlushingTransaction(Predicate<StoreTransaction> writes) {
+    entityStore.executeInTransaction(txn -> {
+      while (!writes.test(txn)) {
+        LOG.debug("Concurrent modification of the issue store, writing again");
+      }
+    });
+  }
+
+  /**
+   * Writes the findings of each file, and flushes after each file
+   *
+   * @return false if a flush failed
+   */
+  private static <T> boolean writeFileByFile(StoreTransaction txn, Entity branch, Map<Path, List<T>> findingsByFile, BiConsumer<Entity, List<T>> fileWriter) {
+    for (var entry : findingsByFile.entrySet()) {
+      fileWriter.accept(getOrCreateFile(branch, entry.getKey(), txn), entry.getValue());
+      if (!txn.flush()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private static Entity getOrCreateBranch(String branchName, StoreTransaction txn) {
     return findUnique(txn, BRANCH_ENTITY_TYPE, NAME_PROPERTY_NAME, branchName)
       .orElseGet(() -> {
@@ -612,15 +657,24 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
   }
 
   private static Entity getOrCreateFile(Entity branchEntity, Path filePath, StoreTransaction txn) {
-    return findUniqueAmong(branchEntity.getLinks(BRANCH_TO_FILES_LINK_NAME), PATH_PROPERTY_NAME, filePath.toString())
+    return findFile(txn, branchEntity, filePath.toString())
       .orElseGet(() -> {
         var file = txn.newEntity(FILE_ENTITY_TYPE);
         file.setProperty(PATH_PROPERTY_NAME, filePath.toString());
+        file.setProperty(BRANCH_AND_PATH_PROPERTY_NAME, branchAndPath(branchEntity, filePath.toString()));
         branchEntity.addLink(BRANCH_TO_FILES_LINK_NAME, file);
         return file;
       });
   }
 
+  private static Optional<Entity> findFile(StoreTransaction txn, Entity branchEntity, String filePath) {
+    return findUnique(txn, FILE_ENTITY_TYPE, BRANCH_AND_PATH_PROPERTY_NAME, branchAndPath(branchEntity, filePath));
+  }
+
+  private static String branchAndPath(Entity branchEntity, String filePath) {
+    return branchEntity.getId() + ":" + filePath;
+  }
+
   private static void updateOrCreateIssue(Entity fileEntity, ServerIssue issue, StoreTransaction transaction) {
     var issueEntity = updateOrCreateIssueCommon(fileEntity, issue.getKey(), transaction, ISSUE_ENTITY_TYPE, FILE_TO_ISSUES_LINK_NAME);
     updateIssueEntity(issueEntity, issue);
@@ -895,10 +949,9 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
   }
 
   public void backup() {
-    LOG.debug("Creating backup of server issue database in {}", backupFile);
+    LOG.debug("Creating backup of server issue database in {}", backupDir);
     try {
-      var backupTmp = CompressBackupUtil.backup(entityStore, backupFile.getParent().toFile(), "backup", false);
-      Files.move(backupTmp.toPath(), backupFile, StandardCopyOption.ATOMIC_MOVE);
+      XodusBackupUtils.backup(entityStore, backupDir, backupFile);
     } catch (Exception e) {
       LOG.error("Unable to backup server issue database", e);
     }
@@ -959,10 +1012,16 @@ public class XodusServerIssueStore implements ProjectServerIssueStore {
       // Migrate v0 to v1: force re-sync of taint vulnerabilities
       txn.getAll(BRANCH_ENTITY_TYPE).forEach(b -> b.setProperty(LAST_TAINT_SYNC_PROPERTY_NAME, Instant.EPOCH));
     }
-    if (currentSchemaVersion < CURRENT_SCHEMA_VERSION) {
+    if (currentSchemaVersion < 2) {
       // Migrate v1 to v2: assign a UUID to each taint
       txn.getAll(TAINT_ISSUE_ENTITY_TYPE).forEach(entity -> entity.setProperty(ID_PROPERTY_NAME, UUID.randomUUID()));
-
+    }
+    if (currentSchemaVersion < 3) {
+      // Migrate v2 to v3: index files by branch and path
+      txn.getAll(BRANCH_ENTITY_TYPE).forEach(branch -> branch.getLinks(BRANCH_TO_FILES_LINK_NAME)
+        .forEach(file -> file.setProperty(BRANCH_AND_PATH_PROPERTY_NAME, branchAndPath(branch, (String) requireNonNull(file.getProperty(PATH_PROPERTY_NAME))))));
+    }
+    if (currentSchemaVersion < CURRENT_SCHEMA_VERSION) {
       // Set schema version to current after migration(s)
       txn.getAll(SCHEMA_ENTITY_TYPE).forEach(Entity::delete);
       var newSchema = txn.newEntity(SCHEMA_ENTITY_TYPE);
@@ -0,0 +1,101 @@
+/*
+ * SonarLint Core - Server Connection
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.serverconnection;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonarsource.sonarlint.core.commons.IssueSeverity;
+import org.sonarsource.sonarlint.core.commons.log.SonarLintLogTester;
+import org.sonarsource.sonarlint.core.serverapi.rules.ServerActiveRule;
+import org.sonarsource.sonarlint.core.serverconnection.storage.StorageException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AnalyzerConfigurationStorageTests {
+  @RegisterExtension
+  private static final SonarLintLogTester logTester = new SonarLintLogTester();
+
+  @TempDir
+  private Path projectStorageRoot;
+
+  @Test
+  void should_not_be_valid_when_nothing_stored() {
+    var storage = new AnalyzerConfigurationStorage(projectStorageRoot);
+
+    assertThat(storage.isValid()).isFalse();
+    assertThrows(StorageException.class, storage::read);
+  }
+
+  @Test
+  void should_serve_reads_from_memory_after_store() throws Exception {
+    var storage = new AnalyzerConfigurationStorage(projectStorageRoot);
+    storage.store(configuration("value1"));
+
+    var firstRead = storage.read();
+    var secondRead = storage.read();
+
+    assertThat(firstRead.getSettings().getAll()).containsEntry("key", "value1");
+    assertThat(firstRead.getRuleSetByLanguageKey().get("java").getRules()).extracting(ServerActiveRule::getRuleKey).containsExactly("java:S1");
+    assertThat(secondRead).isSameAs(firstRead);
+    assertThat(storage.isValid()).isTrue();
+  }
+
+  @Test
+  void should_replace_snapshot_on_update() {
+    var storage = new AnalyzerConfigurationStorage(projectStorageRoot);
+    storage.store(configuration("value1"));
+    var readAfterStore = storage.read();
+
+    storage.update(current -> new AnalyzerConfiguration(new Settings(Map.of("key", "value2")), current.getRuleSetByLanguageKey(), current.getSchemaVersion()));
+
+    var readAfterUpdate = storage.read();
+    assertThat(readAfterUpdate).isNotSameAs(readAfterStore);
+    assertThat(readAfterUpdate.getSettings().getAll()).containsEntry("key", "value2");
+  }
+
+  @Test
+  void should_reload_when_file_modified_by_another_process() throws Exception {
+    var storage = new AnalyzerConfigurationStorage(projectStorageRoot);
+    storage.store(configuration("value1"));
+    var firstRead = storage.read();
+
+    var otherStorage = new AnalyzerConfigurationStorage(projectStorageRoot);
+    otherStorage.store(configuration("value22"));
+    Files.setLastModifiedTime(projectStorageRoot.resolve("analyzer_config.pb"), FileTime.from(Instant.now().plusSeconds(10)));
+
+    var secondRead = storage.read();
+    assertThat(secondRead).isNotSameAs(firstRead);
+    assertThat(secondRead.getSettings().getAll()).containsEntry("key", "value22");
+  }
+
+  private static AnalyzerConfiguration configuration(String settingValue) {
+    var rule = new ServerActiveRule("java:S1", IssueSeverity.MAJOR, Map.of(), "");
+    return new AnalyzerConfiguration(new Settings(Map.of("key", settingValue)), Map.of("java", new RuleSet(List.of(rule), "2024-01-01")),
+      AnalyzerConfiguration.CURRENT_SCHEMA_VERSION);
+  }
+}
@@ -21,6 +21,8 @@ package org.sonarsource.sonarlint.core.serverconnection;
 
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import mockwebserver3.MockResponse;
@@ -43,6 +45,7 @@ import org.sonarsource.sonarlint.core.serverapi.proto.sonarqube.ws.Issues.Locati
 import org.sonarsource.sonarlint.core.serverconnection.issues.FileLevelServerIssue;
 import org.sonarsource.sonarlint.core.serverconnection.issues.LineLevelServerIssue;
 import org.sonarsource.sonarlint.core.serverconnection.issues.RangeLevelServerIssue;
+import org.sonarsource.sonarlint.core.serverconnection.issues.ServerIssue;
 import testutils.MockWebServerExtensionWithProtobuf;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -283,6 +286,39 @@ class IssueDownloaderTests {
     assertThat(issues.getClosedIssueKeys()).isEmpty();
   }
 
+  @Test
+  void test_pull_issues_in_batches() {
+    var timestamp = Issues.IssuesPullQueryTimestamp.newBuilder().setQueryTimestamp(123L).build();
+    var issue1 = anIssueLite("uuid1").build();
+    var issue2 = anIssueLite("uuid2").setClosed(true).build();
+    var issue3 = anIssueLite("uuid3").build();
+
+    mockServer.addProtobufResponseDelimited("/api/issues/pull?projectKey=" + DUMMY_KEY + "&branchName=myBranch&languages=java", timestamp, issue1, issue2, issue3);
+
+    List<List<ServerIssue<?>>> changedIssuesBatches = new ArrayList<>();
+    List<Set<String>> closedIssueKeysBatches = new ArrayList<>();
+    var result = underTest.downloadFromPull(serverApi, DUMMY_KEY, "myBranch", Optional.empty(), 2, (changedIssues, closedIssueKeys) -> {
+      changedIssuesBatches.add(changedIssues);
+      closedIssueKeysBatches.add(closedIssueKeys);
+    }, new SonarLintCancelMonitor());
+
+    assertThat(changedIssuesBatches).hasSize(1);
+    assertThat(changedIssuesBatches.get(0)).extracting(ServerIssue::getKey).containsOnly("uuid1");
+    assertThat(closedIssueKeysBatches.get(0)).containsOnly("uuid2");
+    assertThat(result.getQueryTimestamp()).isEqualTo(Instant.ofEpochMilli(123L));
+    assertThat(result.getChangedIssues()).extracting(ServerIssue::getKey).containsOnly("uuid3");
+    assertThat(result.getClosedIssueKeys()).isEmpty();
+  }
+
+  private static IssueLite.Builder anIssueLite(String key) {
+    return IssueLite.newBuilder()
+      .setKey(key)
+      .setRuleKey("sonarjava:S123")
+      .setType(Common.RuleType.BUG)
+      .setMainLocation(Location.newBuilder().setFilePath("foo/bar/Hello.java").setMessage("Primary message"))
+      .setCreationDate(123456789L);
+  }
+
   @Test
   void test_ignore_taint_vulnerabilities() {
     var issue1 = ScannerInput.ServerIssue.newBuilder()
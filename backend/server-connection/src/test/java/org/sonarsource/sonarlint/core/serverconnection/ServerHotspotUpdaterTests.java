@@ -38,6 +38,7 @@ import org.sonarsource.sonarlint.core.serverconnection.storage.ProjectServerIssu
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -96,7 +97,7 @@ class ServerHotspotUpdaterTests {
     var hotspotKey = "hotspotKey";
     var hotspots = List.of(aServerHotspot(hotspotKey));
     var cancelMonitor = new SonarLintCancelMonitor();
-    when(hotspotDownloader.downloadFromPull(hotspotApi, PROJECT_KEY, "branch", Optional.empty(), cancelMonitor))
+    when(hotspotDownloader.downloadFromPull(eq(hotspotApi), eq(PROJECT_KEY), eq("branch"), eq(Optional.empty()), anyInt(), any(), eq(cancelMonitor)))
       .thenReturn(new HotspotDownloader.PullResult(timestamp, hotspots, Set.of()));
 
     updater.sync(hotspotApi, PROJECT_KEY, "branch", Set.of(SonarLanguage.C), cancelMonitor);
@@ -115,7 +116,7 @@ class ServerHotspotUpdaterTests {
     var hotspotKey = "hotspotKey";
     var hotspots = List.of(aServerHotspot(hotspotKey));
     var cancelMonitor = new SonarLintCancelMonitor();
-    when(hotspotDownloader.downloadFromPull(hotspotApi, PROJECT_KEY, "branch", Optional.of(timestamp), cancelMonitor))
+    when(hotspotDownloader.downloadFromPull(eq(hotspotApi), eq(PROJECT_KEY), eq("branch"), eq(Optional.of(timestamp)), anyInt(), any(), eq(cancelMonitor)))
       .thenReturn(new HotspotDownloader.PullResult(timestamp, hotspots, Set.of()));
     when(issueStore.getLastHotspotEnabledLanguages("branch")).thenReturn(lastHotspotEnabledLanguages);
     when(issueStore.getLastHotspotSyncTimestamp("branch")).thenReturn(Optional.of(timestamp));
@@ -127,7 +128,7 @@ class ServerHotspotUpdaterTests {
     assertThat(hotspotCaptor.getValue()).hasSize(1);
     var capturedHotspot = (ServerHotspot) (hotspotCaptor.getValue().get(0));
     assertThat(capturedHotspot.getKey()).isEqualTo(hotspotKey);
-    verify(hotspotDownloader).downloadFromPull(hotspotApi, projectBinding.projectKey(), "branch", Optional.of(timestamp), cancelMonitor);
+    verify(hotspotDownloader).downloadFromPull(eq(hotspotApi), eq(projectBinding.projectKey()), eq("branch"), eq(Optional.of(timestamp)), anyInt(), any(), eq(cancelMonitor));
   }
 
   @Test
@@ -137,7 +138,7 @@ class ServerHotspotUpdaterTests {
     var hotspotKey = "hotspotKey";
     var hotspots = List.of(aServerHotspot(hotspotKey));
     var cancelMonitor = new SonarLintCancelMonitor();
-    when(hotspotDownloader.downloadFromPull(hotspotApi, PROJECT_KEY, "branch", Optional.empty(), cancelMonitor))
+    when(hotspotDownloader.downloadFromPull(eq(hotspotApi), eq(PROJECT_KEY), eq("branch"), eq(Optional.empty()), anyInt(), any(), eq(cancelMonitor)))
       .thenReturn(new HotspotDownloader.PullResult(timestamp, hotspots, Set.of()));
     when(issueStore.getLastHotspotEnabledLanguages("branch")).thenReturn(lastHotspotEnabledLanguages);
     when(issueStore.getLastHotspotSyncTimestamp("branch")).thenReturn(Optional.of(timestamp));
@@ -149,7 +150,7 @@ class ServerHotspotUpdaterTests {
     assertThat(hotspotCaptor.getValue()).hasSize(1);
     var capturedHotspot = (ServerHotspot) (hotspotCaptor.getValue().get(0));
     assertThat(capturedHotspot.getKey()).isEqualTo(hotspotKey);
-    verify(hotspotDownloader).downloadFromPull(hotspotApi, projectBinding.projectKey(), "branch", Optional.empty(), cancelMonitor);
+    verify(hotspotDownloader).downloadFromPull(eq(hotspotApi), eq(projectBinding.projectKey()), eq("branch"), eq(Optional.empty()), anyInt(), any(), eq(cancelMonitor));
   }
 
   @Test
@@ -159,7 +160,7 @@ class ServerHotspotUpdaterTests {
     var hotspotKey = "hotspotKey";
     var hotspots = List.of(aServerHotspot(hotspotKey));
     var cancelMonitor = new SonarLintCancelMonitor();
-    when(hotspotDownloader.downloadFromPull(hotspotApi, PROJECT_KEY, "branch", Optional.empty(), cancelMonitor))
+    when(hotspotDownloader.downloadFromPull(eq(hotspotApi), eq(PROJECT_KEY), eq("branch"), eq(Optional.empty()), anyInt(), any(), eq(cancelMonitor)))
       .thenReturn(new HotspotDownloader.PullResult(timestamp, hotspots, Set.of()));
     when(issueStore.getLastHotspotEnabledLanguages("branch")).thenReturn(lastHotspotEnabledLanguages);
     when(issueStore.getLastHotspotSyncTimestamp("branch")).thenReturn(Optional.of(timestamp));
@@ -171,6 +172,6 @@ class ServerHotspotUpdaterTests {
     assertThat(hotspotCaptor.getValue()).hasSize(1);
     var capturedHotspot = (ServerHotspot) (hotspotCaptor.getValue().get(0));
     assertThat(capturedHotspot.getKey()).isEqualTo(hotspotKey);
-    verify(hotspotDownloader).downloadFromPull(hotspotApi, projectBinding.projectKey(), "branch", Optional.empty(), cancelMonitor);
+    verify(hotspotDownloader).downloadFromPull(eq(hotspotApi), eq(projectBinding.projectKey()), eq("branch"), eq(Optional.empty()), anyInt(), any(), eq(cancelMonitor));
   }
 }
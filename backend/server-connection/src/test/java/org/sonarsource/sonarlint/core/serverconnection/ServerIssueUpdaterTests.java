@@ -42,6 +42,7 @@ import org.sonarsource.sonarlint.core.serverconnection.storage.ProjectServerIssu
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
@@ -108,7 +109,7 @@ class ServerIssueUpdaterTests {
     var lastSync = Optional.<Instant>empty();
     when(issueStore.getLastIssueSyncTimestamp("master")).thenReturn(lastSync);
     var cancelMonitor = new SonarLintCancelMonitor();
-    when(downloader.downloadFromPull(serverApi, projectBinding.projectKey(), "master", lastSync, cancelMonitor)).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
+    when(downloader.downloadFromPull(eq(serverApi), eq(projectBinding.projectKey()), eq("master"), eq(lastSync), anyInt(), any(), eq(cancelMonitor))).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
 
     updater.update(serverApi, projectBinding.projectKey(), "master", false, IssueApi.MIN_SQ_VERSION_SUPPORTING_PULL, cancelMonitor);
 
@@ -126,7 +127,7 @@ class ServerIssueUpdaterTests {
     when(issueStore.getLastIssueSyncTimestamp("master")).thenReturn(lastSync);
     when(downloader.getEnabledLanguages()).thenReturn(Set.of(SonarLanguage.C, SonarLanguage.GO));
     var cancelMonitor = new SonarLintCancelMonitor();
-    when(downloader.downloadFromPull(serverApi, projectBinding.projectKey(), "master", lastSync, cancelMonitor)).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
+    when(downloader.downloadFromPull(eq(serverApi), eq(projectBinding.projectKey()), eq("master"), eq(lastSync), anyInt(), any(), eq(cancelMonitor))).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
 
     updater.update(serverApi, projectBinding.projectKey(), "master", false, IssueApi.MIN_SQ_VERSION_SUPPORTING_PULL, cancelMonitor);
 
@@ -144,9 +145,9 @@ class ServerIssueUpdaterTests {
     when(issueStore.getLastIssueEnabledLanguages("master")).thenReturn(lastIssueEnabledLanguages);
     when(downloader.getEnabledLanguages()).thenReturn(Set.of(SonarLanguage.C));
     var cancelMonitor = new SonarLintCancelMonitor();
-    when(downloader.downloadFromPull(serverApi, projectBinding.projectKey(), "master", Optional.empty(), cancelMonitor)).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
+    when(downloader.downloadFromPull(eq(serverApi), eq(projectBinding.projectKey()), eq("master"), eq(Optional.empty()), anyInt(), any(), eq(cancelMonitor))).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
     updater.update(serverApi, projectBinding.projectKey(), "master", false, IssueApi.MIN_SQ_VERSION_SUPPORTING_PULL, cancelMonitor);
-    verify(downloader).downloadFromPull(serverApi, projectBinding.projectKey(), "master", Optional.empty(), cancelMonitor);
+    verify(downloader).downloadFromPull(eq(serverApi), eq(projectBinding.projectKey()), eq("master"), eq(Optional.empty()), anyInt(), any(), eq(cancelMonitor));
   }
 
   @Test
@@ -160,9 +161,9 @@ class ServerIssueUpdaterTests {
     when(issueStore.getLastIssueEnabledLanguages("master")).thenReturn(lastIssueEnabledLanguages);
     when(downloader.getEnabledLanguages()).thenReturn(Set.of(SonarLanguage.C));
     var cancelMonitor = new SonarLintCancelMonitor();
-    when(downloader.downloadFromPull(serverApi, projectBinding.projectKey(), "master", Optional.empty(), cancelMonitor)).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
+    when(downloader.downloadFromPull(eq(serverApi), eq(projectBinding.projectKey()), eq("master"), eq(Optional.empty()), anyInt(), any(), eq(cancelMonitor))).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
     updater.update(serverApi, projectBinding.projectKey(), "master", false, IssueApi.MIN_SQ_VERSION_SUPPORTING_PULL, cancelMonitor);
-    verify(downloader).downloadFromPull(serverApi, projectBinding.projectKey(), "master", Optional.empty(), cancelMonitor);
+    verify(downloader).downloadFromPull(eq(serverApi), eq(projectBinding.projectKey()), eq("master"), eq(Optional.empty()), anyInt(), any(), eq(cancelMonitor));
   }
 
   @Test
@@ -176,9 +177,9 @@ class ServerIssueUpdaterTests {
     when(issueStore.getLastIssueEnabledLanguages("master")).thenReturn(lastIssueEnabledLanguages);
     when(downloader.getEnabledLanguages()).thenReturn(Set.of(SonarLanguage.C, SonarLanguage.GO));
     var cancelMonitor = new SonarLintCancelMonitor();
-    when(downloader.downloadFromPull(serverApi, projectBinding.projectKey(), "master", lastSync, cancelMonitor)).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
+    when(downloader.downloadFromPull(eq(serverApi), eq(projectBinding.projectKey()), eq("master"), eq(lastSync), anyInt(), any(), eq(cancelMonitor))).thenReturn(new IssueDownloader.PullResult(queryTimestamp, issues, Set.of()));
     updater.update(serverApi, projectBinding.projectKey(), "master", false, IssueApi.MIN_SQ_VERSION_SUPPORTING_PULL, cancelMonitor);
-    verify(downloader).downloadFromPull(serverApi, projectBinding.projectKey(), "master", lastSync, cancelMonitor);
+    verify(downloader).downloadFromPull(eq(serverApi), eq(projectBinding.projectKey()), eq("master"), eq(lastSync), anyInt(), any(), eq(cancelMonitor));
   }
 
   @Test
@@ -0,0 +1,91 @@
+/*
+ * SonarLint Core - Server Connection
+ * Copyright (C) 2016-2024 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarsource.sonarlint.core.serverconnection.prefix;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalFileTreeMatcherTests {
+
+  private static final List<Path> SQ_PATHS = List.of(
+    Paths.get("sq1/pom.xml"),
+    Paths.get("sq1/build.properties"),
+    Paths.get("sq2/pom.xml"),
+    Paths.get("sq2/build.properties"),
+    Paths.get("sq3/pom.xml"),
+    Paths.get("sq3/build.properties"),
+    Paths.get("sq4/src/A.java"));
+
+  @Test
+  void should_match_like_file_tree_matcher() {
+    var idePaths = List.of(
+      Paths.get("local1/pom.xml"),
+      Paths.get("local1/build.properties"),
+      Paths.get("local1/src/A.java"));
+    var underTest = new IncrementalFileTreeMatcher(SQ_PATHS);
+
+    idePaths.forEach(underTest::addIdePath);
+
+    var match = underTest.currentMatch();
+    assertThat(match).isEqualTo(new FileTreeMatcher().match(SQ_PATHS, idePaths));
+    assertThat(match.idePrefix()).isEqualTo(Paths.get("local1"));
+    assertThat(match.sqPrefix()).isEqualTo(Paths.get("sq4"));
+  }
+
+  @Test
+  void should_return_empty_prefixes_when_no_ide_path() {
+    var underTest = new IncrementalFileTreeMatcher(SQ_PATHS);
+
+    var match = underTest.currentMatch();
+
+    assertThat(match.idePrefix()).isEqualTo(Paths.get(""));
+    assertThat(match.sqPrefix()).isEqualTo(Paths.get(""));
+  }
+
+  @Test
+  void should_update_match_when_ide_paths_are_removed() {
+    var underTest = new IncrementalFileTreeMatcher(SQ_PATHS);
+    underTest.addIdePath(Paths.get("local1/pom.xml"));
+    underTest.addIdePath(Paths.get("local1/src/A.java"));
+    assertThat(underTest.currentMatch().sqPrefix()).isEqualTo(Paths.get("sq4"));
+
+    underTest.removeIdePath(Paths.get("local1/src/A.java"));
+
+    assertThat(underTest.currentMatch()).isEqualTo(new FileTreeMatcher().match(SQ_PATHS, List.of(Paths.get("local1/pom.xml"))));
+    assertThat(underTest.currentMatch().sqPrefix()).isEqualTo(Paths.get("sq1"));
+  }
+
+  @Test
+  void should_ignore_paths_added_twice_or_unknown_paths_removed() {
+    var underTest = new IncrementalFileTreeMatcher(SQ_PATHS);
+    underTest.addIdePath(Paths.get("local1/pom.xml"));
+    underTest.addIdePath(Paths.get("local1/src/A.java"));
+    underTest.addIdePath(Paths.get("local1/src/A.java"));
+    underTest.removeIdePath(Paths.get("local1/unknown.txt"));
+
+    underTest.removeIdePath(Paths.get("local1/src/A.java"));
+
+    assertThat(underTest.currentMatch().sqPrefix()).isEqualTo(Paths.get("sq1"));
+  }
+}
@@ -116,4 +116,43 @@ class XodusServerIssueStoreMigrationTests {
       }
     }
   }
+
+  @Test
+  void should_migrate_v2_to_v3() throws IOException {
+    XodusServerIssueStore storeV2 = null;
+    try {
+      storeV2 = new XodusServerIssueStore(backupDir, workDir);
+      storeV2.replaceAllIssuesOfFile("somebranch", Path.of("file/path"), List.of(ServerIssueFixtures.aServerIssue()));
+    } finally {
+      if (storeV2 != null) {
+        storeV2.close();
+      }
+    }
+
+    XodusServerIssueStore unindexedStore = null;
+    try {
+      // Emulate a v2 store, having no file index
+      unindexedStore = new XodusServerIssueStore(backupDir, workDir, txn -> {
+        txn.getAll("File").forEach(file -> file.deleteProperty("branchAndPath"));
+        txn.getAll("Schema").forEach(schema -> schema.setProperty("version", 2));
+      });
+      assertThat(unindexedStore.getCurrentSchemaVersion()).isEqualTo(2);
+      assertThat(unindexedStore.load("somebranch", Path.of("file/path"))).isEmpty();
+    } finally {
+      if (unindexedStore != null) {
+        unindexedStore.close();
+      }
+    }
+
+    XodusServerIssueStore storeV3 = null;
+    try {
+      storeV3 = new XodusServerIssueStore(backupDir, workDir);
+      assertThat(storeV3.getCurrentSchemaVersion()).isEqualTo(XodusServerIssueStore.CURRENT_SCHEMA_VERSION);
+      assertThat(storeV3.load("somebranch", Path.of("file/path"))).hasSize(1);
+    } finally {
+      if (storeV3 != null) {
+        storeV3.close();
+      }
+    }
+  }
 }
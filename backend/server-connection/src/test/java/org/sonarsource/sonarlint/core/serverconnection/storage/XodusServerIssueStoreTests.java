@@ -23,9 +23,17 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -216,6 +224,15 @@ class XodusServerIssueStoreTests {
       .containsOnly("key1");
   }
 
+  @Test
+  void should_load_issues_of_files_with_different_case_paths() {
+    store.replaceAllIssuesOfFile("branch", Path.of("src/file.js"), List.of(aServerIssue().setFilePath(Path.of("src/file.js")).setKey("key1")));
+    store.replaceAllIssuesOfFile("branch", Path.of("src/File.js"), List.of(aServerIssue().setFilePath(Path.of("src/File.js")).setKey("key2")));
+
+    assertThat(store.load("branch", Path.of("src/file.js"))).extracting(ServerIssue::getKey).containsOnly("key1");
+    assertThat(store.load("branch", Path.of("src/File.js"))).extracting(ServerIssue::getKey).containsOnly("key2");
+  }
+
   @Test
   void should_load_all_taint_issues_on_a_branch() {
     var branchName = "branch1";
@@ -790,7 +807,7 @@ class XodusServerIssueStoreTests {
 
     store.close();
 
-    assertThat(backupDir).isDirectoryContaining("glob:**backup.tar.gz");
+    assertThat(backupDir.resolve("backup")).isNotEmptyDirectory();
 
     FileUtils.deleteRecursively(workDir);
     Files.createDirectories(workDir);
@@ -801,6 +818,76 @@ class XodusServerIssueStoreTests {
     assertThat(savedIssues).isNotEmpty();
   }
 
+  @Test
+  void should_only_copy_changed_files_on_backup() throws IOException {
+    store.replaceAllIssuesOfBranch("branch", List.of(aServerIssue().setFilePath(filePath)));
+    store.backup();
+    Files.writeString(backupDir.resolve("backup").resolve("removed.xd"), "Garbage", StandardCharsets.UTF_8);
+    var fileKeysBefore = backupFileKeys();
+
+    store.backup();
+
+    assertThat(backupFileKeys()).containsExactlyInAnyOrderEntriesOf(fileKeysBefore.entrySet().stream()
+      .filter(e -> !e.getKey().endsWith("removed.xd"))
+      .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+
+    store.replaceAllIssuesOfBranch("branch", List.of(aServerIssue().setKey("key2").setFilePath(filePath)));
+    store.backup();
+
+    assertThat(backupFileKeys()).isNotEqualTo(fileKeysBefore);
+  }
+
+  @Test
+  void should_remove_legacy_backup_after_backup() throws IOException {
+    Files.writeString(backupDir.resolve("backup.tar.gz"), "Garbage", StandardCharsets.UTF_8);
+
+    store.backup();
+
+    assertThat(backupDir).isDirectoryNotContaining("glob:**backup.tar.gz");
+  }
+
+  @Test
+  void should_restore_from_legacy_backup_written_after_the_last_backup() throws IOException {
+    store.replaceAllIssuesOfBranch("branch", List.of(aServerIssue().setFilePath(filePath)));
+    store.close();
+
+    // emulate an older version sharing the same storage
+    var legacyBackupFile = backupDir.resolve("backup.tar.gz");
+    Files.writeString(legacyBackupFile, "Garbage", StandardCharsets.UTF_8);
+    Files.setLastModifiedTime(legacyBackupFile, FileTime.from(Instant.now().plusSeconds(60)));
+
+    store = new XodusServerIssueStore(backupDir, workDir);
+
+    assertThat(logTester.logs(Level.ERROR)).contains("Unable to restore backup " + backupDir);
+  }
+
+  @Test
+  void should_ignore_legacy_backup_written_before_the_last_backup() throws IOException {
+    store.replaceAllIssuesOfBranch("branch", List.of(aServerIssue().setFilePath(filePath)));
+    store.close();
+
+    var legacyBackupFile = backupDir.resolve("backup.tar.gz");
+    Files.writeString(legacyBackupFile, "Garbage", StandardCharsets.UTF_8);
+    Files.setLastModifiedTime(legacyBackupFile, FileTime.from(Instant.now().minusSeconds(60)));
+
+    store = new XodusServerIssueStore(backupDir, workDir);
+
+    assertThat(logTester.logs(Level.ERROR)).isEmpty();
+    assertThat(store.load("branch", filePath)).isNotEmpty();
+  }
+
+  private Map<String, Object> backupFileKeys() throws IOException {
+    try (var files = Files.list(backupDir.resolve("backup"))) {
+      return files.filter(f -> f.toString().endsWith(".xd")).collect(Collectors.toMap(f -> f.getFileName().toString(), f -> {
+        try {
+          return Files.readAttributes(f, BasicFileAttributes.class).fileKey();
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+      }));
+    }
+  }
+
   @Test
   void should_log_and_continue_if_invalid_backup() throws IOException {
     var creationDate = Instant.now();
@@ -812,13 +899,13 @@ class XodusServerIssueStoreTests {
 
     store.close();
 
-    assertThat(backupDir).isDirectoryContaining("glob:**backup.tar.gz");
-
+    // emulate a backup from an older version
+    FileUtils.deleteRecursively(backupDir.resolve("backup"));
     Files.writeString(backupDir.resolve("backup.tar.gz"), "Garbage", StandardCharsets.UTF_8);
 
     store = new XodusServerIssueStore(backupDir, workDir);
 
-    assertThat(logTester.logs(Level.ERROR)).contains("Unable to restore backup " + backupDir.resolve("backup.tar.gz"));
+    assertThat(logTester.logs(Level.ERROR)).contains("Unable to restore backup " + backupDir);
 
     var savedIssues = store.load("branch", filePath);
     assertThat(savedIssues).isEmpty();
@@ -831,7 +918,7 @@ class XodusServerIssueStoreTests {
     store
       .replaceAllIssuesOfBranch("branch", List.of(aServerIssue().setFilePath(filePath).setCreationDate(creationDate)));
     store.close();
-    assertThat(backupDir).isDirectoryContaining("glob:**backup.tar.gz");
+    assertThat(backupDir.resolve("backup")).isNotEmptyDirectory();
 
     store = new XodusServerIssueStore(backupDir, workDir);
     var store2 = new XodusServerIssueStore(backupDir, workDir);
@@ -874,4 +961,37 @@ class XodusServerIssueStoreTests {
 
     assertThat(store.containsIssue("key_not_found")).isFalse();
   }
+
+  @Test
+  void should_not_lose_findings_when_merging_issues_and_hotspots_concurrently() throws Exception {
+    var filePaths = IntStream.range(0, 50).mapToObj(i -> Path.of("file" + i)).collect(Collectors.toList());
+    var issues = filePaths.stream().<ServerIssue<?>>map(path -> aServerIssue().setKey("issue-" + path).setFilePath(path)).collect(Collectors.toList());
+    var hotspots = filePaths.stream().map(path -> aServerHotspot("hotspot-" + path, path)).collect(Collectors.toList());
+    var start = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(2);
+    try {
+      var issuesMerge = executor.submit(() -> {
+        start.await();
+        store.mergeIssues("branch", issues, Set.of(), Instant.ofEpochMilli(123), Set.of(SonarLanguage.JAVA));
+        return null;
+      });
+      var hotspotsMerge = executor.submit(() -> {
+        start.await();
+        store.mergeHotspots("branch", hotspots, Set.of(), Instant.ofEpochMilli(456), Set.of(SonarLanguage.JAVA));
+        return null;
+      });
+      start.countDown();
+      issuesMerge.get(30, TimeUnit.SECONDS);
+      hotspotsMerge.get(30, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    filePaths.forEach(path -> {
+      assertThat(store.load("branch", path)).extracting(ServerIssue::getKey).containsExactly("issue-" + path);
+      assertThat(store.loadHotspots("branch", path)).extracting(ServerHotspot::getKey).containsExactly("hotspot-" + path);
+    });
+    assertThat(store.getLastIssueSyncTimestamp("branch")).contains(Instant.ofEpochMilli(123));
+    assertThat(store.getLastHotspotSyncTimestamp("branch")).contains(Instant.ofEpochMilli(456));
+  }
 }
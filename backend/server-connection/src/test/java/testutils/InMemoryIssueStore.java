@@ -69,6 +69,16 @@ public class InMemoryIssueStore implements ProjectServerIssueStore {
 
   @Override
   public void mergeIssues(String branchName, List<ServerIssue<?>> issuesToMerge, Set<String> closedIssueKeysToDelete, Instant syncTimestamp, Set<SonarLanguage> enabledLanguages) {
+    mergeIssues(branchName, issuesToMerge, closedIssueKeysToDelete);
+    lastIssueSyncByBranch.put(branchName, syncTimestamp);
+
+    String serializedLanguages = getSerializedLanguages(enabledLanguages);
+
+    lastIssueEnabledLanguagesByBranch.put(branchName, serializedLanguages);
+  }
+
+  @Override
+  public void mergeIssues(String branchName, List<ServerIssue<?>> issuesToMerge, Set<String> closedIssueKeysToDelete) {
     var issuesToMergeByFilePath = issuesToMerge.stream().collect(Collectors.groupingBy(ServerIssue::getFilePath));
     // does not handle issue moving file (e.g. file renaming)
     issuesByFileByBranch
@@ -76,11 +86,6 @@ public class InMemoryIssueStore implements ProjectServerIssueStore {
       .putAll(issuesToMergeByFilePath);
     issuesToMerge.forEach(issue -> issuesByKey.put(issue.getKey(), issue));
     closedIssueKeysToDelete.forEach(issuesByKey::remove);
-    lastIssueSyncByBranch.put(branchName, syncTimestamp);
-
-    String serializedLanguages = getSerializedLanguages(enabledLanguages);
-
-    lastIssueEnabledLanguagesByBranch.put(branchName, serializedLanguages);
   }
 
   @Override
@@ -102,6 +107,16 @@ public class InMemoryIssueStore implements ProjectServerIssueStore {
 
   @Override
   public void mergeHotspots(String branchName, List<ServerHotspot> hotspotsToMerge, Set<String> closedHotspotKeysToDelete, Instant syncTimestamp, Set<SonarLanguage> enabledLanguages) {
+    mergeHotspots(branchName, hotspotsToMerge, closedHotspotKeysToDelete);
+    lastHotspotSyncByBranch.put(branchName, syncTimestamp);
+
+    String serializedLanguages = getSerializedLanguages(enabledLanguages);
+
+    lastHotspotEnabledLanguagesByBranch.put(branchName, serializedLanguages);
+  }
+
+  @Override
+  public void mergeHotspots(String branchName, List<ServerHotspot> hotspotsToMerge, Set<String> closedHotspotKeysToDelete) {
     var hotspotsToMergeByFilePath = hotspotsToMerge.stream().collect(Collectors.groupingBy(ServerHotspot::getFilePath));
     // does not handle hotspot moving file (e.g. file renaming)
     hotspotsByFileByBranch
@@ -109,11 +124,6 @@ public class InMemoryIssueStore implements ProjectServerIssueStore {
       .putAll(hotspotsToMergeByFilePath);
     hotspotsToMerge.forEach(hotspot -> hotspotsByKey.put(hotspot.getKey(), hotspot));
     closedHotspotKeysToDelete.forEach(hotspotsByKey::remove);
-    lastHotspotSyncByBranch.put(branchName, syncTimestamp);
-
-    String serializedLanguages = getSerializedLanguages(enabledLanguages);
-
-    lastHotspotEnabledLanguagesByBranch.put(branchName, serializedLanguages);
   }
 
   @NotNull
@@ -57,6 +57,7 @@ import org.sonarsource.sonarlint.core.rpc.protocol.client.http.SelectProxiesPara
 import org.sonarsource.sonarlint.core.rpc.protocol.client.http.SelectProxiesResponse;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.info.GetClientLiveInfoResponse;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.issue.ShowIssueParams;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogBatchParams;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.log.LogParams;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.message.ShowMessageParams;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.message.ShowSoonUnsupportedMessageParams;
@@ -154,6 +155,11 @@ public class SonarLintRpcClientImpl implements SonarLintRpcClient {
     notify(() -> delegate.log(params));
   }
 
+  @Override
+  public void logBatch(LogBatchParams params) {
+    notify(() -> params.getLogs().forEach(delegate::log));
+  }
+
   @Override
   public void showSoonUnsupportedMessage(ShowSoonUnsupportedMessageParams params) {
     notify(() -> delegate.showSoonUnsupportedMessage(params));
@@ -35,10 +35,17 @@ public class FeatureFlagsDto {
   private final boolean enableDataflowBugDetection;
   private final boolean shouldManageFullSynchronization;
   private final boolean enableTelemetry;
-
+  private final boolean shouldBatchLogs;
 
   public FeatureFlagsDto(boolean shouldManageSmartNotifications, boolean taintVulnerabilitiesEnabled, boolean shouldSynchronizeProjects, boolean shouldManageLocalServer,
     boolean enableSecurityHotspots, boolean shouldManageServerSentEvents, boolean enableDataflowBugDetection, boolean shouldManageFullSynchronization, boolean enableTelemetry) {
+    this(shouldManageSmartNotifications, taintVulnerabilitiesEnabled, shouldSynchronizeProjects, shouldManageLocalServer, enableSecurityHotspots, shouldManageServerSentEvents,
+      enableDataflowBugDetection, shouldManageFullSynchronization, enableTelemetry, false);
+  }
+
+  public FeatureFlagsDto(boolean shouldManageSmartNotifications, boolean taintVulnerabilitiesEnabled, boolean shouldSynchronizeProjects, boolean shouldManageLocalServer,
+    boolean enableSecurityHotspots, boolean shouldManageServerSentEvents, boolean enableDataflowBugDetection, boolean shouldManageFullSynchronization, boolean enableTelemetry,
+    boolean shouldBatchLogs) {
     this.shouldManageSmartNotifications = shouldManageSmartNotifications;
     this.taintVulnerabilitiesEnabled = taintVulnerabilitiesEnabled;
     this.shouldSynchronizeProjects = shouldSynchronizeProjects;
@@ -48,6 +55,7 @@ public class FeatureFlagsDto {
     this.enableDataflowBugDetection = enableDataflowBugDetection;
     this.shouldManageFullSynchronization = shouldManageFullSynchronization;
     this.enableTelemetry = enableTelemetry;
+    this.shouldBatchLogs = shouldBatchLogs;
   }
 
   public boolean shouldManageSmartNotifications() {
@@ -90,4 +98,12 @@ public class FeatureFlagsDto {
   public boolean isEnableTelemetry() {
     return enableTelemetry;
   }
+
+  /**
+   * When enabled, the backend forwards its logs asynchronously, in batches sent with {@link org.sonarsource.sonarlint.core.rpc.protocol.SonarLintRpcClient#logBatch}.
+   * Under heavy load, the least important logs may be dropped.
+   */
+  public boolean shouldBatchLogs() {
+    return shouldBatchLogs;
+  }
 }